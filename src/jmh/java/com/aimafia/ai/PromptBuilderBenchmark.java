@@ -0,0 +1,101 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.HistoryStrategy;
+import com.aimafia.model.GameState;
+import com.aimafia.model.Phase;
+import com.aimafia.model.Player;
+import com.aimafia.model.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prompt construction cost as the public log grows.
+ * The warm benchmarks reuse the builder's cached history block, as calls
+ * within one phase do; {@link #nominationPromptCold} renders it from scratch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class PromptBuilderBenchmark {
+
+    private static final int PLAYERS = 10;
+    private static final int ENTRIES_PER_DAY = 50;
+
+    @Param({"50", "500", "5000"})
+    int logSize;
+
+    @Param({"FULL", "WINDOW", "SUMMARY"})
+    HistoryStrategy strategy;
+
+    private GameState state;
+    private PromptBuilder builder;
+    private Player villager;
+    private Player mafioso;
+    private List<String> statements;
+
+    @Setup
+    public void setUp() {
+        state = new GameState();
+        for (int i = 1; i <= PLAYERS; i++) {
+            Role role = i <= 3 ? Role.MAFIA : i == 4 ? Role.DOCTOR : i == 5 ? Role.SHERIFF : Role.VILLAGER;
+            state.addPlayer(new Player("Player_" + i, role, "model-" + i));
+        }
+        mafioso = state.getPlayerById("Player_1");
+        villager = state.getPlayerById("Player_6");
+        villager.addToContext("Player_2 voted against Player_7 on day 1.");
+
+        state.setCurrentPhase(Phase.DAY_DISCUSSION);
+        for (int i = 0; i < logSize; i++) {
+            if (i > 0 && i % ENTRIES_PER_DAY == 0) {
+                state.incrementDay();
+            }
+            state.addRawToPublicLog("Player_" + (i % PLAYERS + 1)
+                    + ": \"I have been watching the votes. Something about yesterday does not add up. We should talk.\"");
+        }
+
+        statements = List.of(
+                "Player_2: \"I think Player_7 is lying.\"",
+                "Player_3: \"Agreed, their vote made no sense.\"");
+        builder = new PromptBuilder(strategy, 60);
+    }
+
+    @Benchmark
+    public String systemPrompt() {
+        return builder.buildSystemPrompt(villager, state);
+    }
+
+    @Benchmark
+    public Prompt nightActionPrompt() {
+        return builder.buildNightActionPrompt(mafioso, state, "Player_2: Player_7\n");
+    }
+
+    @Benchmark
+    public Prompt discussionPrompt() {
+        return builder.buildDiscussionPrompt(villager, state, statements);
+    }
+
+    @Benchmark
+    public Prompt nominationPrompt() {
+        return builder.buildNominationPrompt(villager, state);
+    }
+
+    @Benchmark
+    public Prompt nominationPromptCold() {
+        return new PromptBuilder(strategy, 60).buildNominationPrompt(villager, state);
+    }
+}
@@ -0,0 +1,54 @@
+package com.aimafia.ai;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serialising one chat completion request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class RequestBodyBenchmark {
+
+    @Param({ "100", "1000" })
+    public int historyEvents;
+
+    @Param({ "true", "false" })
+    public boolean promptCaching;
+
+    private RequestBodyWriter writer;
+    private String systemPrompt;
+    private Prompt prompt;
+
+    @Setup
+    public void setUp() {
+        writer = new RequestBodyWriter(1500, promptCaching);
+        systemPrompt = "You are Player_3, a VILLAGER in a game of Mafia. ".repeat(20);
+        StringBuilder history = new StringBuilder("GAME HISTORY:\n");
+        for (int i = 0; i < historyEvents; i++) {
+            history.append("[Day ").append(i / 40 + 1).append(" - Discussion] Player_").append(i % 12 + 1)
+                    .append(": \"I think Player_").append((i * 7) % 12 + 1).append(" is acting \\\"odd\\\".\"\n");
+        }
+        prompt = new Prompt(Prompt.Kind.DISCUSSION, history.toString(), "=== DAY 3 - DISCUSSION ===\nYour turn.");
+    }
+
+    @Benchmark
+    public byte[] writeRequestBody() {
+        return writer.write("openai/gpt-4o", systemPrompt, prompt, false);
+    }
+}
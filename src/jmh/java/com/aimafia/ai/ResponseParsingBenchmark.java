@@ -0,0 +1,88 @@
+package com.aimafia.ai;
+
+import ch.qos.logback.classic.Level;
+import com.aimafia.config.GameConfig;
+import com.aimafia.model.Phase;
+import com.aimafia.util.TokenTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning an API response body into an {@link LLMResponse}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ResponseParsingBenchmark {
+
+    private static final String CONTENT = """
+            {"thought": "Player_7 pushed hard for a SKIP yesterday and changed their story twice.",
+             "message": "Player_7, you said you trusted Player_2 and then voted against them. Why?",
+             "action": "Player_7"}""";
+
+    private ObjectMapper objectMapper;
+    private OpenRouterService service;
+    private String wrappedContent;
+    private String responseBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        // parseResponse logs every parsed action; keep logging out of the measurement
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.aimafia")).setLevel(Level.WARN);
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.aimafia.ai")).setLevel(Level.WARN);
+
+        objectMapper = new ObjectMapper();
+        service = new OpenRouterService(HttpClient.newHttpClient(), objectMapper,
+                GameConfig.getInstance(), new TokenTracker());
+        wrappedContent = "Here is my answer:\n```json\n" + CONTENT + "\n```\nGood luck!";
+        responseBody = objectMapper.writeValueAsString(Map.of(
+                "id", "gen-123",
+                "model", "openai/gpt-4o",
+                "choices", List.of(Map.of(
+                        "index", 0,
+                        "finish_reason", "stop",
+                        "message", Map.of("role", "assistant", "content", CONTENT))),
+                "usage", Map.of(
+                        "prompt_tokens", 2400,
+                        "completion_tokens", 80,
+                        "prompt_tokens_details", Map.of("cached_tokens", 1800))));
+    }
+
+    @Benchmark
+    public String extractJsonClean() {
+        return service.extractJson(CONTENT);
+    }
+
+    @Benchmark
+    public String extractJsonWrapped() {
+        return service.extractJson(wrappedContent);
+    }
+
+    @Benchmark
+    public LLMResponse deserializeLLMResponse() throws Exception {
+        return objectMapper.readValue(CONTENT, LLMResponse.class);
+    }
+
+    @Benchmark
+    public OpenRouterService.Attempt parseResponse() {
+        return service.parseResponse("Player_1", "openai/gpt-4o", Phase.DAY_VOTING, responseBody);
+    }
+}
@@ -0,0 +1,98 @@
+package com.aimafia.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the alive/role queries the handlers issue on every phase.
+ * A fifth of the players are dead, as in a game a few days in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class GameStateBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int players;
+
+    private GameState state;
+    private String lastPlayerId;
+
+    @Setup
+    public void setUp() {
+        state = createState(players);
+        lastPlayerId = "Player_" + players;
+    }
+
+    /**
+     * Creates a state with a quarter Mafia, one Doctor, one Sheriff and every
+     * fifth player dead.
+     */
+    private static GameState createState(int players) {
+        GameState state = new GameState(new Random(42));
+        int mafia = Math.max(1, players / 4);
+        for (int i = 1; i <= players; i++) {
+            Role role = i <= mafia ? Role.MAFIA
+                    : i == mafia + 1 ? Role.DOCTOR
+                    : i == mafia + 2 ? Role.SHERIFF
+                    : Role.VILLAGER;
+            Player player = new Player("Player_" + i, role, "model-" + i);
+            if (i % 5 == 0) {
+                player.kill();
+            }
+            state.addPlayer(player);
+        }
+        return state;
+    }
+
+    @Benchmark
+    public List<Player> alivePlayers() {
+        return state.getAlivePlayers();
+    }
+
+    @Benchmark
+    public List<Player> aliveMafia() {
+        return state.getAliveMafia();
+    }
+
+    @Benchmark
+    public List<Player> aliveTown() {
+        return state.getAliveTown();
+    }
+
+    @Benchmark
+    public List<Player> aliveDoctors() {
+        return state.getAlivePlayersByRole(Role.DOCTOR);
+    }
+
+    @Benchmark
+    public int aliveCount() {
+        return state.getAliveCount();
+    }
+
+    @Benchmark
+    public Player playerById() {
+        return state.getPlayerById(lastPlayerId);
+    }
+
+    @Benchmark
+    public List<Player> shuffledAlivePlayers() {
+        return state.getShuffledAlivePlayers();
+    }
+}
@@ -0,0 +1,86 @@
+package com.aimafia.validation;
+
+import ch.qos.logback.classic.Level;
+import com.aimafia.ai.LLMResponse;
+import com.aimafia.model.GameState;
+import com.aimafia.model.Phase;
+import com.aimafia.model.Player;
+import com.aimafia.model.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of validating night actions and nominations, on both the accept and
+ * the reject paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ActionValidatorBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int players;
+
+    private ActionValidator validator;
+    private GameState state;
+    private Player mafioso;
+    private Player villager;
+    private LLMResponse killTown;
+    private LLMResponse killMafia;
+    private LLMResponse unknownTarget;
+
+    @Setup
+    public void setUp() {
+        // Rejections are logged as warnings; keep logging out of the measurement
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.aimafia")).setLevel(Level.ERROR);
+
+        validator = new ActionValidator();
+        state = new GameState();
+        int mafia = Math.max(1, players / 4);
+        for (int i = 1; i <= players; i++) {
+            state.addPlayer(new Player("Player_" + i, i <= mafia ? Role.MAFIA : Role.VILLAGER));
+        }
+        state.setCurrentPhase(Phase.NIGHT);
+
+        mafioso = state.getPlayerById("Player_1");
+        villager = state.getPlayerById("Player_" + players);
+        killTown = new LLMResponse("", "", villager.getId());
+        killMafia = new LLMResponse("", "", "Player_1");
+        unknownTarget = new LLMResponse("", "", "Player_" + (players + 1));
+    }
+
+    @Benchmark
+    public ActionValidator.ValidationResult validTarget() {
+        return validator.validate(mafioso, killTown, state);
+    }
+
+    @Benchmark
+    public ActionValidator.ValidationResult selfTarget() {
+        return validator.validate(mafioso, killMafia, state);
+    }
+
+    @Benchmark
+    public ActionValidator.ValidationResult unknownTarget() {
+        return validator.validate(mafioso, unknownTarget, state);
+    }
+
+    @Benchmark
+    public ActionValidator.ValidationResult nomination() {
+        return validator.validateNomination(villager, "Player_1", state);
+    }
+}
@@ -1,10 +1,19 @@
 package com.aimafia;
 
+import com.aimafia.ai.OpenRouterService;
+import com.aimafia.ai.ResponseStore;
 import com.aimafia.config.GameConfig;
+import com.aimafia.config.ReplayMode;
 import com.aimafia.engine.GameEngine;
+import com.aimafia.engine.TournamentRunner;
+import com.aimafia.util.GameLogger;
+import com.aimafia.util.TokenTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 /**
  * Main entry point for the AI Mafia Game.
  */
@@ -25,23 +34,49 @@ public class Main {
 
         logger.info("Configuration loaded: {}", config);
 
-        // Check for API key
-        if (config.getOpenRouterApiKey() == null || config.getOpenRouterApiKey().isBlank()) {
+        // Check for API key (not needed offline)
+        if (config.requiresApiKey()
+                && (config.getOpenRouterApiKey() == null || config.getOpenRouterApiKey().isBlank())) {
             logger.error("OpenRouter API key not configured!");
             logger.error("Set the OPENROUTER_API_KEY environment variable or update application.properties");
             System.exit(1);
         }
 
-        // Run the game
+        // Run a tournament or a single game
         try {
-            GameEngine engine = new GameEngine();
-            engine.run();
+            if (config.getReplayMode() == ReplayMode.REPLAY) {
+                replay(Path.of(config.getReplayFile()));
+            } else if (config.getTournamentGames() > 0) {
+                long seed = config.getTournamentSeed() != null
+                        ? config.getTournamentSeed()
+                        : System.nanoTime();
+                new TournamentRunner().run(config.getTournamentGames(),
+                        config.getTournamentParallelism(), seed);
+            } else {
+                GameEngine engine = new GameEngine();
+                engine.run();
+            }
         } catch (Exception e) {
             logger.error("Game failed with error: {}", e.getMessage(), e);
             System.exit(1);
         }
     }
 
+    /**
+     * Re-executes a recorded game offline with the recorded seed, serving every
+     * LLM response from the recording.
+     */
+    private static void replay(Path recording) throws IOException {
+        try (ResponseStore store = ResponseStore.load(recording)) {
+            OpenRouterService aiService = new OpenRouterService();
+            aiService.setResponseStore(store);
+            GameEngine engine = new GameEngine(aiService, new GameLogger(), TokenTracker.getInstance(),
+                    store.getSeed(), store.isUseFixedRoles());
+            engine.run();
+            logger.info(store.getReplaySummary());
+        }
+    }
+
     private static void printBanner() {
         String banner = """
 
@@ -73,6 +108,11 @@ public class Main {
                   game.mafia.count             - Number of Mafia (default: 3)
                   game.max.discussion.rounds   - Discussion rounds per day (default: 2)
                   game.reveal.roles.on.death   - Reveal roles on death (default: true)
+                  tournament.games             - Games to run in tournament mode (default: 0 = single game)
+                  tournament.parallelism       - Concurrent tournament games (default: 4)
+                  replay.mode                  - OFF, RECORD or REPLAY (default: OFF)
+                  llm.backend                  - OPENROUTER or SYNTHETIC (default: OPENROUTER)
+                  replay.file                  - Recording to replay in REPLAY mode
 
                 """;
         System.out.println(usage);
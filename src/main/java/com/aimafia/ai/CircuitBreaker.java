@@ -0,0 +1,210 @@
+package com.aimafia.ai;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Health of one model, tracked over its most recent calls.
+ *
+ * <p>
+ * The breaker is CLOSED while the model behaves. Once at least
+ * {@code minimumCalls} of the last {@code windowSize} calls are recorded and
+ * the share of failed or slow calls reaches the threshold, it OPENS and
+ * rejects calls for {@code openDurationMs}. After that it is HALF_OPEN and
+ * lets a few probe calls through: if they all succeed it closes again with a
+ * fresh window, a single failure re-opens it.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallMs;
+    private final long openDurationMs;
+    private final int halfOpenProbes;
+    private final LongSupplier clockMs;
+
+    // Ring buffers of the last windowSize outcomes
+    private final boolean[] failed;
+    private final long[] latencies;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long latencySum;
+
+    private State state;
+    private long openedAtMs;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param windowSize           Number of recent calls the failure rate is computed over
+     * @param minimumCalls         Calls needed in the window before the breaker can open
+     * @param failureRateThreshold Share of failed or slow calls (0-1] that opens the breaker
+     * @param slowCallMs           Calls taking at least this long count as failures
+     * @param openDurationMs       How long the breaker rejects calls once open
+     * @param halfOpenProbes       Successful probes needed to close again
+     * @param clockMs              Millisecond clock
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+            long slowCallMs, long openDurationMs, int halfOpenProbes, LongSupplier clockMs) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize
+                || failureRateThreshold <= 0 || failureRateThreshold > 1
+                || slowCallMs < 1 || openDurationMs < 0 || halfOpenProbes < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid circuit breaker: window=%d, minCalls=%d, failureRate=%.2f, slow=%dms, open=%dms, probes=%d",
+                    windowSize, minimumCalls, failureRateThreshold, slowCallMs, openDurationMs, halfOpenProbes));
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallMs = slowCallMs;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenProbes = halfOpenProbes;
+        this.clockMs = clockMs;
+        this.failed = new boolean[windowSize];
+        this.latencies = new long[windowSize];
+        this.state = State.CLOSED;
+    }
+
+    /**
+     * Asks to make a call. Every granted call must be followed by exactly one
+     * of {@link #onSuccess}, {@link #onFailure} or {@link #onIgnored}.
+     *
+     * @return true if the call may proceed
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clockMs.getAsLong() - openedAtMs < openDurationMs) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+            probeSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight + probeSuccesses >= halfOpenProbes) {
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    /**
+     * Records a call that got a usable answer from the provider. A call that
+     * took at least the slow-call threshold is recorded as a failure.
+     *
+     * @param latencyMs The call latency
+     */
+    public synchronized void onSuccess(long latencyMs) {
+        if (latencyMs >= slowCallMs) {
+            onFailure(latencyMs);
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+            probeSuccesses++;
+            if (probeSuccesses >= halfOpenProbes) {
+                close();
+            }
+            return;
+        }
+        record(false, latencyMs);
+    }
+
+    /**
+     * Records a call that failed because of the provider: a transient HTTP
+     * error, a transport error or a timeout.
+     *
+     * @param latencyMs The call latency
+     */
+    public synchronized void onFailure(long latencyMs) {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true, latencyMs);
+    }
+
+    /**
+     * Releases a granted call whose outcome says nothing about the provider,
+     * such as an interrupted request.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    private void record(boolean failure, long latencyMs) {
+        if (recorded == windowSize) {
+            if (failed[next]) {
+                failures--;
+            }
+            latencySum -= latencies[next];
+        } else {
+            recorded++;
+        }
+        failed[next] = failure;
+        latencies[next] = latencyMs;
+        if (failure) {
+            failures++;
+        }
+        latencySum += latencyMs;
+        next = (next + 1) % windowSize;
+
+        if (state == State.CLOSED && recorded >= minimumCalls
+                && (double) failures / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtMs = clockMs.getAsLong();
+        probesInFlight = 0;
+        probeSuccesses = 0;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        latencySum = 0;
+    }
+
+    /**
+     * Gets the current state. An open breaker whose open period has elapsed
+     * still reports OPEN until the next call is attempted.
+     *
+     * @return The state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Gets the share of failed or slow calls in the current window.
+     *
+     * @return The failure rate, 0 if no calls were recorded
+     */
+    public synchronized double getFailureRate() {
+        return recorded == 0 ? 0.0 : (double) failures / recorded;
+    }
+
+    /**
+     * Gets the mean latency of the calls in the current window.
+     *
+     * @return The mean latency in milliseconds, 0 if no calls were recorded
+     */
+    public synchronized long getAverageLatencyMs() {
+        return recorded == 0 ? 0 : latencySum / recorded;
+    }
+}
@@ -0,0 +1,263 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.GameConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Fits requests into the context window of their model.
+ *
+ * <p>
+ * Context windows are read from a properties file with one line per model:
+ * {@code model=contextTokens,maxOutputTokens}. The output limit is optional.
+ * The {@code default} entry sizes models that are not listed.
+ *
+ * <p>
+ * Before a request is sent, its prompt is measured with the
+ * {@link TokenEstimator}. A prompt too large for the window is trimmed, the
+ * oldest game history first and then the oldest private notes, and max_tokens
+ * is lowered to the room left in the window. A request that would be
+ * rejected for its size is therefore not sent.
+ */
+public final class ContextBudget {
+    private static final Logger logger = LoggerFactory.getLogger(ContextBudget.class);
+
+    private static final String BUNDLED_FILE = "model-context.properties";
+    private static final String DEFAULT_KEY = "default";
+
+    /**
+     * Replaces the lines dropped from the history or the notes.
+     */
+    static final String OMITTED = "(earlier events omitted)\n";
+
+    private static final String HISTORY_HEADER = "GAME HISTORY:\n";
+
+    // Message framing and the response_format schema
+    static final int REQUEST_OVERHEAD_TOKENS = 200;
+
+    // Smallest answer worth asking for; the prompt is trimmed to leave room for it
+    static final int MIN_COMPLETION_TOKENS = 512;
+
+    // Share of the window kept free for estimation error (1/10)
+    private static final int MARGIN_DIVISOR = 10;
+
+    /**
+     * The context window of one model.
+     *
+     * @param contextTokens   Tokens of prompt and answer together
+     * @param maxOutputTokens Largest answer, 0 if only the window limits it
+     */
+    public record Window(int contextTokens, int maxOutputTokens) {
+    }
+
+    /**
+     * The window of models without an entry when no table is loaded.
+     */
+    public static final Window FALLBACK_WINDOW = new Window(32_768, 0);
+
+    /**
+     * A budget that sizes every model with {@link #FALLBACK_WINDOW}.
+     */
+    public static final ContextBudget DEFAULT = new ContextBudget(Map.of(), FALLBACK_WINDOW);
+
+    /**
+     * A request that fits its model's window.
+     *
+     * @param prompt       The prompt to send, trimmed if needed
+     * @param promptTokens Estimated tokens of the request without the answer
+     * @param maxTokens    The max_tokens of the request
+     * @param trimmed      Whether the prompt was trimmed
+     */
+    public record Fit(Prompt prompt, int promptTokens, int maxTokens, boolean trimmed) {
+    }
+
+    private final Map<String, Window> windows;
+    private final Window defaultWindow;
+
+    /**
+     * Creates a context budget.
+     *
+     * @param windows       Context windows by model ID
+     * @param defaultWindow Window of models not in the table
+     */
+    public ContextBudget(Map<String, Window> windows, Window defaultWindow) {
+        this.windows = Map.copyOf(windows);
+        this.defaultWindow = defaultWindow;
+    }
+
+    /**
+     * Parses a table of context windows.
+     *
+     * @param reader The properties source
+     * @return The context budget
+     * @throws IOException              if the source cannot be read
+     * @throws IllegalArgumentException if a window is malformed
+     */
+    public static ContextBudget parse(Reader reader) throws IOException {
+        Properties props = new Properties();
+        props.load(reader);
+        Map<String, Window> windows = new HashMap<>();
+        Window defaultWindow = FALLBACK_WINDOW;
+        for (String model : props.stringPropertyNames()) {
+            Window window = parseWindow(model, props.getProperty(model));
+            if (DEFAULT_KEY.equals(model)) {
+                defaultWindow = window;
+            } else {
+                windows.put(model, window);
+            }
+        }
+        return new ContextBudget(windows, defaultWindow);
+    }
+
+    private static Window parseWindow(String model, String value) {
+        String[] parts = value.split(",");
+        try {
+            if (parts.length > 2) {
+                throw new NumberFormatException("expected contextTokens[,maxOutputTokens]");
+            }
+            int contextTokens = Integer.parseInt(parts[0].trim());
+            int maxOutputTokens = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : 0;
+            if (contextTokens <= 0 || maxOutputTokens < 0) {
+                throw new NumberFormatException("token counts must be positive");
+            }
+            return new Window(contextTokens, maxOutputTokens);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid context window for " + model + ": " + value, e);
+        }
+    }
+
+    /**
+     * Gets the table configured by api.context.file, or the bundled
+     * model-context.properties if no file is set.
+     *
+     * @return The shared context budget
+     */
+    public static ContextBudget shared() {
+        return Shared.INSTANCE;
+    }
+
+    private static final class Shared {
+        private static final ContextBudget INSTANCE = load(GameConfig.getInstance().getContextFile());
+
+        private static ContextBudget load(String file) {
+            try {
+                if (file != null && !file.isBlank()) {
+                    try (Reader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+                        return parse(reader);
+                    }
+                }
+                try (InputStream is = ContextBudget.class.getClassLoader().getResourceAsStream(BUNDLED_FILE)) {
+                    if (is != null) {
+                        return parse(new InputStreamReader(is, StandardCharsets.UTF_8));
+                    }
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                logger.warn("Context window table {} not loaded, using default windows: {}",
+                        file == null || file.isBlank() ? BUNDLED_FILE : file, e.getMessage());
+            }
+            return DEFAULT;
+        }
+    }
+
+    /**
+     * Gets the context window of a model.
+     *
+     * @param modelId The model
+     * @return Its window, or the default window
+     */
+    public Window windowOf(String modelId) {
+        return windows.getOrDefault(modelId, defaultWindow);
+    }
+
+    /**
+     * Fits a request into the model's context window.
+     *
+     * @param modelId      The model
+     * @param systemPrompt The system prompt, sent whole
+     * @param prompt       The user prompt, trimmed if needed
+     * @param maxTokens    The largest max_tokens wanted
+     * @return The request as it fits, or null if even the trimmed prompt is too
+     *         large
+     */
+    public Fit fit(String modelId, String systemPrompt, Prompt prompt, int maxTokens) {
+        Window window = windowOf(modelId);
+        int outputTokens = window.maxOutputTokens() > 0 ? Math.min(maxTokens, window.maxOutputTokens()) : maxTokens;
+        int usable = window.contextTokens() - window.contextTokens() / MARGIN_DIVISOR;
+        int room = usable - Math.min(outputTokens, MIN_COMPLETION_TOKENS);
+
+        int fixedTokens = REQUEST_OVERHEAD_TOKENS + TokenEstimator.count(systemPrompt);
+        int promptTokens = fixedTokens + TokenEstimator.count(prompt.history()) + TokenEstimator.count(prompt.body());
+        Prompt fitted = prompt;
+        if (promptTokens > room) {
+            fitted = trim(prompt, promptTokens - room);
+            promptTokens = fixedTokens + TokenEstimator.count(fitted.history()) + TokenEstimator.count(fitted.body());
+            if (promptTokens > room) {
+                return null;
+            }
+        }
+        return new Fit(fitted, promptTokens, Math.min(outputTokens, usable - promptTokens), fitted != prompt);
+    }
+
+    /**
+     * Drops the oldest history lines, then the oldest notes, until the given
+     * number of tokens is freed or nothing is left to drop.
+     */
+    private static Prompt trim(Prompt prompt, int excess) {
+        String history = prompt.history();
+        int historyTokens = TokenEstimator.count(history);
+        String trimmedHistory = dropOldest(history, excess);
+        excess -= historyTokens - TokenEstimator.count(trimmedHistory);
+
+        String body = prompt.body();
+        String notes = prompt.notes();
+        int at = notes.isBlank() ? -1 : body.indexOf(notes);
+        if (excess <= 0 || at < 0) {
+            return new Prompt(prompt.kind(), trimmedHistory, body, notes);
+        }
+        String trimmedNotes = dropOldest(notes, excess);
+        if (trimmedNotes.isEmpty()) {
+            trimmedNotes = OMITTED;
+        }
+        String trimmedBody = body.substring(0, at) + trimmedNotes + body.substring(at + notes.length());
+        return new Prompt(prompt.kind(), trimmedHistory, trimmedBody, trimmedNotes);
+    }
+
+    /**
+     * Drops whole lines from the start of a text, after its history header,
+     * until the given number of tokens is freed, and marks the cut with
+     * {@link #OMITTED}.
+     *
+     * @return The rest of the text, or an empty string if all lines went
+     */
+    static String dropOldest(String text, int tokensToFree) {
+        if (tokensToFree <= 0) {
+            return text;
+        }
+        int start = text.startsWith(HISTORY_HEADER) ? HISTORY_HEADER.length() : 0;
+        int first = text.startsWith(OMITTED, start) ? start + OMITTED.length() : start;
+        // A cut already marked costs nothing more to mark
+        int freed = first > start ? 0 : -TokenEstimator.count(OMITTED);
+        int cut = first;
+        while (freed < tokensToFree && cut < text.length()) {
+            int lineEnd = text.indexOf('\n', cut);
+            int next = lineEnd < 0 ? text.length() : lineEnd + 1;
+            freed += TokenEstimator.count(text, cut, next);
+            cut = next;
+        }
+        if (text.substring(cut).isBlank()) {
+            return "";
+        }
+        return text.substring(0, start) + OMITTED + text.substring(cut);
+    }
+}
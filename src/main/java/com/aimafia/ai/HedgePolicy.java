@@ -0,0 +1,184 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.GameConfig;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides when a slow call is duplicated ("hedged").
+ *
+ * <p>
+ * Each model keeps the latencies of its last calls. A call still unanswered
+ * after the model's configured latency percentile gets a second request, and
+ * the first answer wins. Hedges are paid for from a budget that grows by
+ * {@code maxRate} per call, so at most that share of calls is sent twice
+ * however slow a model becomes.
+ */
+public class HedgePolicy {
+
+    /**
+     * A policy that never hedges.
+     */
+    public static final HedgePolicy DISABLED = new HedgePolicy(1.0, 0, 0.0, "");
+
+    // Latencies kept per model, and the number needed before a percentile is trusted
+    static final int WINDOW = 200;
+    static final int MIN_SAMPLES = 20;
+
+    // Largest number of hedges the budget saves up for a burst of slow calls
+    private static final double MAX_CREDITS = 10;
+
+    private final double percentile;
+    private final long minDelayMs;
+    private final double maxRate;
+    private final String hedgeModel;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    private double credits;
+    private long calls;
+    private long hedges;
+    private long hedgeWins;
+
+    /**
+     * Creates a hedge policy.
+     *
+     * @param percentile Latency percentile (0-1) after which a call is hedged
+     * @param minDelayMs Shortest wait before hedging
+     * @param maxRate    Largest share of calls (0-1) that may be hedged
+     * @param hedgeModel Model the duplicate goes to, empty for the same model
+     */
+    public HedgePolicy(double percentile, long minDelayMs, double maxRate, String hedgeModel) {
+        if (percentile <= 0 || percentile > 1 || minDelayMs < 0 || maxRate < 0 || maxRate > 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid hedge policy: percentile=%.2f, minDelay=%dms, maxRate=%.2f",
+                    percentile, minDelayMs, maxRate));
+        }
+        this.percentile = percentile;
+        this.minDelayMs = minDelayMs;
+        this.maxRate = maxRate;
+        this.hedgeModel = hedgeModel == null ? "" : hedgeModel.trim();
+    }
+
+    /**
+     * Gets the policy described by the api.hedge.* settings, shared by all
+     * services in the process so every game feeds the same latency windows
+     * and draws from the same budget.
+     *
+     * @return The shared policy
+     */
+    public static HedgePolicy shared() {
+        return Shared.INSTANCE;
+    }
+
+    private static final class Shared {
+        private static final HedgePolicy INSTANCE = fromConfig(GameConfig.getInstance());
+
+        private static HedgePolicy fromConfig(GameConfig config) {
+            return new HedgePolicy(config.getHedgePercentile(), config.getHedgeMinDelayMs(),
+                    config.getHedgeMaxRate(), config.getHedgeModel());
+        }
+    }
+
+    /**
+     * Gets how long to wait for a call to this model before hedging it.
+     *
+     * @param modelId The model
+     * @return The delay in milliseconds, or -1 if calls to it are not hedged
+     *         (yet)
+     */
+    public long hedgeDelayMs(String modelId) {
+        if (maxRate == 0) {
+            return -1;
+        }
+        LatencyWindow window = latencies.get(modelId);
+        long observed = window == null ? -1 : window.percentile(percentile);
+        return observed < 0 ? -1 : Math.max(minDelayMs, observed);
+    }
+
+    /**
+     * Records how long a call to a model took until it was answered. For a
+     * call overtaken by its hedge, this is the time until the hedge answered.
+     *
+     * @param modelId   The model
+     * @param latencyMs The latency
+     */
+    public void recordLatency(String modelId, long latencyMs) {
+        if (maxRate > 0) {
+            latencies.computeIfAbsent(modelId, m -> new LatencyWindow()).add(latencyMs);
+        }
+    }
+
+    /**
+     * Counts one call and earns its share of the hedge budget.
+     */
+    public synchronized void onCall() {
+        calls++;
+        credits = Math.min(MAX_CREDITS, credits + maxRate);
+    }
+
+    /**
+     * Takes one hedge from the budget.
+     *
+     * @return true if the call may be hedged
+     */
+    public synchronized boolean tryHedge() {
+        if (credits < 1) {
+            return false;
+        }
+        credits--;
+        hedges++;
+        return true;
+    }
+
+    /**
+     * Records that a hedge answered before the call it duplicated.
+     */
+    public synchronized void onHedgeWon() {
+        hedgeWins++;
+    }
+
+    /**
+     * Gets the model a hedge of a call to this model goes to.
+     *
+     * @param modelId The model of the original call
+     * @return The model of the duplicate
+     */
+    public String hedgeModel(String modelId) {
+        return hedgeModel.isEmpty() ? modelId : hedgeModel;
+    }
+
+    /**
+     * Gets a one-line report of hedging activity.
+     *
+     * @return Formatted summary
+     */
+    public synchronized String getSummary() {
+        return String.format("Hedging: %d of %d calls hedged, %d hedges answered first", hedges, calls, hedgeWins);
+    }
+
+    /**
+     * The latencies of one model's last calls.
+     */
+    private static final class LatencyWindow {
+        private final long[] samples = new long[WINDOW];
+        private int next;
+        private int recorded;
+
+        synchronized void add(long latencyMs) {
+            samples[next] = latencyMs;
+            next = (next + 1) % WINDOW;
+            recorded = Math.min(WINDOW, recorded + 1);
+        }
+
+        synchronized long percentile(double p) {
+            if (recorded < MIN_SAMPLES) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, recorded);
+            Arrays.sort(sorted);
+            return sorted[Math.min(recorded - 1, (int) Math.ceil(p * recorded) - 1)];
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.aimafia.ai;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Condenses the public log of a finished day into a short summary.
+ * Outcomes (night results, nominations, votes, executions) are kept verbatim;
+ * player statements are cut down to their first sentence; phase markers and
+ * silence notes are dropped. The summary is deterministic, so it costs no
+ * extra model calls and stays byte-identical once generated.
+ */
+public class HistorySummarizer {
+
+    // Maximum length of a condensed statement
+    private static final int MAX_STATEMENT_LENGTH = 160;
+
+    // "Player_3: "..."" or "Player_3 (defense): "...""
+    private static final Pattern STATEMENT = Pattern.compile("^(\\S+(?: \\(defense\\))?): \"(.*)\"$");
+
+    /**
+     * Summarises the entries of one day.
+     *
+     * @param day     The day number
+     * @param entries The public log entries of that day
+     * @return The summary text, one line per kept event
+     */
+    public String summarizeDay(int day, List<String> entries) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[Day ").append(day).append(" summary]\n");
+
+        for (String entry : entries) {
+            if (isNoise(entry)) {
+                continue;
+            }
+            Matcher statement = STATEMENT.matcher(entry);
+            if (statement.matches()) {
+                sb.append(statement.group(1)).append(": \"")
+                        .append(firstSentence(statement.group(2))).append("\"\n");
+            } else {
+                sb.append(entry).append("\n");
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private boolean isNoise(String entry) {
+        return entry.contains("===")
+                || entry.contains("--- Discussion Round")
+                || entry.contains("Cast your votes")
+                || entry.endsWith(" remained silent.")
+                || entry.endsWith(" will now make their defense.");
+    }
+
+    private String firstSentence(String text) {
+        int end = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c == '.' || c == '!' || c == '?')
+                    && (i + 1 == text.length() || text.charAt(i + 1) == ' ')) {
+                end = i + 1;
+                break;
+            }
+        }
+        String sentence = end > 0 ? text.substring(0, end) : text;
+        if (sentence.length() > MAX_STATEMENT_LENGTH) {
+            return sentence.substring(0, MAX_STATEMENT_LENGTH - 3) + "...";
+        }
+        return end > 0 && end < text.length() ? sentence + " ..." : sentence;
+    }
+}
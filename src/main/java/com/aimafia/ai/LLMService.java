@@ -0,0 +1,76 @@
+package com.aimafia.ai;
+
+import com.aimafia.model.GameState;
+import com.aimafia.model.Player;
+import com.aimafia.util.GameJournal;
+
+/**
+ * Backend that answers player prompts.
+ * The engine and phase handlers only depend on this interface, so a game can
+ * run against the OpenRouter API or against an in-process backend.
+ */
+public interface LLMService {
+
+    /**
+     * Queries the backend with a system prompt (from player's role) and user prompt.
+     *
+     * @param player     The player making the query
+     * @param state      The current game state
+     * @param userPrompt The user prompt with game context
+     * @return The LLM response
+     */
+    LLMResponse query(Player player, GameState state, Prompt userPrompt);
+
+    /**
+     * Queries the backend with a plain user prompt that has no history block.
+     *
+     * @param player     The player making the query
+     * @param state      The current game state
+     * @param userPrompt The user prompt with game context
+     * @return The LLM response
+     */
+    default LLMResponse query(Player player, GameState state, String userPrompt) {
+        return query(player, state, Prompt.of(userPrompt));
+    }
+
+    /**
+     * Queries the backend with full control over both prompts.
+     *
+     * @param playerId     The player ID (for logging)
+     * @param modelId      The model ID to use
+     * @param systemPrompt The system prompt
+     * @param userPrompt   The user prompt
+     * @return The LLM response
+     */
+    LLMResponse queryWithPrompts(String playerId, String modelId, String systemPrompt, String userPrompt);
+
+    /**
+     * Gets the prompt builder for external prompt construction.
+     *
+     * @return The PromptBuilder instance
+     */
+    PromptBuilder getPromptBuilder();
+
+    /**
+     * Prepares the backend for the first query, for example by opening
+     * connections. Returns without waiting for the preparation to finish.
+     */
+    default void warmUp() {
+    }
+
+    /**
+     * Waits until the usage of every answered query is recorded. A backend
+     * that answers before the provider reports the usage finishes recording
+     * it here, so the game's token totals are complete when it ends.
+     */
+    default void awaitPendingUsage() {
+    }
+
+    /**
+     * Sets the journal that receives this backend's events.
+     *
+     * @param journal The game's event journal
+     */
+    default void setJournal(GameJournal journal) {
+    }
+}
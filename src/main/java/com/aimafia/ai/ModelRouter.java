@@ -0,0 +1,156 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.GameConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Routes each call to a healthy model.
+ * Every model gets its own {@link CircuitBreaker}. A call goes to the player's
+ * own model while its breaker admits it, otherwise to the first configured
+ * fallback model whose breaker does. Share one router between all games that
+ * talk to the same providers, so one game's failures protect the others.
+ */
+public class ModelRouter {
+    private static final Logger logger = LoggerFactory.getLogger(ModelRouter.class);
+
+    /**
+     * A router that always returns the requested model and tracks nothing.
+     */
+    public static final ModelRouter DISABLED = new ModelRouter(false, List.of(), model -> {
+        throw new IllegalStateException("Disabled router has no breakers");
+    });
+
+    private final boolean enabled;
+    private final List<String> fallbackModels;
+    private final Function<String, CircuitBreaker> breakerFactory;
+    private final Map<String, CircuitBreaker> breakers;
+
+    /**
+     * Creates a router.
+     *
+     * @param enabled        Whether breakers are consulted; if not, every call goes to the requested model
+     * @param fallbackModels Models to use, in order, when a model's breaker is open
+     * @param breakerFactory Creates the breaker for a model on first use
+     */
+    public ModelRouter(boolean enabled, List<String> fallbackModels,
+            Function<String, CircuitBreaker> breakerFactory) {
+        this.enabled = enabled;
+        this.fallbackModels = List.copyOf(fallbackModels);
+        this.breakerFactory = Objects.requireNonNull(breakerFactory, "Breaker factory cannot be null");
+        this.breakers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates the router described by the api.circuit.* and api.fallback.models settings.
+     *
+     * @param config The game configuration
+     * @return The model router
+     */
+    public static ModelRouter fromConfig(GameConfig config) {
+        return new ModelRouter(config.isCircuitBreakerEnabled(), config.getFallbackModels(),
+                model -> new CircuitBreaker(config.getCircuitWindow(), config.getCircuitMinimumCalls(),
+                        config.getCircuitFailureRate(), config.getCircuitSlowCallMs(),
+                        config.getCircuitOpenMs(), config.getCircuitHalfOpenProbes(),
+                        System::currentTimeMillis));
+    }
+
+    /**
+     * Picks the model for the next call and reserves it with that model's
+     * breaker. The outcome must then be reported with {@link #recordSuccess},
+     * {@link #recordFailure} or {@link #recordIgnored}.
+     *
+     * @param modelId The player's own model
+     * @return The model to call, or null if it and all fallbacks are unavailable
+     */
+    public String route(String modelId) {
+        if (!enabled) {
+            return modelId;
+        }
+        if (breaker(modelId).tryAcquire()) {
+            return modelId;
+        }
+        for (String fallback : fallbackModels) {
+            if (!fallback.equals(modelId) && breaker(fallback).tryAcquire()) {
+                logger.info("Model {} unavailable, routing to fallback {}", modelId, fallback);
+                return fallback;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a model's breaker currently rejects calls.
+     *
+     * @param modelId The model
+     * @return true if the breaker is open
+     */
+    public boolean isOpen(String modelId) {
+        return enabled && breaker(modelId).getState() == CircuitBreaker.State.OPEN;
+    }
+
+    /**
+     * Reports that a routed call got an answer from the provider.
+     */
+    public void recordSuccess(String modelId, long latencyMs) {
+        if (enabled) {
+            breaker(modelId).onSuccess(latencyMs);
+        }
+    }
+
+    /**
+     * Reports that a routed call failed because of the provider.
+     */
+    public void recordFailure(String modelId, long latencyMs) {
+        if (enabled) {
+            CircuitBreaker breaker = breaker(modelId);
+            CircuitBreaker.State before = breaker.getState();
+            breaker.onFailure(latencyMs);
+            if (before != CircuitBreaker.State.OPEN && breaker.getState() == CircuitBreaker.State.OPEN) {
+                logger.warn("Circuit opened for model {} (failure rate {}%)",
+                        modelId, Math.round(breaker.getFailureRate() * 100));
+            }
+        }
+    }
+
+    /**
+     * Releases a routed call whose outcome says nothing about the provider.
+     */
+    public void recordIgnored(String modelId) {
+        if (enabled) {
+            breaker(modelId).onIgnored();
+        }
+    }
+
+    /**
+     * Gets the breaker of a model, creating it on first use.
+     *
+     * @param modelId The model
+     * @return The model's circuit breaker
+     */
+    public CircuitBreaker breaker(String modelId) {
+        return breakers.computeIfAbsent(modelId, breakerFactory);
+    }
+
+    /**
+     * Gets a per-model report of breaker state, failure rate and latency.
+     *
+     * @return Formatted summary, one line per model that was called
+     */
+    public String getHealthSummary() {
+        List<String> lines = new ArrayList<>();
+        lines.add("=== MODEL HEALTH ===");
+        new TreeMap<>(breakers).forEach((model, breaker) -> lines.add(String.format(
+                "%s: %s, %.0f%% failed, %d ms avg",
+                model, breaker.getState(), breaker.getFailureRate() * 100, breaker.getAverageLatencyMs())));
+        return String.join("\n", lines);
+    }
+}
@@ -2,7 +2,10 @@ package com.aimafia.ai;
 
 import com.aimafia.config.GameConfig;
 import com.aimafia.model.GameState;
+import com.aimafia.model.Phase;
 import com.aimafia.model.Player;
+import com.aimafia.util.GameJournal;
+import com.aimafia.util.JournalEvent;
 import com.aimafia.util.TokenTracker;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -10,36 +13,70 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.net.URI;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.List;
+import java.time.Instant;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Service for communicating with the OpenRouter API.
- * Uses Java's HttpClient with virtual threads for non-blocking I/O.
+ * Uses Java's HttpClient with virtual threads for non-blocking I/O, sent
+ * through a shared {@link OpenRouterTransport}.
  */
-public class OpenRouterService {
+public class OpenRouterService implements LLMService {
     private static final Logger logger = LoggerFactory.getLogger(OpenRouterService.class);
 
-    private final HttpClient httpClient;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    // Closes streamed responses that stall past their timeout
+    private static final ScheduledExecutorService STREAM_WATCHDOG = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("stream-watchdog").daemon().factory());
+
+    private final OpenRouterTransport transport;
     private final ObjectMapper objectMapper;
     private final GameConfig config;
     private final PromptBuilder promptBuilder;
+    private final RequestBodyWriter requestBodyWriter;
     private final TokenTracker tokenTracker;
+    private final RetryPolicy retryPolicy;
+    private final ModelRouter modelRouter;
+    private final RateLimiter rateLimiter;
+    private final ResponseCache responseCache;
+    private final HedgePolicy hedgePolicy;
+    private final ContextBudget contextBudget;
+    private final Map<Prompt.Kind, RequestProfile> requestProfiles;
+    private final boolean streaming;
+    // Threads still reading streams for their usage after the answer was returned
+    private final Set<Thread> drains = ConcurrentHashMap.newKeySet();
+    private volatile GameJournal journal = GameJournal.disabled();
+    private volatile ResponseStore responseStore;
 
     public OpenRouterService() {
-        this.config = GameConfig.getInstance();
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(30))
-                .build();
-        this.objectMapper = new ObjectMapper();
-        this.promptBuilder = new PromptBuilder();
-        this.tokenTracker = TokenTracker.getInstance();
+        this(OpenRouterTransport.shared(), new ObjectMapper(), GameConfig.getInstance(),
+                TokenTracker.getInstance(), ModelRouter.fromConfig(GameConfig.getInstance()),
+                RateLimiter.fromConfig(GameConfig.getInstance()));
     }
 
     /**
@@ -47,11 +84,81 @@ public class OpenRouterService {
      */
     public OpenRouterService(HttpClient httpClient, ObjectMapper objectMapper,
             GameConfig config, TokenTracker tokenTracker) {
-        this.httpClient = httpClient;
+        this(httpClient, objectMapper, config, tokenTracker, ModelRouter.fromConfig(config),
+                RateLimiter.fromConfig(config));
+    }
+
+    /**
+     * Creates a service that routes and throttles calls through a shared model
+     * router and rate limiter, so several games track model health and stay
+     * within provider limits together.
+     */
+    public OpenRouterService(HttpClient httpClient, ObjectMapper objectMapper,
+            GameConfig config, TokenTracker tokenTracker, ModelRouter modelRouter, RateLimiter rateLimiter) {
+        this(new OpenRouterTransport(httpClient, config), objectMapper, config, tokenTracker,
+                modelRouter, rateLimiter);
+    }
+
+    /**
+     * Creates a service that sends through the given transport, sharing its
+     * connections with other services.
+     */
+    public OpenRouterService(OpenRouterTransport transport, ObjectMapper objectMapper,
+            GameConfig config, TokenTracker tokenTracker, ModelRouter modelRouter, RateLimiter rateLimiter) {
+        this(transport, objectMapper, config, tokenTracker, modelRouter, rateLimiter, config.isStreamingEnabled());
+    }
+
+    /**
+     * Creates a service that streams responses or not, whatever the
+     * configuration says. Package-private for tests.
+     */
+    OpenRouterService(OpenRouterTransport transport, ObjectMapper objectMapper, GameConfig config,
+            TokenTracker tokenTracker, ModelRouter modelRouter, RateLimiter rateLimiter, boolean streaming) {
+        this.transport = transport;
         this.objectMapper = objectMapper;
         this.config = config;
         this.promptBuilder = new PromptBuilder();
+        this.requestBodyWriter = new RequestBodyWriter(config.getMaxTokens(), config.isPromptCachingEnabled());
         this.tokenTracker = tokenTracker;
+        this.retryPolicy = RetryPolicy.fromConfig(config);
+        this.modelRouter = modelRouter;
+        this.rateLimiter = rateLimiter;
+        this.responseCache = config.isResponseCacheEnabled() ? ResponseCache.shared() : ResponseCache.DISABLED;
+        this.hedgePolicy = config.isHedgingEnabled() ? HedgePolicy.shared() : HedgePolicy.DISABLED;
+        this.contextBudget = ContextBudget.shared();
+        this.requestProfiles = RequestProfile.fromConfig(config);
+        this.streaming = streaming;
+    }
+
+    /**
+     * Opens the API connection ahead of the first call. Recorded and replayed
+     * games do not need it, since their exchanges never reach the network.
+     */
+    @Override
+    public void warmUp() {
+        if (responseStore == null) {
+            transport.warmUp();
+        }
+    }
+
+    /**
+     * Waits for streams whose answer was already returned to deliver their
+     * usage, at most as long as the watchdog lets a stream run.
+     */
+    @Override
+    public void awaitPendingUsage() {
+        long deadlineNanos = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        try {
+            for (Thread drain : drains) {
+                long remainingNanos = deadlineNanos - System.nanoTime();
+                if (remainingNanos <= 0 || !drain.join(Duration.ofNanos(remainingNanos))) {
+                    logger.warn("Gave up waiting for the token usage of {} streams", drains.size());
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     /**
@@ -63,10 +170,11 @@ public class OpenRouterService {
      * @param userPrompt The user prompt with game context
      * @return The LLM response
      */
-    public LLMResponse query(Player player, GameState state, String userPrompt) {
+    @Override
+    public LLMResponse query(Player player, GameState state, Prompt userPrompt) {
         String systemPrompt = promptBuilder.buildSystemPrompt(player, state);
         String modelId = player.getModelId();
-        return queryWithRetry(player.getId(), modelId, systemPrompt, userPrompt, config.getMaxRetries());
+        return queryWithRetry(player.getId(), modelId, systemPrompt, userPrompt);
     }
 
     /**
@@ -78,114 +186,556 @@ public class OpenRouterService {
      * @param userPrompt   The user prompt
      * @return The LLM response
      */
+    @Override
     public LLMResponse queryWithPrompts(String playerId, String modelId, String systemPrompt, String userPrompt) {
-        return queryWithRetry(playerId, modelId, systemPrompt, userPrompt, config.getMaxRetries());
+        return queryWithRetry(playerId, modelId, systemPrompt, Prompt.of(userPrompt));
     }
 
-    private LLMResponse queryWithRetry(String playerId, String modelId, String systemPrompt,
-            String userPrompt, int retriesLeft) {
+    /**
+     * Outcome of one request: either a response, or why it failed and how it
+     * may be retried.
+     *
+     * @param response   The parsed response, or null on failure
+     * @param error      The failure reason, used for the fallback response
+     * @param retryable  Whether sending again may succeed
+     * @param correction If set, the model's output was invalid and is re-requested
+     *                   at once with this correction appended to the prompt
+     * @param retryAfter The provider's Retry-After header, or null
+     */
+    record Attempt(LLMResponse response, String error, boolean retryable, String correction, String retryAfter) {
+
+        static Attempt success(LLMResponse response) {
+            return new Attempt(response, null, false, null, null);
+        }
+
+        static Attempt failed(String error, boolean retryable, String retryAfter) {
+            return new Attempt(null, error, retryable, null, retryAfter);
+        }
+
+        static Attempt invalidOutput(String error, String correction) {
+            return new Attempt(null, error, true, correction, null);
+        }
+
+        LLMResponse orFallback() {
+            return response != null ? response : LLMResponse.fallback(error);
+        }
+    }
+
+    /**
+     * Serves the query from the response cache, or sends it and caches the
+     * answer. Recorded and replayed games bypass the cache, so the recording
+     * holds every exchange. Once the budget is spent, the query is refused or
+     * goes to the downgrade model.
+     */
+    private LLMResponse queryWithRetry(String playerId, String modelId, String systemPrompt, Prompt userPrompt) {
+        if (tokenTracker.isOverBudget() && !isReplaying()) {
+            if (config.isBudgetStop()) {
+                logger.warn("Budget spent, not querying {} ({})", playerId, modelId);
+                return LLMResponse.fallback("Budget exceeded");
+            }
+            modelId = config.getBudgetDowngradeModel();
+        }
+
+        ResponseCache cache = responseStore == null ? responseCache : ResponseCache.DISABLED;
+        if (cache == ResponseCache.DISABLED) {
+            return send(playerId, modelId, systemPrompt, userPrompt, null);
+        }
+
+        // A shorter answer limit or another schema asks a different question
+        RequestProfile profile = requestProfiles.get(userPrompt.kind());
+        ContextBudget.Fit fit = contextBudget.fit(modelId, systemPrompt, userPrompt, profile.maxTokens());
+        int maxTokens = fit != null ? fit.maxTokens() : profile.maxTokens();
+        ResponseCache.Key key = ResponseCache.keyOf(modelId, systemPrompt, userPrompt, profile, maxTokens,
+                RequestBodyWriter.TEMPERATURE);
+        LLMResponse cached = cache.get(key);
+        if (cached != null) {
+            logger.info("Cached response for {} ({}): action={}", playerId, modelId, cached.action());
+            journal.record(new JournalEvent.Response(System.currentTimeMillis(), playerId, modelId,
+                    cached.thought(), cached.message(), cached.action()));
+            return cached;
+        }
+        return send(playerId, modelId, systemPrompt, userPrompt, answer -> cache.put(key, answer));
+    }
+
+    /**
+     * Sends the query, hedging it if it is a vote or night action that takes
+     * longer than its model usually does. Recorded and replayed games are
+     * never hedged, so the recording holds one exchange per attempt.
+     */
+    private LLMResponse send(String playerId, String modelId, String systemPrompt, Prompt userPrompt,
+            Consumer<LLMResponse> onAnswer) {
+        HedgePolicy policy = responseStore == null && !userPrompt.kind().needsMessage()
+                ? hedgePolicy : HedgePolicy.DISABLED;
+        if (policy == HedgePolicy.DISABLED) {
+            return sendWithRetry(playerId, modelId, systemPrompt, userPrompt, onAnswer).orFallback();
+        }
+
+        policy.onCall();
+        long startNanos = System.nanoTime();
+        long delayMs = policy.hedgeDelayMs(modelId);
+        if (delayMs < 0) {
+            Attempt result = sendWithRetry(playerId, modelId, systemPrompt, userPrompt, onAnswer);
+            if (result.response() != null) {
+                policy.recordLatency(modelId, elapsedMs(startNanos));
+            }
+            return result.orFallback();
+        }
+
+        BlockingQueue<Future<Attempt>> finished = new LinkedBlockingQueue<>();
+        Future<Attempt> primary = startRequest("query-" + playerId, finished,
+                () -> sendWithRetry(playerId, modelId, systemPrompt, userPrompt, onAnswer));
+        Future<Attempt> hedge = null;
+        try {
+            Future<Attempt> next = finished.poll(delayMs, TimeUnit.MILLISECONDS);
+            if (next == null && policy.tryHedge()) {
+                String hedgeModel = policy.hedgeModel(modelId);
+                logger.info("Hedging query for {} (model {}) after {} ms with model {}",
+                        playerId, modelId, delayMs, hedgeModel);
+                // Only an answer of the player's own model may be cached under its key
+                Consumer<LLMResponse> onHedgeAnswer = hedgeModel.equals(modelId) ? onAnswer : null;
+                hedge = startRequest("hedge-" + playerId, finished,
+                        () -> sendWithRetry(playerId, hedgeModel, systemPrompt, userPrompt, onHedgeAnswer));
+            }
+
+            // The first answer wins; a failure waits for the other request, if any
+            Attempt result = null;
+            for (int pending = hedge == null ? 1 : 2; pending > 0; pending--) {
+                Future<Attempt> done = next != null ? next : finished.take();
+                next = null;
+                result = done.get();
+                if (result.response() != null) {
+                    if (done == hedge) {
+                        policy.onHedgeWon();
+                    }
+                    // Also when the hedge won: the primary took at least this long
+                    policy.recordLatency(modelId, elapsedMs(startNanos));
+                    return result.response();
+                }
+            }
+            return result.orFallback();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return LLMResponse.fallback("Request interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            // Aborts the losing request's exchange
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    private static Future<Attempt> startRequest(String name, BlockingQueue<Future<Attempt>> finished,
+            Callable<Attempt> request) {
+        FutureTask<Attempt> task = new FutureTask<>(request) {
+            @Override
+            protected void done() {
+                finished.add(this);
+            }
+        };
+        Thread.ofVirtual().name(name).start(task);
+        return task;
+    }
+
+    /**
+     * Sends the query until it succeeds, fails permanently, runs out of
+     * retries, or the next attempt would overrun the query deadline. Each
+     * attempt goes to the player's model or, while its circuit is open, to a
+     * healthy fallback model.
+     *
+     * @param onAnswer Receives an answer from the player's own model, may be null
+     * @return The successful attempt, or the failure that ended the query
+     */
+    private Attempt sendWithRetry(String playerId, String modelId, String systemPrompt, Prompt userPrompt,
+            Consumer<LLMResponse> onAnswer) {
+        long deadlineNanos = System.nanoTime() + retryPolicy.getDeadline().toNanos();
+        int maxRetries = retryPolicy.getMaxRetries();
+        Prompt prompt = userPrompt;
+        long delayMs = 0;
+        // Replays follow the recording, not the current health or load of the models
+        ModelRouter router = isReplaying() ? ModelRouter.DISABLED : modelRouter;
+        RateLimiter limiter = isReplaying() ? RateLimiter.UNLIMITED : rateLimiter;
+
+        for (int attempt = 0; ; attempt++) {
+            if (Thread.currentThread().isInterrupted()) {
+                // Cancelled by a phase deadline; an answer now would be discarded
+                return Attempt.failed("Request interrupted", false, null);
+            }
+            int retriesLeft = maxRetries - attempt;
+            String routedModel = router.route(modelId);
+            if (routedModel == null) {
+                logger.warn("No healthy model for {}: circuits open for {} and all fallbacks", playerId, modelId);
+                return Attempt.failed("Circuit open for " + modelId, false, null);
+            }
+            Attempt result = attempt(router, limiter, playerId, routedModel, systemPrompt, prompt,
+                    retriesLeft, deadlineNanos);
+            if (result.response() != null) {
+                // A fallback model's answer is not an answer of the requested model
+                if (onAnswer != null && routedModel.equals(modelId)) {
+                    onAnswer.accept(result.response());
+                }
+                return result;
+            }
+            if (!result.retryable() || retriesLeft <= 0) {
+                return result;
+            }
+
+            if (result.correction() != null) {
+                // Invalid output is not a load problem, ask again without waiting
+                prompt = promptBuilder.buildErrorCorrectionPrompt(prompt, result.correction());
+                delayMs = 0;
+            } else if (router.isOpen(routedModel)) {
+                // The next attempt goes to a fallback model or fails fast, no need to wait
+                delayMs = 0;
+            } else {
+                delayMs = retryPolicy.nextDelayMs(delayMs,
+                        RetryPolicy.parseRetryAfterMs(result.retryAfter(), Instant.now()));
+            }
+
+            long remainingMs = (deadlineNanos - System.nanoTime()) / 1_000_000;
+            if (delayMs >= remainingMs) {
+                logger.warn("Giving up on {} (model {}): retry in {} ms would exceed the query deadline",
+                        playerId, modelId, delayMs);
+                return result;
+            }
+            try {
+                backOff(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Sends one request and classifies its outcome. The request is shaped
+     * by the profile of the prompt's kind, and the prompt is first fitted
+     * into the context window of the model it goes to.
+     */
+    private Attempt attempt(ModelRouter router, RateLimiter limiter, String playerId, String modelId,
+            String systemPrompt, Prompt prompt, int retriesLeft, long deadlineNanos) {
+        long startNanos = 0;
+        boolean sent = false;
+        // The routed call is released exactly once, also when a runtime exception escapes
+        boolean recorded = false;
+        // Recordings hold whole response bodies, so record/replay never streams
+        boolean stream = streaming && responseStore == null;
         try {
-            String requestBody = buildRequestBody(modelId, systemPrompt, userPrompt);
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(config.getOpenRouterApiUrl()))
-                    .header("Content-Type", "application/json")
-                    .header("Authorization", "Bearer " + config.getOpenRouterApiKey())
-                    .header("HTTP-Referer", "https://github.com/ai-mafia")
-                    .header("X-Title", "AI Mafia Game")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .timeout(Duration.ofSeconds(60))
-                    .build();
+            RequestProfile profile = requestProfiles.get(prompt.kind());
+            ContextBudget.Fit fit = contextBudget.fit(modelId, systemPrompt, prompt, profile.maxTokens());
+            if (fit == null) {
+                recorded = true;
+                router.recordIgnored(modelId);
+                logger.error("Prompt for {} does not fit the context window of model {}, even trimmed",
+                        playerId, modelId);
+                return Attempt.failed("Prompt exceeds the context window of " + modelId, false, null);
+            }
+            if (fit.trimmed()) {
+                logger.info("Trimmed prompt for {} to about {} tokens to fit model {}",
+                        playerId, fit.promptTokens(), modelId);
+            }
+            Prompt userPrompt = fit.prompt();
+
+            byte[] requestBody = requestBodyWriter.write(modelId, systemPrompt, userPrompt, profile,
+                    fit.maxTokens(), stream);
 
             logger.debug("Sending request for {} using model {}", playerId, modelId);
+            journal.record(new JournalEvent.PromptSent(System.currentTimeMillis(), playerId, modelId,
+                    userPrompt.history().length(), userPrompt.body()));
+
+            RateLimiter.Permit permit = limiter.acquire(modelId,
+                    fit.promptTokens(), Math.max(0, deadlineNanos - System.nanoTime()));
+            if (permit == null) {
+                recorded = true;
+                router.recordIgnored(modelId);
+                logger.warn("Rate limit of model {} leaves no time for {} before the query deadline",
+                        modelId, playerId);
+                return Attempt.failed("Rate limited until the query deadline", false, null);
+            }
 
-            HttpResponse<String> response = httpClient.send(request,
-                    HttpResponse.BodyHandlers.ofString());
+            ResponseStore.Exchange response;
+            StreamedExchange streamed = null;
+            try (permit) {
+                startNanos = System.nanoTime();
+                sent = true;
+                Duration timeout = Duration.ofNanos(Math.max(1, Math.min(REQUEST_TIMEOUT.toNanos(),
+                        deadlineNanos - startNanos)));
+                if (stream) {
+                    streamed = streamExchange(playerId, modelId, userPrompt.kind().phase(), requestBody,
+                            timeout, userPrompt.kind().needsMessage());
+                    response = streamed.exchange();
+                } else {
+                    response = exchange(playerId, modelId, requestBody, timeout);
+                }
+            }
+            journal.record(new JournalEvent.ApiCall(System.currentTimeMillis(), playerId, modelId,
+                    response.statusCode(), elapsedMs(startNanos), retriesLeft));
 
             if (response.statusCode() != 200) {
                 logger.error("API error for {} (model {}): {} - {}",
                         playerId, modelId, response.statusCode(), response.body());
-                if (retriesLeft > 0) {
-                    Thread.sleep(config.getRetryDelayMs());
-                    return queryWithRetry(playerId, modelId, systemPrompt, userPrompt, retriesLeft - 1);
+                if (response.statusCode() == 429) {
+                    limiter.onThrottled(modelId);
+                }
+                boolean retryable = retryPolicy.isRetryable(response.statusCode());
+                recorded = true;
+                if (retryable) {
+                    router.recordFailure(modelId, elapsedMs(startNanos));
+                } else {
+                    router.recordSuccess(modelId, elapsedMs(startNanos));
                 }
-                return LLMResponse.fallback("API error: " + response.statusCode());
+                return Attempt.failed("API error: " + response.statusCode(), retryable, response.retryAfter());
             }
+            recorded = true;
+            router.recordSuccess(modelId, elapsedMs(startNanos));
 
-            return parseResponse(playerId, modelId, response.body(), systemPrompt, userPrompt, retriesLeft);
+            if (streamed != null) {
+                return streamed.parseError() != null
+                        ? invalidJson(playerId, modelId, streamed.parseError())
+                        : acceptResponse(playerId, modelId, streamed.response());
+            }
+            return parseResponse(playerId, modelId, userPrompt.kind().phase(), response.body());
 
-        } catch (IOException | InterruptedException e) {
+        } catch (IOException e) {
+            if (isInterrupt(e)) {
+                // A cancelled stream says nothing about the provider
+                return interrupted(router, playerId, modelId);
+            }
             logger.error("Request failed for {} (model {}): {}", playerId, modelId, e.getMessage());
-            if (retriesLeft > 0) {
-                try {
-                    Thread.sleep(config.getRetryDelayMs());
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
+            if (sent) {
+                router.recordFailure(modelId, elapsedMs(startNanos));
+                journal.record(new JournalEvent.ApiCall(System.currentTimeMillis(), playerId, modelId,
+                        ResponseStore.TRANSPORT_ERROR, elapsedMs(startNanos), retriesLeft));
+            } else {
+                router.recordIgnored(modelId);
+            }
+            return Attempt.failed("Request failed: " + e.getMessage(), true, null);
+        } catch (InterruptedException e) {
+            return interrupted(router, playerId, modelId);
+        } catch (RuntimeException e) {
+            if (!recorded) {
+                router.recordIgnored(modelId);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether a failed exchange was cut off by an interrupt, from a
+     * phase deadline or a hedge that lost, rather than by the provider. The
+     * HTTP client reports an interrupted read of a streamed body as an
+     * IOException and sets the interrupt flag again.
+     */
+    private static boolean isInterrupt(IOException e) {
+        return Thread.currentThread().isInterrupted()
+                || e.getCause() instanceof InterruptedException
+                || e instanceof InterruptedIOException && !(e instanceof SocketTimeoutException);
+    }
+
+    private static Attempt interrupted(ModelRouter router, String playerId, String modelId) {
+        Thread.currentThread().interrupt();
+        router.recordIgnored(modelId);
+        logger.error("Request interrupted for {} (model {})", playerId, modelId);
+        return Attempt.failed("Request interrupted", false, null);
+    }
+
+    /**
+     * Performs one HTTP exchange. When a response store is attached the
+     * exchange is either recorded, or served from the recording without any
+     * network access.
+     */
+    private ResponseStore.Exchange exchange(String playerId, String modelId, byte[] requestBody,
+            Duration timeout) throws IOException, InterruptedException {
+        ResponseStore store = responseStore;
+        if (store != null && store.isReplaying()) {
+            ResponseStore.Exchange recorded = store.take(playerId, requestBody)
+                    .orElseThrow(() -> new IOException("No recorded response left for " + playerId));
+            if (recorded.statusCode() == ResponseStore.TRANSPORT_ERROR) {
+                throw new IOException(recorded.body());
+            }
+            return recorded;
+        }
+
+        HttpRequest request = transport.request(requestBody, timeout, false);
+
+        try {
+            HttpResponse<String> response = transport.client().send(request,
+                    HttpResponse.BodyHandlers.ofString());
+            ResponseStore.Exchange exchange = new ResponseStore.Exchange(response.statusCode(), response.body(),
+                    response.headers().firstValue("Retry-After").orElse(null));
+            if (store != null) {
+                store.put(playerId, modelId, requestBody, exchange);
+            }
+            return exchange;
+        } catch (IOException e) {
+            if (store != null) {
+                store.put(playerId, modelId, requestBody,
+                        new ResponseStore.Exchange(ResponseStore.TRANSPORT_ERROR, String.valueOf(e.getMessage())));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Result of a streamed exchange: the HTTP status and, for a 200, the
+     * answer read from the stream or why it could not be parsed.
+     */
+    private record StreamedExchange(ResponseStore.Exchange exchange, LLMResponse response, String parseError) {
+    }
+
+    /**
+     * Performs one HTTP exchange with a server-sent-event response. Content
+     * deltas are parsed as they arrive, and the call returns as soon as the
+     * action (and, if needed, the message) is complete. The rest of the
+     * stream is read in the background only to pick up the token usage that
+     * OpenRouter sends in its last chunk.
+     */
+    private StreamedExchange streamExchange(String playerId, String modelId, Phase phase, byte[] requestBody,
+            Duration timeout, boolean needsMessage) throws IOException, InterruptedException {
+        HttpRequest request = transport.request(requestBody, timeout, true);
+        HttpResponse<InputStream> response = transport.client().send(request, HttpResponse.BodyHandlers.ofInputStream());
+        InputStream body = response.body();
+        if (response.statusCode() != 200) {
+            try (body) {
+                return new StreamedExchange(new ResponseStore.Exchange(response.statusCode(),
+                        new String(body.readAllBytes(), StandardCharsets.UTF_8),
+                        response.headers().firstValue("Retry-After").orElse(null)), null, null);
+            }
+        }
+
+        // The request timeout only covers the response headers; cut off a stream that stalls
+        ScheduledFuture<?> watchdog = STREAM_WATCHDOG.schedule(() -> closeQuietly(body),
+                timeout.toNanos(), TimeUnit.NANOSECONDS);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        StreamingResponseParser parser = new StreamingResponseParser(objectMapper.getFactory());
+        boolean detached = false;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode chunk = readEvent(line);
+                if (chunk == null) {
+                    continue;
                 }
-                return queryWithRetry(playerId, modelId, systemPrompt, userPrompt, retriesLeft - 1);
+                if (chunk.has("error")) {
+                    // A failure after the 200 header arrives as an error chunk
+                    JsonNode error = chunk.get("error");
+                    return new StreamedExchange(new ResponseStore.Exchange(error.path("code").asInt(502),
+                            error.toString()), null, null);
+                }
+                recordUsage(playerId, modelId, phase, chunk.get("usage"));
+                parser.feed(chunk.path("choices").path(0).path("delta").path("content").asText(""));
+                if (parser.isComplete(needsMessage)) {
+                    detached = true;
+                    Thread drain = Thread.ofVirtual().name("drain-" + playerId)
+                            .unstarted(() -> drainStream(reader, watchdog, playerId, modelId, phase));
+                    drains.add(drain);
+                    drain.start();
+                    break;
+                }
+            }
+        } finally {
+            if (!detached) {
+                watchdog.cancel(false);
+                reader.close();
             }
-            return LLMResponse.fallback("Request failed: " + e.getMessage());
         }
+
+        String error = parser.getError();
+        return new StreamedExchange(new ResponseStore.Exchange(200, ""),
+                error == null ? parser.toResponse() : null, error);
     }
 
-    private String buildRequestBody(String modelId, String systemPrompt, String userPrompt)
-            throws JsonProcessingException {
-        // Build the JSON schema for structured output
-        Map<String, Object> responseSchema = Map.of(
-                "type", "object",
-                "properties", Map.of(
-                        "thought", Map.of(
-                                "type", "string",
-                                "description",
-                                "Internal reasoning (not visible to other players). You must keep it sharp and concise."),
-                        "message", Map.of(
-                                "type", "string",
-                                "description", "Public statement (for discussion/defense phases, empty otherwise)."),
-                        "action", Map.of(
-                                "type", "string",
-                                "description", "Action: TARGET_ID, SKIP, GUILTY, or INNOCENT")),
-                "required", List.of("thought", "message", "action"),
-                "additionalProperties", false);
-
-        Map<String, Object> jsonSchema = Map.of(
-                "name", "llm_response",
-                "strict", true,
-                "schema", responseSchema);
-
-        Map<String, Object> responseFormat = Map.of(
-                "type", "json_schema",
-                "json_schema", jsonSchema);
-
-        Map<String, Object> requestMap = Map.of(
-                "model", modelId,
-                "messages", List.of(
-                        Map.of("role", "system", "content", systemPrompt),
-                        Map.of("role", "user", "content", userPrompt)),
-                "temperature", 1,
-                "max_tokens", config.getMaxTokens(),
-                "response_format", responseFormat);
-        return objectMapper.writeValueAsString(requestMap);
-    }
-
-    private LLMResponse parseResponse(String playerId, String modelId, String responseBody,
-            String systemPrompt, String userPrompt,
-            int retriesLeft) {
+    /**
+     * Reads the remainder of a stream whose answer is already complete,
+     * recording the token usage when it arrives.
+     */
+    private void drainStream(BufferedReader reader, ScheduledFuture<?> watchdog, String playerId, String modelId,
+            Phase phase) {
+        try (reader) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode chunk = readEvent(line);
+                if (chunk != null) {
+                    recordUsage(playerId, modelId, phase, chunk.get("usage"));
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Stream for {} (model {}) closed before usage arrived: {}", playerId, modelId, e.getMessage());
+        } finally {
+            watchdog.cancel(false);
+            drains.remove(Thread.currentThread());
+        }
+    }
+
+    /**
+     * Parses one server-sent-event line.
+     *
+     * @return The data payload, or null for comments, keep-alives, the end
+     *         marker and malformed data
+     */
+    private JsonNode readEvent(String line) {
+        if (!line.startsWith("data:")) {
+            return null;
+        }
+        String data = line.substring(5).trim();
+        if (data.isEmpty() || data.equals("[DONE]")) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(data);
+        } catch (JsonProcessingException e) {
+            logger.debug("Skipping malformed stream event: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            // Nothing left to do with a stream we are abandoning
+        }
+    }
+
+    /**
+     * Waits before a retry. Replayed games do not wait.
+     */
+    private void backOff(long delayMs) throws InterruptedException {
+        if (delayMs > 0 && !isReplaying()) {
+            Thread.sleep(delayMs);
+        }
+    }
+
+    private boolean isReplaying() {
+        ResponseStore store = responseStore;
+        return store != null && store.isReplaying();
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Parses an API response body into an LLMResponse.
+     * Package-private for the benchmarks.
+     */
+    Attempt parseResponse(String playerId, String modelId, Phase phase, String responseBody) {
         try {
             JsonNode root = objectMapper.readTree(responseBody);
 
             // Track token usage
-            if (root.has("usage")) {
-                JsonNode usage = root.get("usage");
-                int inputTokens = usage.get("prompt_tokens").asInt(0);
-                int outputTokens = usage.get("completion_tokens").asInt(0);
-                tokenTracker.addUsage(inputTokens, outputTokens);
-            }
+            recordUsage(playerId, modelId, phase, root.get("usage"));
 
             // Extract content
             JsonNode choices = root.get("choices");
             if (choices == null || choices.isEmpty()) {
                 logger.error("No choices in response for {}", playerId);
-                return LLMResponse.fallback("No choices in response");
+                return Attempt.failed("No choices in response", false, null);
             }
 
             String content = choices.get(0)
@@ -196,57 +746,67 @@ public class OpenRouterService {
             logger.debug("Raw response for {} ({}): {}", playerId, modelId, content);
 
             // Parse the JSON response from the model
-            return parseModelJson(playerId, modelId, content, systemPrompt, userPrompt, retriesLeft);
+            return parseModelJson(playerId, modelId, content);
 
         } catch (Exception e) {
             logger.error("Failed to parse API response for {}: {}", playerId, e.getMessage());
-            if (retriesLeft > 0) {
-                return queryWithRetry(playerId, modelId, systemPrompt,
-                        promptBuilder.buildErrorCorrectionPrompt(userPrompt, e.getMessage()),
-                        retriesLeft - 1);
-            }
-            return LLMResponse.fallback("Parse error: " + e.getMessage());
+            return Attempt.invalidOutput("Parse error: " + e.getMessage(), e.getMessage());
         }
     }
 
-    private LLMResponse parseModelJson(String playerId, String modelId, String content,
-            String systemPrompt, String userPrompt,
-            int retriesLeft) {
+    private Attempt parseModelJson(String playerId, String modelId, String content) {
         try {
             // Try to extract JSON from content (model might add extra text)
             String jsonContent = extractJson(content);
-            LLMResponse response = objectMapper.readValue(jsonContent, LLMResponse.class);
-
-            if (!response.hasAction()) {
-                logger.warn("Empty action for {} ({})", playerId, modelId);
-                if (retriesLeft > 0) {
-                    return queryWithRetry(playerId, modelId, systemPrompt,
-                            promptBuilder.buildErrorCorrectionPrompt(userPrompt,
-                                    "Action field is empty"),
-                            retriesLeft - 1);
-                }
-                return LLMResponse.fallback("Empty action");
-            }
+            return acceptResponse(playerId, modelId, objectMapper.readValue(jsonContent, LLMResponse.class));
+        } catch (JsonProcessingException e) {
+            return invalidJson(playerId, modelId, e.getMessage());
+        }
+    }
 
-            logger.info("Parsed response for {} ({}): action={}", playerId, modelId, response.action());
-            return response;
+    /**
+     * Accepts a parsed answer if it carries an action.
+     */
+    private Attempt acceptResponse(String playerId, String modelId, LLMResponse response) {
+        if (!response.hasAction()) {
+            logger.warn("Empty action for {} ({})", playerId, modelId);
+            return Attempt.invalidOutput("Empty action", "Action field is empty");
+        }
 
-        } catch (JsonProcessingException e) {
-            logger.error("Invalid JSON from {} ({}) - {}", playerId, modelId, e.getMessage());
-            if (retriesLeft > 0) {
-                return queryWithRetry(playerId, modelId, systemPrompt,
-                        promptBuilder.buildErrorCorrectionPrompt(userPrompt,
-                                "Invalid JSON format: " + e.getMessage()),
-                        retriesLeft - 1);
-            }
-            return LLMResponse.fallback("Invalid JSON: " + e.getMessage());
+        logger.info("Parsed response for {} ({}): action={}", playerId, modelId, response.action());
+        journal.record(new JournalEvent.Response(System.currentTimeMillis(), playerId, modelId,
+                response.thought(), response.message(), response.action()));
+        return Attempt.success(response);
+    }
+
+    private Attempt invalidJson(String playerId, String modelId, String error) {
+        logger.error("Invalid JSON from {} ({}) - {}", playerId, modelId, error);
+        return Attempt.invalidOutput("Invalid JSON: " + error, "Invalid JSON format: " + error);
+    }
+
+    /**
+     * Adds a usage block from the API to the token tracker and the journal.
+     * The cost OpenRouter reports in it is preferred over the price table.
+     */
+    private void recordUsage(String playerId, String modelId, Phase phase, JsonNode usage) {
+        if (usage == null || !usage.isObject()) {
+            return;
         }
+        int inputTokens = usage.path("prompt_tokens").asInt(0);
+        int outputTokens = usage.path("completion_tokens").asInt(0);
+        int cachedTokens = usage.path("prompt_tokens_details").path("cached_tokens").asInt(0);
+        JsonNode cost = usage.get("cost");
+        tokenTracker.addUsage(playerId, modelId, phase, inputTokens, cachedTokens, outputTokens,
+                cost != null && cost.isNumber() ? cost.asDouble() : null);
+        journal.record(new JournalEvent.TokenUsage(System.currentTimeMillis(), playerId, modelId,
+                inputTokens, cachedTokens, outputTokens));
     }
 
     /**
      * Extracts JSON object from a string that may contain surrounding text.
+     * Package-private for the benchmarks.
      */
-    private String extractJson(String content) {
+    String extractJson(String content) {
         content = content.trim();
 
         // If already valid JSON, return as-is
@@ -266,11 +826,41 @@ public class OpenRouterService {
         return content;
     }
 
+    /**
+     * Sets the journal that receives prompt, API call, token and response events.
+     *
+     * @param journal The game's event journal
+     */
+    @Override
+    public void setJournal(GameJournal journal) {
+        this.journal = journal != null ? journal : GameJournal.disabled();
+    }
+
+    /**
+     * Attaches a store that records every exchange, or replays a recording
+     * instead of calling the API.
+     *
+     * @param responseStore The store, or null to call the API without recording
+     */
+    public void setResponseStore(ResponseStore responseStore) {
+        this.responseStore = responseStore;
+    }
+
+    /**
+     * Checks whether a response store is attached.
+     *
+     * @return true if exchanges are recorded or replayed
+     */
+    public boolean hasResponseStore() {
+        return responseStore != null;
+    }
+
     /**
      * Gets the prompt builder for external prompt construction.
      *
      * @return The PromptBuilder instance
      */
+    @Override
     public PromptBuilder getPromptBuilder() {
         return promptBuilder;
     }
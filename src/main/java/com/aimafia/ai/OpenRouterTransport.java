@@ -0,0 +1,142 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.GameConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * HTTP transport to the OpenRouter API.
+ *
+ * <p>
+ * One HTTP/2 client is shared by every service in the process, so concurrent
+ * calls from all players and tournament games are multiplexed over the same
+ * connection instead of each opening its own. The URI and headers are fixed
+ * per process, so they are built once into an immutable request template
+ * that every call derives from; the model is part of the request body. {@link #warmUp()} opens
+ * the connection before the first phase needs it.
+ */
+public final class OpenRouterTransport {
+    private static final Logger logger = LoggerFactory.getLogger(OpenRouterTransport.class);
+
+    private final HttpClient httpClient;
+    private final URI uri;
+    private final HttpRequest template;
+    private final AtomicBoolean warmedUp = new AtomicBoolean();
+
+    /**
+     * Creates a transport that sends through the given client.
+     *
+     * @param httpClient The HTTP client
+     * @param config     The configuration with the API URL and key
+     */
+    public OpenRouterTransport(HttpClient httpClient, GameConfig config) {
+        this(httpClient, URI.create(config.getOpenRouterApiUrl()), config.getOpenRouterApiKey());
+    }
+
+    OpenRouterTransport(HttpClient httpClient, URI uri, String apiKey) {
+        this.httpClient = httpClient;
+        this.uri = uri;
+        this.template = HttpRequest.newBuilder()
+                .uri(uri)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + apiKey)
+                .header("HTTP-Referer", "https://github.com/ai-mafia")
+                .header("X-Title", "AI Mafia Game")
+                .build();
+    }
+
+    /**
+     * Gets the process-wide transport, created on first use.
+     *
+     * @return The shared transport
+     */
+    public static OpenRouterTransport shared() {
+        return Shared.INSTANCE;
+    }
+
+    private static final class Shared {
+        private static final OpenRouterTransport INSTANCE = new OpenRouterTransport(
+                newHttpClient(GameConfig.getInstance()), GameConfig.getInstance());
+    }
+
+    /**
+     * Creates an HTTP/2 client whose internal tasks run on virtual threads.
+     *
+     * @param config The configuration with the connect timeout
+     * @return The client
+     */
+    public static HttpClient newHttpClient(GameConfig config) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(config.getConnectTimeoutMs()))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Gets the client requests are sent with.
+     *
+     * @return The HTTP client
+     */
+    public HttpClient client() {
+        return httpClient;
+    }
+
+    /**
+     * Builds a chat completion request from the template.
+     *
+     * @param requestBody The UTF-8 JSON request body
+     * @param timeout     Time allowed until the response headers arrive
+     * @param stream      Whether the response is a server-sent-event stream
+     * @return The request
+     */
+    public HttpRequest request(byte[] requestBody, Duration timeout, boolean stream) {
+        // The template is immutable, so concurrent calls can derive from it safely
+        HttpRequest.Builder builder = HttpRequest.newBuilder(template, (name, value) -> true)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(requestBody))
+                .timeout(timeout);
+        if (stream) {
+            builder.header("Accept", "text/event-stream");
+        }
+        return builder.build();
+    }
+
+    /**
+     * Opens the connection to the API host in the background, so the TLS and
+     * HTTP/2 handshakes are done before the first real call. Only the first
+     * call per transport sends anything; the answer itself is discarded.
+     *
+     * @return Completes when the warm-up request finished or failed
+     */
+    public CompletableFuture<Void> warmUp() {
+        if (!warmedUp.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        long startNanos = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+                    if (error != null) {
+                        logger.warn("Connection warm-up to {} failed after {}ms: {}", uri.getHost(), elapsedMs,
+                                error.getMessage());
+                    } else {
+                        logger.debug("Connection to {} warmed up in {}ms ({})", uri.getHost(), elapsedMs,
+                                response.version());
+                    }
+                    return null;
+                });
+    }
+}
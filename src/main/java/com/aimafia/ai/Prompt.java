@@ -0,0 +1,128 @@
+package com.aimafia.ai;
+
+import com.aimafia.model.Phase;
+
+/**
+ * A user prompt split into the shared game history and the per-turn body.
+ * The history only grows by appending, so sending it as the leading block of
+ * the user message keeps the request prefix byte-stable between calls and lets
+ * providers reuse their prompt cache.
+ */
+public record Prompt(
+        Kind kind, // The decision this prompt asks for
+        String history, // Game history block, empty if the prompt has none
+        String body, // Turn-specific instructions and context
+        String notes // The player's private notes as quoted in the body, empty if none
+) {
+    /**
+     * The decision a prompt asks the model to make.
+     */
+    public enum Kind {
+        NIGHT_ACTION,
+        MAFIA_VOTE, // A Mafia kill vote, whose reason is shown to teammates
+        DISCUSSION,
+        NOMINATION,
+        DEFENSE,
+        JUDGMENT,
+        GENERIC;
+
+        /**
+         * Checks whether the answer to this kind of prompt carries a public
+         * message, or only an action.
+         *
+         * @return true for discussion, defense and generic prompts
+         */
+        public boolean needsMessage() {
+            return this == DISCUSSION || this == DEFENSE || this == GENERIC;
+        }
+
+        /**
+         * Gets the game phase in which this kind of prompt is asked.
+         *
+         * @return The phase, or null for generic prompts
+         */
+        public Phase phase() {
+            return switch (this) {
+                case NIGHT_ACTION, MAFIA_VOTE -> Phase.NIGHT;
+                case DISCUSSION -> Phase.DAY_DISCUSSION;
+                case NOMINATION, DEFENSE, JUDGMENT -> Phase.DAY_VOTING;
+                case GENERIC -> null;
+            };
+        }
+    }
+
+    /**
+     * Creates a prompt without private notes.
+     *
+     * @param kind    The decision the prompt asks for
+     * @param history The game history block
+     * @param body    The turn-specific text
+     */
+    public Prompt(Kind kind, String history, String body) {
+        this(kind, history, body, "");
+    }
+
+    /**
+     * Creates a generic prompt.
+     *
+     * @param history The game history block
+     * @param body    The turn-specific text
+     */
+    public Prompt(String history, String body) {
+        this(Kind.GENERIC, history, body);
+    }
+
+    /**
+     * Creates a generic prompt without a history block.
+     *
+     * @param body The prompt text
+     * @return The prompt
+     */
+    public static Prompt of(String body) {
+        return new Prompt(Kind.GENERIC, "", body);
+    }
+
+    /**
+     * Creates a prompt of the given kind without a history block.
+     *
+     * @param kind The decision the prompt asks for
+     * @param body The prompt text
+     * @return The prompt
+     */
+    public static Prompt of(Kind kind, String body) {
+        return new Prompt(kind, "", body);
+    }
+
+    /**
+     * Checks if this prompt carries a history block.
+     *
+     * @return true if history is not empty
+     */
+    public boolean hasHistory() {
+        return history != null && !history.isEmpty();
+    }
+
+    /**
+     * Creates a copy of this prompt with a different body and the same history.
+     *
+     * @param newBody The new body
+     * @return The new prompt
+     */
+    public Prompt withBody(String newBody) {
+        return new Prompt(kind, history, newBody, notes);
+    }
+
+    /**
+     * Gets the full prompt text as sent to the model.
+     *
+     * @return History followed by body
+     */
+    public String text() {
+        return hasHistory() ? history + body : body;
+    }
+
+    @Override
+    public String toString() {
+        return text();
+    }
+}
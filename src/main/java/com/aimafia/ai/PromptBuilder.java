@@ -1,11 +1,15 @@
 package com.aimafia.ai;
 
+import com.aimafia.config.GameConfig;
+import com.aimafia.config.HistoryStrategy;
 import com.aimafia.model.GameState;
 import com.aimafia.model.Phase;
 import com.aimafia.model.Player;
 import com.aimafia.model.Role;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -13,6 +17,35 @@ import java.util.stream.Collectors;
  */
 public class PromptBuilder {
 
+    // Initial capacity for the per-turn body of a prompt
+    private static final int BODY_CAPACITY = 2048;
+
+    private final HistoryStrategy historyStrategy;
+    private final int historyWindow;
+    private final HistorySummarizer summarizer;
+
+    // Summaries of finished days, generated once per day (key: day number)
+    private final Map<Integer, String> daySummaries;
+
+    private volatile HistoryBlock cachedHistory;
+
+    public PromptBuilder() {
+        this(GameConfig.getInstance().getHistoryStrategy(), GameConfig.getInstance().getHistoryWindow());
+    }
+
+    /**
+     * Creates a prompt builder with an explicit history strategy.
+     *
+     * @param historyStrategy How much game history to embed in prompts
+     * @param historyWindow   Number of entries kept by the WINDOW strategy
+     */
+    public PromptBuilder(HistoryStrategy historyStrategy, int historyWindow) {
+        this.historyStrategy = historyStrategy;
+        this.historyWindow = historyWindow;
+        this.summarizer = new HistorySummarizer();
+        this.daySummaries = new ConcurrentHashMap<>();
+    }
+
     private static final String JSON_FORMAT_INSTRUCTION = """
 
             You MUST ALWAYS respond with a valid JSON object in this exact format:
@@ -117,15 +150,30 @@ public class PromptBuilder {
      * @param extraInfo Additional context (e.g., Mafia consensus history)
      * @return The user prompt
      */
-    public String buildNightActionPrompt(Player player, GameState state, String extraInfo) {
+    public Prompt buildNightActionPrompt(Player player, GameState state, String extraInfo) {
+        return buildNightActionPrompt(player, state, extraInfo, state.getDayNumber());
+    }
+
+    /**
+     * Builds the user prompt for a night action of a given night, so the
+     * next night's prompt can be built before the day number advances.
+     *
+     * @param player    The player making the action
+     * @param state     The current game state
+     * @param extraInfo Additional context (e.g., Mafia consensus history)
+     * @param night     The number of the night
+     * @return The user prompt
+     */
+    public Prompt buildNightActionPrompt(Player player, GameState state, String extraInfo, int night) {
         StringBuilder sb = new StringBuilder();
 
-        sb.append("=== NIGHT ").append(state.getDayNumber()).append(" ===\n\n");
+        sb.append("=== NIGHT ").append(night).append(" ===\n\n");
 
         // Add player's context memory
-        if (!player.getContextMemory().isBlank()) {
+        String notes = player.getContextMemory();
+        if (!notes.isBlank()) {
             sb.append("Your memory of previous events:\n");
-            sb.append(player.getContextMemory()).append("\n");
+            sb.append(notes).append("\n");
         }
 
         // List alive players
@@ -185,7 +233,8 @@ public class PromptBuilder {
             }
         }
 
-        return sb.toString();
+        return new Prompt(role == Role.MAFIA ? Prompt.Kind.MAFIA_VOTE : Prompt.Kind.NIGHT_ACTION, "",
+                sb.toString(), notes);
     }
 
     /**
@@ -196,21 +245,11 @@ public class PromptBuilder {
      * @param previousStatements Statements made so far in this round
      * @return The user prompt
      */
-    public String buildDiscussionPrompt(Player player, GameState state, List<String> previousStatements) {
-        StringBuilder sb = new StringBuilder();
+    public Prompt buildDiscussionPrompt(Player player, GameState state, List<String> previousStatements) {
+        StringBuilder sb = new StringBuilder(BODY_CAPACITY);
 
         sb.append("=== DAY ").append(state.getDayNumber()).append(" - DISCUSSION ===\n\n");
 
-        // Full game history
-        List<String> gameLog = state.getPublicLog();
-        if (!gameLog.isEmpty()) {
-            sb.append("GAME HISTORY:\n");
-            for (String event : gameLog) {
-                sb.append(event).append("\n");
-            }
-            sb.append("\n");
-        }
-
         // Previous statements in this round
         if (previousStatements != null && !previousStatements.isEmpty()) {
             sb.append("Discussion so far:\n");
@@ -228,9 +267,10 @@ public class PromptBuilder {
         sb.append("\n\n");
 
         // Player's context
-        if (!player.getContextMemory().isBlank()) {
+        String notes = player.getContextMemory();
+        if (!notes.isBlank()) {
             sb.append("Your private notes:\n");
-            sb.append(player.getContextMemory()).append("\n");
+            sb.append(notes).append("\n");
         }
 
         sb.append("""
@@ -241,7 +281,9 @@ public class PromptBuilder {
                 Your 'action' should be 'SKIP' for the discussion phase.
                 """);
 
-        return sb.toString();
+        // Full game history leads the prompt, but only once there is some
+        return new Prompt(Prompt.Kind.DISCUSSION,
+                state.getPublicLog().isEmpty() ? "" : historyBlock(state), sb.toString(), notes);
     }
 
     /**
@@ -251,18 +293,11 @@ public class PromptBuilder {
      * @param state  The current game state
      * @return The user prompt
      */
-    public String buildNominationPrompt(Player player, GameState state) {
-        StringBuilder sb = new StringBuilder();
+    public Prompt buildNominationPrompt(Player player, GameState state) {
+        StringBuilder sb = new StringBuilder(BODY_CAPACITY);
 
         sb.append("=== DAY ").append(state.getDayNumber()).append(" - NOMINATION ===\n\n");
 
-        // Full game history
-        sb.append("GAME HISTORY:\n");
-        for (String event : state.getPublicLog()) {
-            sb.append(event).append("\n");
-        }
-        sb.append("\n");
-
         // Alive players (excluding self)
         sb.append("You can nominate one of these players for elimination:\n");
         for (Player p : state.getAlivePlayers()) {
@@ -277,7 +312,7 @@ public class PromptBuilder {
                 Your 'action' should be the Player ID you want to nominate, or 'SKIP' to abstain.
                 """);
 
-        return sb.toString();
+        return new Prompt(Prompt.Kind.NOMINATION, historyBlock(state), sb.toString());
     }
 
     /**
@@ -287,19 +322,13 @@ public class PromptBuilder {
      * @param state   The current game state
      * @return The user prompt
      */
-    public String buildDefensePrompt(Player accused, GameState state) {
-        StringBuilder sb = new StringBuilder();
+    public Prompt buildDefensePrompt(Player accused, GameState state) {
+        StringBuilder sb = new StringBuilder(BODY_CAPACITY);
 
         sb.append("=== DAY ").append(state.getDayNumber()).append(" - DEFENSE ===\n\n");
 
         sb.append("You have been nominated for elimination!\n\n");
 
-        sb.append("GAME HISTORY:\n");
-        for (String event : state.getPublicLog()) {
-            sb.append(event).append("\n");
-        }
-        sb.append("\n");
-
         sb.append("""
                 This is your chance to defend yourself and convince the Town of your innocence.
                 Make a compelling argument. Your life depends on it!
@@ -308,7 +337,7 @@ public class PromptBuilder {
                 Your 'action' should be 'SKIP'.
                 """);
 
-        return sb.toString();
+        return new Prompt(Prompt.Kind.DEFENSE, historyBlock(state), sb.toString());
     }
 
     /**
@@ -320,7 +349,7 @@ public class PromptBuilder {
      * @param state         The current game state
      * @return The user prompt
      */
-    public String buildJudgmentPrompt(Player voter, Player accused, String defenseSpeech, GameState state) {
+    public Prompt buildJudgmentPrompt(Player voter, Player accused, String defenseSpeech, GameState state) {
         StringBuilder sb = new StringBuilder();
 
         sb.append("=== DAY ").append(state.getDayNumber()).append(" - FINAL JUDGMENT ===\n\n");
@@ -330,9 +359,10 @@ public class PromptBuilder {
         sb.append("Their defense:\n\"").append(defenseSpeech).append("\"\n\n");
 
         // Voter's private knowledge
-        if (!voter.getContextMemory().isBlank()) {
+        String notes = voter.getContextMemory();
+        if (!notes.isBlank()) {
             sb.append("Your private knowledge:\n");
-            sb.append(voter.getContextMemory()).append("\n");
+            sb.append(notes).append("\n");
         }
 
         sb.append("""
@@ -343,20 +373,80 @@ public class PromptBuilder {
                 Your 'action' should be either 'GUILTY' or 'INNOCENT'.
                 """);
 
-        return sb.toString();
+        return new Prompt(Prompt.Kind.JUDGMENT, "", sb.toString(), notes);
     }
 
     /**
      * Builds an error correction prompt for invalid responses.
+     * The history block is kept as-is so the retry still hits the prompt cache.
      *
      * @param originalPrompt The original user prompt
      * @param error          The error message
      * @return The corrected prompt
      */
-    public String buildErrorCorrectionPrompt(String originalPrompt, String error) {
-        return originalPrompt + "\n\n" +
+    public Prompt buildErrorCorrectionPrompt(Prompt originalPrompt, String error) {
+        return originalPrompt.withBody(originalPrompt.body() + "\n\n" +
                 "ERROR: Your previous response was invalid.\n" +
                 "Reason: " + error + "\n\n" +
-                "Please provide a valid JSON response.";
+                "Please provide a valid JSON response.");
+    }
+
+    /**
+     * Gets the game history block that leads history-bearing prompts, rendered
+     * with the configured history strategy. The block is rebuilt only when the
+     * public log or the day has changed, so every prompt built in between
+     * shares the same String.
+     */
+    private String historyBlock(GameState state) {
+        HistoryBlock cached = cachedHistory;
+        int version = state.getPublicLogVersion();
+        int day = state.getDayNumber();
+        if (cached != null && cached.state() == state && cached.version() == version && cached.day() == day) {
+            return cached.text();
+        }
+        String text = switch (historyStrategy) {
+            case FULL -> "GAME HISTORY:\n" + state.getRenderedPublicLog() + "\n";
+            case WINDOW -> renderWindow(state);
+            case SUMMARY -> renderSummarized(state, day);
+        };
+        cachedHistory = new HistoryBlock(state, version, day, text);
+        return text;
+    }
+
+    private String renderWindow(GameState state) {
+        List<String> recent = state.getRecentPublicLog(historyWindow);
+        StringBuilder sb = new StringBuilder("GAME HISTORY:\n");
+        if (recent.size() < state.getPublicLog().size()) {
+            sb.append("(earlier events omitted)\n");
+        }
+        for (String event : recent) {
+            sb.append(event).append("\n");
+        }
+        return sb.append("\n").toString();
+    }
+
+    private String renderSummarized(GameState state, int currentDay) {
+        StringBuilder sb = new StringBuilder("GAME HISTORY:\n");
+        for (int day = 1; day < currentDay; day++) {
+            final int finishedDay = day;
+            sb.append(daySummaries.computeIfAbsent(finishedDay,
+                    d -> summarizer.summarizeDay(d, state.getPublicLogForDay(d))));
+        }
+        for (String event : state.getPublicLogForDay(currentDay)) {
+            sb.append(event).append("\n");
+        }
+        return sb.append("\n").toString();
+    }
+
+    /**
+     * Gets the history strategy used by this builder.
+     *
+     * @return The history strategy
+     */
+    public HistoryStrategy getHistoryStrategy() {
+        return historyStrategy;
+    }
+
+    private record HistoryBlock(GameState state, int version, int day, String text) {
     }
 }
@@ -0,0 +1,235 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.GameConfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Client-side limits on the calls sent to each model.
+ *
+ * <p>
+ * Every model has two token buckets, one for requests per minute and one for
+ * estimated prompt tokens per minute, plus a cap on requests in flight. Each
+ * bucket holds up to one minute's allowance and refills continuously. Callers
+ * queue in arrival order, so a burst of parallel votes drains at the
+ * provider's rate instead of triggering a wave of 429s and retries. A limit
+ * of 0 disables that limit.
+ */
+public class RateLimiter {
+
+    /**
+     * A granted call. Closing it frees the in-flight slot.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final Permit NO_OP = () -> {
+    };
+
+    /**
+     * A limiter that grants every call at once.
+     */
+    public static final RateLimiter UNLIMITED = new RateLimiter(0, 0, 0, System::nanoTime);
+
+    private final int requestsPerMinute;
+    private final int tokensPerMinute;
+    private final int maxInFlight;
+    private final LongSupplier clockNanos;
+    private final Map<String, ModelLimit> limits;
+
+    /**
+     * Creates a rate limiter.
+     *
+     * @param requestsPerMinute Requests per minute per model, 0 for unlimited
+     * @param tokensPerMinute   Estimated prompt tokens per minute per model, 0 for unlimited
+     * @param maxInFlight       Concurrent requests per model, 0 for unlimited
+     * @param clockNanos        Nanosecond clock
+     */
+    public RateLimiter(int requestsPerMinute, int tokensPerMinute, int maxInFlight, LongSupplier clockNanos) {
+        if (requestsPerMinute < 0 || tokensPerMinute < 0 || maxInFlight < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid rate limits: rpm=%d, tpm=%d, inFlight=%d", requestsPerMinute, tokensPerMinute, maxInFlight));
+        }
+        this.requestsPerMinute = requestsPerMinute;
+        this.tokensPerMinute = tokensPerMinute;
+        this.maxInFlight = maxInFlight;
+        this.clockNanos = clockNanos;
+        this.limits = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates the limiter described by the api.rate.limit.* settings.
+     *
+     * @param config The game configuration
+     * @return The rate limiter
+     */
+    public static RateLimiter fromConfig(GameConfig config) {
+        return new RateLimiter(config.getRateLimitRequestsPerMinute(), config.getRateLimitTokensPerMinute(),
+                config.getRateLimitMaxInFlight(), System::nanoTime);
+    }
+
+    /**
+     * Waits for permission to send one request.
+     *
+     * @param modelId         The model the request goes to
+     * @param estimatedTokens Estimated prompt tokens of the request
+     * @param timeoutNanos    Longest time to wait
+     * @return The permit, or null if it could not be granted within the timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Permit acquire(String modelId, int estimatedTokens, long timeoutNanos) throws InterruptedException {
+        if (requestsPerMinute == 0 && tokensPerMinute == 0 && maxInFlight == 0) {
+            return NO_OP;
+        }
+        return limits.computeIfAbsent(modelId, m -> new ModelLimit()).acquire(estimatedTokens, timeoutNanos);
+    }
+
+    /**
+     * Reports that the provider rejected a request to this model for rate
+     * limiting. The request bucket is emptied, so queued callers pause until
+     * it refills instead of running into the same limit.
+     *
+     * @param modelId The throttled model
+     */
+    public void onThrottled(String modelId) {
+        ModelLimit limit = limits.get(modelId);
+        if (limit != null) {
+            limit.drain();
+        }
+    }
+
+    /**
+     * The buckets and in-flight slots of one model.
+     */
+    private final class ModelLimit {
+        // Fair, so waiting callers are served in arrival order
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final Semaphore inFlight = maxInFlight > 0 ? new Semaphore(maxInFlight, true) : null;
+        private final TokenBucket requests = requestsPerMinute > 0 ? new TokenBucket(requestsPerMinute) : null;
+        private final TokenBucket tokens = tokensPerMinute > 0 ? new TokenBucket(tokensPerMinute) : null;
+
+        Permit acquire(int estimatedTokens, long timeoutNanos) throws InterruptedException {
+            long deadline = clockNanos.getAsLong() + timeoutNanos;
+            if (inFlight != null && !inFlight.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                return null;
+            }
+            boolean granted = false;
+            try {
+                granted = takeFromBuckets(estimatedTokens, deadline);
+            } finally {
+                if (!granted && inFlight != null) {
+                    inFlight.release();
+                }
+            }
+            if (!granted) {
+                return null;
+            }
+            if (inFlight == null) {
+                return NO_OP;
+            }
+            return new Permit() {
+                private boolean closed;
+
+                @Override
+                public synchronized void close() {
+                    if (!closed) {
+                        closed = true;
+                        inFlight.release();
+                    }
+                }
+            };
+        }
+
+        /**
+         * Takes one request and the estimated tokens once both buckets hold
+         * enough. The lock is held while waiting, so later callers queue
+         * behind the first one instead of overtaking it.
+         */
+        private boolean takeFromBuckets(int estimatedTokens, long deadline) throws InterruptedException {
+            if (!lock.tryLock(Math.max(0, deadline - clockNanos.getAsLong()), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+            try {
+                while (true) {
+                    long now = clockNanos.getAsLong();
+                    long wait = Math.max(
+                            requests != null ? requests.nanosUntil(1, now) : 0,
+                            tokens != null ? tokens.nanosUntil(estimatedTokens, now) : 0);
+                    if (wait == 0) {
+                        if (requests != null) {
+                            requests.take(1);
+                        }
+                        if (tokens != null) {
+                            tokens.take(estimatedTokens);
+                        }
+                        return true;
+                    }
+                    if (now + wait > deadline) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void drain() {
+            if (requests != null) {
+                requests.drain(clockNanos.getAsLong());
+            }
+        }
+    }
+
+    /**
+     * A bucket holding up to one minute's allowance, refilled continuously.
+     * Guarded by the owning model's lock, except for {@link #drain}.
+     */
+    private static final class TokenBucket {
+        private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+        private final double capacity;
+        private double available;
+        private long refilledAt;
+        private boolean started;
+
+        TokenBucket(int perMinute) {
+            this.capacity = perMinute;
+            this.available = perMinute;
+        }
+
+        synchronized long nanosUntil(int amount, long now) {
+            refill(now);
+            // A request larger than the whole allowance waits for a full bucket
+            double needed = Math.min(amount, capacity) - available;
+            if (needed <= 0) {
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil(needed * MINUTE_NANOS / capacity));
+        }
+
+        synchronized void take(int amount) {
+            available -= Math.min(amount, capacity);
+        }
+
+        synchronized void drain(long now) {
+            refill(now);
+            available = Math.min(available, 0);
+        }
+
+        private void refill(long now) {
+            if (started) {
+                available = Math.min(capacity, available + (now - refilledAt) * capacity / MINUTE_NANOS);
+            }
+            refilledAt = now;
+            started = true;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.ResponseSchema;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Writes chat completion request bodies as UTF-8 JSON.
+ *
+ * <p>
+ * The {@code response_format} block of each {@link ResponseSchema} is
+ * rendered once and its UTF-8 bytes are copied into each body. The per-request
+ * parts are streamed by a {@link JsonGenerator} into a pooled buffer, with no
+ * intermediate maps or strings. Fields are always written in the same order,
+ * so identical requests produce identical bytes. Thread-safe.
+ */
+final class RequestBodyWriter {
+
+    /**
+     * Sampling temperature of every request.
+     */
+    static final int TEMPERATURE = 1;
+
+    private static final Map<ResponseSchema, SerializableString> RESPONSE_FORMATS = renderResponseFormats();
+
+    // Buffers are pooled rather than thread-local, since every query runs on a new virtual thread
+    private final Queue<ByteArrayBuilder> buffers = new ConcurrentLinkedQueue<>();
+    private final JsonFactory jsonFactory;
+    private final RequestProfile defaultProfile;
+    private final boolean promptCaching;
+
+    /**
+     * Creates a writer.
+     *
+     * @param maxTokens     The max_tokens of requests that do not set their own
+     * @param promptCaching Whether the cacheable prefix carries cache_control breakpoints
+     */
+    RequestBodyWriter(int maxTokens, boolean promptCaching) {
+        this.jsonFactory = JsonFactory.builder()
+                .recyclerPool(JsonRecyclerPools.sharedLockFreePool())
+                .build();
+        this.defaultProfile = new RequestProfile(ResponseSchema.FULL, maxTokens, "");
+        this.promptCaching = promptCaching;
+    }
+
+    /**
+     * Writes a request body.
+     *
+     * @param modelId      The model to query
+     * @param systemPrompt The system prompt
+     * @param userPrompt   The user prompt
+     * @param stream       Whether to ask for a streamed response, with usage in the last chunk
+     * @return The UTF-8 JSON body
+     */
+    byte[] write(String modelId, String systemPrompt, Prompt userPrompt, boolean stream) {
+        return write(modelId, systemPrompt, userPrompt, defaultProfile, defaultProfile.maxTokens(), stream);
+    }
+
+    /**
+     * Writes a request body shaped by a request profile.
+     *
+     * @param modelId      The model to query
+     * @param systemPrompt The system prompt
+     * @param userPrompt   The user prompt
+     * @param profile      The answer schema and reasoning effort
+     * @param maxTokens    The max_tokens of this request
+     * @param stream       Whether to ask for a streamed response, with usage in the last chunk
+     * @return The UTF-8 JSON body
+     */
+    byte[] write(String modelId, String systemPrompt, Prompt userPrompt, RequestProfile profile, int maxTokens,
+            boolean stream) {
+        ByteArrayBuilder buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new ByteArrayBuilder();
+        }
+        try {
+            try (JsonGenerator gen = jsonFactory.createGenerator(buffer)) {
+                gen.writeStartObject();
+                gen.writeStringField("model", modelId);
+                gen.writeFieldName("messages");
+                writeMessages(gen, systemPrompt, userPrompt);
+                gen.writeNumberField("temperature", TEMPERATURE);
+                gen.writeNumberField("max_tokens", maxTokens);
+                if (!profile.reasoningEffort().isEmpty()) {
+                    gen.writeObjectFieldStart("reasoning");
+                    gen.writeStringField("effort", profile.reasoningEffort());
+                    gen.writeEndObject();
+                }
+                gen.writeFieldName("response_format");
+                gen.writeRawValue(RESPONSE_FORMATS.get(profile.schema()));
+                if (stream) {
+                    gen.writeBooleanField("stream", true);
+                }
+                // Asks for the usage block to include the call's cost
+                gen.writeObjectFieldStart("usage");
+                gen.writeBooleanField("include", true);
+                gen.writeEndObject();
+                gen.writeEndObject();
+            }
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            // Only reachable on a bug: the buffer itself never fails
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.reset();
+            buffers.offer(buffer);
+        }
+    }
+
+    /**
+     * Writes the chat messages so that the request starts with a byte-stable
+     * prefix: the role instructions, then the append-only game history, then
+     * the per-turn body. With prompt caching enabled the first two blocks
+     * carry cache_control breakpoints (honoured by Anthropic and Gemini models
+     * behind OpenRouter); providers with automatic prefix caching benefit from
+     * the layout alone.
+     */
+    private void writeMessages(JsonGenerator gen, String systemPrompt, Prompt userPrompt) throws IOException {
+        gen.writeStartArray();
+        if (!promptCaching) {
+            writeMessage(gen, "system", systemPrompt);
+            writeMessage(gen, "user", userPrompt.text());
+            gen.writeEndArray();
+            return;
+        }
+
+        gen.writeStartObject();
+        gen.writeStringField("role", "system");
+        gen.writeArrayFieldStart("content");
+        writeTextPart(gen, systemPrompt, true);
+        gen.writeEndArray();
+        gen.writeEndObject();
+
+        if (userPrompt.hasHistory()) {
+            gen.writeStartObject();
+            gen.writeStringField("role", "user");
+            gen.writeArrayFieldStart("content");
+            writeTextPart(gen, userPrompt.history(), true);
+            writeTextPart(gen, userPrompt.body(), false);
+            gen.writeEndArray();
+            gen.writeEndObject();
+        } else {
+            writeMessage(gen, "user", userPrompt.body());
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeMessage(JsonGenerator gen, String role, String content) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("role", role);
+        gen.writeStringField("content", content);
+        gen.writeEndObject();
+    }
+
+    private static void writeTextPart(JsonGenerator gen, String text, boolean cached) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("type", "text");
+        gen.writeStringField("text", text);
+        if (cached) {
+            gen.writeObjectFieldStart("cache_control");
+            gen.writeStringField("type", "ephemeral");
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+    }
+
+    private static Map<ResponseSchema, SerializableString> renderResponseFormats() {
+        Map<ResponseSchema, SerializableString> formats = new EnumMap<>(ResponseSchema.class);
+        for (ResponseSchema schema : ResponseSchema.values()) {
+            formats.put(schema, new SerializedString(renderResponseFormat(schema)));
+        }
+        return formats;
+    }
+
+    /**
+     * Renders a structured output schema. Properties are listed in the order
+     * the model should produce them.
+     */
+    private static String renderResponseFormat(ResponseSchema schema) {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = new JsonFactory().createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeStringField("type", "json_schema");
+            gen.writeObjectFieldStart("json_schema");
+            gen.writeStringField("name", "llm_response");
+            gen.writeBooleanField("strict", true);
+            gen.writeObjectFieldStart("schema");
+            gen.writeStringField("type", "object");
+            gen.writeObjectFieldStart("properties");
+            if (schema == ResponseSchema.FULL) {
+                writeStringProperty(gen, "thought",
+                        "Internal reasoning (not visible to other players). You must keep it sharp and concise.");
+            } else if (schema.hasThought()) {
+                writeStringProperty(gen, "thought", "Your reason, in one short sentence.");
+            }
+            if (schema.hasMessage()) {
+                writeStringProperty(gen, "message",
+                        "Public statement (for discussion/defense phases, empty otherwise).");
+            }
+            writeStringProperty(gen, "action", "Action: TARGET_ID, SKIP, GUILTY, or INNOCENT");
+            gen.writeEndObject();
+            gen.writeArrayFieldStart("required");
+            if (schema.hasThought()) {
+                gen.writeString("thought");
+            }
+            if (schema.hasMessage()) {
+                gen.writeString("message");
+            }
+            gen.writeString("action");
+            gen.writeEndArray();
+            gen.writeBooleanField("additionalProperties", false);
+            gen.writeEndObject();
+            gen.writeEndObject();
+            gen.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private static void writeStringProperty(JsonGenerator gen, String name, String description) throws IOException {
+        gen.writeObjectFieldStart(name);
+        gen.writeStringField("type", "string");
+        gen.writeStringField("description", description);
+        gen.writeEndObject();
+    }
+}
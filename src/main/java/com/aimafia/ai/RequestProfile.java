@@ -0,0 +1,54 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.GameConfig;
+import com.aimafia.config.ResponseSchema;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * How a kind of decision is asked for: the answer schema, the largest answer
+ * and the reasoning effort.
+ */
+public record RequestProfile(
+        ResponseSchema schema, // Fields of the answer
+        int maxTokens, // The max_tokens of the request, before fitting the context window
+        String reasoningEffort // OpenRouter reasoning effort, empty for the model's default
+) {
+    /**
+     * Creates a profile.
+     */
+    public RequestProfile {
+        reasoningEffort = reasoningEffort == null ? "" : reasoningEffort.trim().toLowerCase();
+    }
+
+    /**
+     * Gets the profiles described by the api.profile.* settings. Speeches
+     * (discussion, defense and generic prompts) always use the full schema.
+     * Every max_tokens is capped by api.max.tokens.
+     *
+     * @param config The configuration
+     * @return The profile of every kind of prompt
+     */
+    public static Map<Prompt.Kind, RequestProfile> fromConfig(GameConfig config) {
+        int cap = config.getMaxTokens();
+        RequestProfile speech = new RequestProfile(ResponseSchema.FULL, cap, config.getSpeechReasoningEffort());
+        RequestProfile vote = new RequestProfile(config.getVoteSchema(),
+                Math.min(cap, config.getVoteMaxTokens()), config.getVoteReasoningEffort());
+        RequestProfile night = new RequestProfile(config.getNightSchema(),
+                Math.min(cap, config.getNightMaxTokens()), config.getNightReasoningEffort());
+        RequestProfile mafia = new RequestProfile(config.getMafiaSchema(),
+                Math.min(cap, config.getMafiaMaxTokens()), config.getMafiaReasoningEffort());
+
+        Map<Prompt.Kind, RequestProfile> profiles = new EnumMap<>(Prompt.Kind.class);
+        for (Prompt.Kind kind : Prompt.Kind.values()) {
+            profiles.put(kind, switch (kind) {
+                case NOMINATION, JUDGMENT -> vote;
+                case NIGHT_ACTION -> night;
+                case MAFIA_VOTE -> mafia;
+                case DISCUSSION, DEFENSE, GENERIC -> speech;
+            });
+        }
+        return profiles;
+    }
+}
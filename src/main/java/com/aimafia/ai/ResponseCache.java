@@ -0,0 +1,452 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.GameConfig;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed cache of model answers, keyed on a SHA-256 hash of the
+ * model, both prompts, the request profile and the sampling temperature.
+ *
+ * <p>
+ * Lookups go to an in-memory LRU tier first, then to an optional on-disk tier
+ * that survives between runs. The disk tier keeps two generations, each an
+ * append-only data file plus a memory-mapped open-addressing index. When the
+ * current generation is full the older one is deleted and a new one started,
+ * so the disk use stays below the configured bound; an entry found in the
+ * older generation is copied forward, so entries in use survive rotation.
+ *
+ * <p>
+ * Answers are sampled at a temperature above zero, so a cache hit replays one
+ * earlier sample rather than drawing a new one. That is what repeat
+ * experiments want, and why the cache is off by default.
+ */
+public class ResponseCache implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * A cache that never holds anything.
+     */
+    public static final ResponseCache DISABLED = new ResponseCache();
+
+    /**
+     * Hash of one query.
+     */
+    public record Key(long a, long b, long c, long d) {
+    }
+
+    private final int memoryEntries;
+    private final Map<Key, LLMResponse> memory;
+    private final DiskTier disk;
+    private long hits;
+    private long misses;
+
+    private ResponseCache() {
+        this.memoryEntries = 0;
+        this.memory = Map.of();
+        this.disk = null;
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param memoryEntries Entries kept in memory
+     * @param directory     Directory of the disk tier, or null for memory only
+     * @param maxDiskBytes  Upper bound of the disk tier's size, 0 for memory only
+     * @throws IOException if the disk tier cannot be opened
+     */
+    public ResponseCache(int memoryEntries, Path directory, long maxDiskBytes) throws IOException {
+        this.memoryEntries = Math.max(1, memoryEntries);
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, LLMResponse> eldest) {
+                return size() > ResponseCache.this.memoryEntries;
+            }
+        };
+        this.disk = directory != null && maxDiskBytes > 0 ? new DiskTier(directory, maxDiskBytes) : null;
+    }
+
+    /**
+     * Gets the process-wide cache described by the api.cache.* settings,
+     * created on first use. Tournament games share it, since the disk tier
+     * cannot be opened twice.
+     *
+     * @return The shared cache
+     */
+    public static ResponseCache shared() {
+        return Shared.INSTANCE;
+    }
+
+    private static final class Shared {
+        private static final ResponseCache INSTANCE = open(GameConfig.getInstance());
+
+        private static ResponseCache open(GameConfig config) {
+            String dir = config.getResponseCacheDir();
+            Path directory = dir == null || dir.isBlank() ? null : Path.of(dir);
+            long maxDiskBytes = config.getResponseCacheDiskMaxMb() * 1024L * 1024L;
+            ResponseCache cache;
+            try {
+                cache = new ResponseCache(config.getResponseCacheMemoryEntries(), directory, maxDiskBytes);
+            } catch (IOException e) {
+                logger.warn("Response cache directory {} unavailable, caching in memory only: {}", dir,
+                        e.getMessage());
+                try {
+                    cache = new ResponseCache(config.getResponseCacheMemoryEntries(), null, 0);
+                } catch (IOException impossible) {
+                    throw new UncheckedIOException(impossible);
+                }
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(cache::close, "response-cache-close"));
+            return cache;
+        }
+    }
+
+    /**
+     * Computes the key of a query.
+     *
+     * @param modelId      The model
+     * @param systemPrompt The system prompt
+     * @param userPrompt   The user prompt
+     * @param profile      The profile the request is shaped by
+     * @param maxTokens    The max_tokens of the request, as fitted to the
+     *                     model's context window
+     * @param temperature  The sampling temperature
+     * @return The key
+     */
+    public static Key keyOf(String modelId, String systemPrompt, Prompt userPrompt, RequestProfile profile,
+            int maxTokens, double temperature) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // Length prefixes keep ("ab", "c") and ("a", "bc") apart
+            for (String part : new String[] { modelId, systemPrompt, userPrompt.history(), userPrompt.body(),
+                    profile.schema().name(), profile.reasoningEffort() }) {
+                byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+                digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+                digest.update(bytes);
+            }
+            digest.update(ByteBuffer.allocate(Integer.BYTES + Double.BYTES)
+                    .putInt(maxTokens).putDouble(temperature).array());
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest());
+            return new Key(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Looks up an answer.
+     *
+     * @param key The query key
+     * @return The cached answer, or null
+     */
+    public synchronized LLMResponse get(Key key) {
+        if (this == DISABLED) {
+            return null;
+        }
+        LLMResponse response = memory.get(key);
+        if (response == null && disk != null) {
+            response = disk.get(key);
+            if (response != null) {
+                memory.put(key, response);
+            }
+        }
+        if (response != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return response;
+    }
+
+    /**
+     * Stores an answer.
+     *
+     * @param key      The query key
+     * @param response The answer
+     */
+    public synchronized void put(Key key, LLMResponse response) {
+        if (this == DISABLED) {
+            return;
+        }
+        memory.put(key, response);
+        if (disk != null) {
+            disk.put(key, response);
+        }
+    }
+
+    /**
+     * Gets a one-line summary of the lookups so far.
+     *
+     * @return The summary
+     */
+    public synchronized String getSummary() {
+        return String.format("Response cache: %d hits, %d misses", hits, misses);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (disk != null) {
+            disk.close();
+        }
+    }
+
+    /**
+     * Two generations of segments on disk.
+     */
+    private static final class DiskTier {
+        private static final Pattern SEGMENT_FILE = Pattern.compile("responses-(\\d+)\\.dat");
+
+        private final Path directory;
+        private final long segmentBytes;
+        private Segment current;
+        private Segment previous;
+
+        DiskTier(Path directory, long maxBytes) throws IOException {
+            this.directory = directory;
+            this.segmentBytes = Math.max(4096, maxBytes / 2);
+            Files.createDirectories(directory);
+
+            List<Long> generations = new ArrayList<>();
+            try (Stream<Path> files = Files.list(directory)) {
+                files.forEach(file -> {
+                    Matcher matcher = SEGMENT_FILE.matcher(file.getFileName().toString());
+                    if (matcher.matches()) {
+                        generations.add(Long.parseLong(matcher.group(1)));
+                    }
+                });
+            }
+            generations.sort(null);
+            for (int i = 0; i < generations.size() - 2; i++) {
+                Segment.delete(directory, generations.get(i));
+            }
+            int count = generations.size();
+            this.previous = count >= 2 ? Segment.open(directory, generations.get(count - 2), segmentBytes) : null;
+            this.current = Segment.open(directory, count >= 1 ? generations.get(count - 1) : 0, segmentBytes);
+        }
+
+        LLMResponse get(Key key) {
+            try {
+                LLMResponse response = current.get(key);
+                if (response == null && previous != null) {
+                    response = previous.get(key);
+                    if (response != null) {
+                        // Copy forward so the entry outlives the older generation
+                        put(key, response);
+                    }
+                }
+                return response;
+            } catch (IOException e) {
+                logger.warn("Response cache read failed: {}", e.getMessage());
+                return null;
+            }
+        }
+
+        void put(Key key, LLMResponse response) {
+            try {
+                byte[] value = serialize(response);
+                if (!current.put(key, value)) {
+                    rotate();
+                    current.put(key, value);
+                }
+            } catch (IOException e) {
+                logger.warn("Response cache write failed: {}", e.getMessage());
+            }
+        }
+
+        private void rotate() throws IOException {
+            if (previous != null) {
+                previous.close();
+                Segment.delete(directory, previous.generation);
+            }
+            previous = current;
+            current = Segment.open(directory, previous.generation + 1, segmentBytes);
+            logger.debug("Response cache rotated to generation {}", current.generation);
+        }
+
+        void close() {
+            current.close();
+            if (previous != null) {
+                previous.close();
+            }
+        }
+
+        private static byte[] serialize(LLMResponse response) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            try (JsonGenerator gen = MAPPER.getFactory().createGenerator(out)) {
+                gen.writeStartObject();
+                gen.writeStringField("thought", response.thought());
+                gen.writeStringField("message", response.message());
+                gen.writeStringField("action", response.action());
+                gen.writeEndObject();
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * One generation: an append-only data file of (key, length, JSON) records
+     * and a memory-mapped index of fixed 32-byte slots (the first half of the
+     * key, the record offset plus one, the record length), probed linearly.
+     */
+    private static final class Segment {
+        private static final int SLOT_BYTES = 32;
+        private static final int KEY_BYTES = 32;
+        private static final int HEADER_BYTES = KEY_BYTES + Integer.BYTES;
+
+        final long generation;
+        private final long maxBytes;
+        private final FileChannel data;
+        private final FileChannel indexChannel;
+        private final MappedByteBuffer index;
+        private final int slots;
+        private int used;
+
+        private Segment(long generation, long maxBytes, FileChannel data, FileChannel indexChannel,
+                MappedByteBuffer index, int slots) throws IOException {
+            this.generation = generation;
+            this.maxBytes = maxBytes;
+            this.data = data;
+            this.indexChannel = indexChannel;
+            this.index = index;
+            this.slots = slots;
+            long dataSize = data.size();
+            for (int slot = 0; slot < slots; slot++) {
+                long offset = index.getLong(slot * SLOT_BYTES + 16);
+                if (offset != 0 && offset - 1 + index.getInt(slot * SLOT_BYTES + 24) <= dataSize) {
+                    used++;
+                }
+            }
+        }
+
+        static Segment open(Path directory, long generation, long maxBytes) throws IOException {
+            // Room for entries averaging 256 bytes, at a load factor of at most 3/4
+            int slots = Integer.highestOneBit((int) Math.min(1 << 24, Math.max(16, maxBytes / 192)) * 2 - 1);
+            FileChannel data = FileChannel.open(directory.resolve("responses-" + generation + ".dat"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileChannel indexChannel = FileChannel.open(directory.resolve("responses-" + generation + ".idx"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (indexChannel.size() >= SLOT_BYTES) {
+                // An existing index keeps its own size
+                slots = Integer.highestOneBit((int) (indexChannel.size() / SLOT_BYTES));
+            }
+            MappedByteBuffer index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, (long) slots * SLOT_BYTES);
+            return new Segment(generation, maxBytes, data, indexChannel, index, slots);
+        }
+
+        static void delete(Path directory, long generation) throws IOException {
+            Files.deleteIfExists(directory.resolve("responses-" + generation + ".dat"));
+            Files.deleteIfExists(directory.resolve("responses-" + generation + ".idx"));
+        }
+
+        LLMResponse get(Key key) throws IOException {
+            int slot = find(key);
+            if (slot < 0) {
+                return null;
+            }
+            long offset = index.getLong(slot * SLOT_BYTES + 16) - 1;
+            int length = index.getInt(slot * SLOT_BYTES + 24);
+            if (offset + length > data.size()) {
+                // The data write did not complete before the index was updated
+                return null;
+            }
+            ByteBuffer record = ByteBuffer.allocate(length);
+            while (record.hasRemaining() && data.read(record, offset + record.position()) >= 0) {
+                // Keep reading until the record is complete
+            }
+            record.flip();
+            if (record.getLong() != key.a() || record.getLong() != key.b()
+                    || record.getLong() != key.c() || record.getLong() != key.d()) {
+                return null;
+            }
+            int valueLength = record.getInt();
+            return MAPPER.readValue(record.array(), HEADER_BYTES, valueLength, LLMResponse.class);
+        }
+
+        /**
+         * Appends a record.
+         *
+         * @return false if the segment is full
+         */
+        boolean put(Key key, byte[] value) throws IOException {
+            long offset = data.size();
+            if (used >= slots / 4 * 3 || offset + HEADER_BYTES + value.length > maxBytes) {
+                return false;
+            }
+            int slot = find(key);
+            if (slot >= 0) {
+                return true;
+            }
+            ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + value.length);
+            record.putLong(key.a()).putLong(key.b()).putLong(key.c()).putLong(key.d());
+            record.putInt(value.length).put(value).flip();
+            while (record.hasRemaining()) {
+                data.write(record, offset + record.position());
+            }
+
+            slot = -find(key) - 1;
+            int base = slot * SLOT_BYTES;
+            index.putLong(base, key.a());
+            index.putLong(base + 8, key.b());
+            index.putInt(base + 24, HEADER_BYTES + value.length);
+            // The offset goes last: a slot with an offset is complete
+            index.putLong(base + 16, offset + 1);
+            used++;
+            return true;
+        }
+
+        /**
+         * Probes for a key.
+         *
+         * @return The slot holding the key, or -(free slot) - 1
+         */
+        private int find(Key key) {
+            int mask = slots - 1;
+            int slot = (int) (key.a() ^ (key.a() >>> 32)) & mask;
+            for (int probes = 0; probes < slots; probes++) {
+                int base = slot * SLOT_BYTES;
+                if (index.getLong(base + 16) == 0) {
+                    return -slot - 1;
+                }
+                if (index.getLong(base) == key.a() && index.getLong(base + 8) == key.b()) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            // Unreachable below the load factor limit
+            return -1 - slot;
+        }
+
+        void close() {
+            try {
+                index.force();
+                data.close();
+                indexChannel.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close response cache generation {}: {}", generation, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.aimafia.ai;
+
+import com.aimafia.util.AsyncLogWriter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Recording of the LLM exchanges of one game, stored as JSON Lines.
+ * The first line holds the game seed; every further line holds one HTTP
+ * exchange keyed by the SHA-256 of its request body.
+ *
+ * <p>
+ * In replay, a request is answered by the next unused exchange with the same
+ * key. If the engine has changed so that a prompt no longer matches byte for
+ * byte, the next unused exchange of the same player is served instead, so a
+ * game can still be re-executed and compared against the original run.
+ */
+public class ResponseStore implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseStore.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Status recorded for a request that failed before an HTTP response arrived.
+     */
+    public static final int TRANSPORT_ERROR = -1;
+
+    /**
+     * One recorded HTTP exchange.
+     *
+     * @param statusCode The HTTP status, or {@link #TRANSPORT_ERROR}
+     * @param body       The response body, or the error message for transport errors
+     * @param retryAfter The Retry-After header, or null if absent
+     */
+    public record Exchange(int statusCode, String body, String retryAfter) {
+
+        public Exchange(int statusCode, String body) {
+            this(statusCode, body, null);
+        }
+    }
+
+    private static final class Entry {
+        final Exchange exchange;
+        boolean consumed;
+
+        Entry(Exchange exchange) {
+            this.exchange = exchange;
+        }
+    }
+
+    private final Path file;
+    private final long seed;
+    private final boolean useFixedRoles;
+    private final AsyncLogWriter writer;
+    private final Map<String, Deque<Entry>> byKey;
+    private final Map<String, Deque<Entry>> byPlayer;
+    private int exactHits;
+    private int fallbackHits;
+    private int misses;
+
+    private ResponseStore(Path file, long seed, boolean useFixedRoles, AsyncLogWriter writer) {
+        this.file = file;
+        this.seed = seed;
+        this.useFixedRoles = useFixedRoles;
+        this.writer = writer;
+        this.byKey = new HashMap<>();
+        this.byPlayer = new HashMap<>();
+    }
+
+    /**
+     * Creates a store that records exchanges to a new file.
+     *
+     * @param file          The .jsonl file to write
+     * @param seed          The game seed
+     * @param useFixedRoles Whether the game honours fixed role assignments
+     * @return The recording store
+     */
+    public static ResponseStore record(Path file, long seed, boolean useFixedRoles) {
+        ResponseStore store = new ResponseStore(file, seed, useFixedRoles, new AsyncLogWriter(file));
+        ObjectNode header = MAPPER.createObjectNode();
+        header.put("type", "header");
+        header.put("seed", seed);
+        header.put("fixedRoles", useFixedRoles);
+        store.writer.append(header + "\n");
+        return store;
+    }
+
+    /**
+     * Loads a recording for replay.
+     *
+     * @param file The .jsonl file written by a recording store
+     * @return The replaying store
+     * @throws IOException if the file cannot be read or has no header
+     */
+    public static ResponseStore load(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty()) {
+            throw new IOException("Empty recording: " + file);
+        }
+        JsonNode header = MAPPER.readTree(lines.get(0));
+        if (!"header".equals(header.path("type").asText())) {
+            throw new IOException("Missing header in recording: " + file);
+        }
+
+        ResponseStore store = new ResponseStore(file, header.path("seed").asLong(),
+                header.path("fixedRoles").asBoolean(true), null);
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node = MAPPER.readTree(line);
+            Entry entry = new Entry(new Exchange(node.path("status").asInt(), node.path("body").asText(),
+                    node.hasNonNull("retryAfter") ? node.get("retryAfter").asText() : null));
+            store.byKey.computeIfAbsent(node.path("key").asText(), k -> new ArrayDeque<>()).add(entry);
+            store.byPlayer.computeIfAbsent(node.path("player").asText(), k -> new ArrayDeque<>()).add(entry);
+        }
+        logger.info("Loaded recording {} (seed {})", file, store.seed);
+        return store;
+    }
+
+    /**
+     * Checks whether this store serves responses rather than recording them.
+     *
+     * @return true if loaded from a recording
+     */
+    public boolean isReplaying() {
+        return writer == null;
+    }
+
+    /**
+     * Records an exchange. Ignored when replaying.
+     *
+     * @param playerId    The player that sent the request
+     * @param modelId     The model the request was sent to
+     * @param requestBody The request body
+     * @param exchange    The response
+     */
+    public void put(String playerId, String modelId, String requestBody, Exchange exchange) {
+        put(playerId, modelId, requestBody.getBytes(StandardCharsets.UTF_8), exchange);
+    }
+
+    /**
+     * Records an exchange. Ignored when replaying.
+     *
+     * @param playerId    The player that sent the request
+     * @param modelId     The model the request was sent to
+     * @param requestBody The UTF-8 request body
+     * @param exchange    The response
+     */
+    public void put(String playerId, String modelId, byte[] requestBody, Exchange exchange) {
+        if (writer == null) {
+            return;
+        }
+        ObjectNode line = MAPPER.createObjectNode();
+        line.put("key", keyOf(requestBody));
+        line.put("player", playerId);
+        line.put("model", modelId);
+        line.put("status", exchange.statusCode());
+        line.put("body", exchange.body());
+        if (exchange.retryAfter() != null) {
+            line.put("retryAfter", exchange.retryAfter());
+        }
+        try {
+            writer.append(MAPPER.writeValueAsString(line) + "\n");
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to record exchange for {}: {}", playerId, e.getMessage());
+        }
+    }
+
+    /**
+     * Takes the recorded response for a request.
+     *
+     * @param playerId    The player sending the request
+     * @param requestBody The request body
+     * @return The exchange, or empty if the recording has nothing left for this player
+     */
+    public Optional<Exchange> take(String playerId, String requestBody) {
+        return take(playerId, requestBody.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Takes the recorded response for a request.
+     *
+     * @param playerId    The player sending the request
+     * @param requestBody The UTF-8 request body
+     * @return The exchange, or empty if the recording has nothing left for this player
+     */
+    public synchronized Optional<Exchange> take(String playerId, byte[] requestBody) {
+        Entry entry = pollUnconsumed(byKey.get(keyOf(requestBody)));
+        if (entry != null) {
+            exactHits++;
+        } else {
+            entry = pollUnconsumed(byPlayer.get(playerId));
+            if (entry == null) {
+                misses++;
+                return Optional.empty();
+            }
+            fallbackHits++;
+            logger.debug("Prompt for {} differs from the recording, serving next recorded response", playerId);
+        }
+        entry.consumed = true;
+        return Optional.of(entry.exchange);
+    }
+
+    private static Entry pollUnconsumed(Deque<Entry> entries) {
+        if (entries == null) {
+            return null;
+        }
+        Entry entry;
+        while ((entry = entries.poll()) != null) {
+            if (!entry.consumed) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the seed of the recorded game.
+     *
+     * @return The seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Whether the recorded game honoured fixed role assignments.
+     *
+     * @return true if fixed roles were used
+     */
+    public boolean isUseFixedRoles() {
+        return useFixedRoles;
+    }
+
+    /**
+     * Gets the recording file.
+     *
+     * @return The file path
+     */
+    public Path getFilePath() {
+        return file;
+    }
+
+    /**
+     * Gets a summary of how requests were matched during replay.
+     *
+     * @return Formatted summary
+     */
+    public synchronized String getReplaySummary() {
+        return String.format("Replay of %s: %d exact, %d by player order, %d missing",
+                file.getFileName(), exactHits, fallbackHits, misses);
+    }
+
+    /**
+     * Writes all pending exchanges and closes the file.
+     */
+    @Override
+    public void close() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private static String keyOf(byte[] requestBody) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(requestBody));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
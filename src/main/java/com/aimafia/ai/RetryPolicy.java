@@ -0,0 +1,139 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.GameConfig;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether and when a failed API request is retried.
+ *
+ * <p>
+ * Rate limiting (429), timeouts and server errors are retried; other client
+ * errors are not, since repeating the same request cannot succeed. Waits
+ * follow exponential backoff with decorrelated jitter, so concurrent players
+ * hitting the same limit spread out instead of retrying in lockstep. A
+ * {@code Retry-After} header from the provider replaces the computed wait.
+ * Every query also has a total deadline: a retry whose wait would overrun it
+ * is not attempted.
+ */
+public class RetryPolicy {
+
+    /**
+     * Value returned by {@link #parseRetryAfterMs} when there is no usable header.
+     */
+    public static final long NO_RETRY_AFTER = -1;
+
+    private final int maxRetries;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final long deadlineMs;
+
+    /**
+     * Creates a retry policy.
+     *
+     * @param maxRetries  Maximum number of retries after the first attempt
+     * @param baseDelayMs Smallest wait between attempts
+     * @param maxDelayMs  Largest computed wait between attempts
+     * @param deadlineMs  Total time budget of one query, including all retries
+     */
+    public RetryPolicy(int maxRetries, long baseDelayMs, long maxDelayMs, long deadlineMs) {
+        if (maxRetries < 0 || baseDelayMs < 0 || maxDelayMs < baseDelayMs || deadlineMs <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid retry policy: retries=%d, base=%dms, max=%dms, deadline=%dms",
+                    maxRetries, baseDelayMs, maxDelayMs, deadlineMs));
+        }
+        this.maxRetries = maxRetries;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.deadlineMs = deadlineMs;
+    }
+
+    /**
+     * Creates the policy described by the api.* retry settings.
+     *
+     * @param config The game configuration
+     * @return The retry policy
+     */
+    public static RetryPolicy fromConfig(GameConfig config) {
+        return new RetryPolicy(config.getMaxRetries(), config.getRetryDelayMs(),
+                Math.max(config.getRetryDelayMs(), config.getRetryMaxDelayMs()), config.getRetryDeadlineMs());
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public Duration getDeadline() {
+        return Duration.ofMillis(deadlineMs);
+    }
+
+    /**
+     * Checks whether a request that failed with the given HTTP status may
+     * succeed if sent again.
+     *
+     * @param statusCode The HTTP status
+     * @return true for timeouts, rate limiting and server errors
+     */
+    public boolean isRetryable(int statusCode) {
+        return switch (statusCode) {
+            case 408, 409, 425, 429 -> true;
+            default -> statusCode >= 500;
+        };
+    }
+
+    /**
+     * Computes the wait before the next attempt.
+     *
+     * @param previousDelayMs The previous wait, or 0 before the first retry
+     * @param retryAfterMs    The wait requested by the provider, or {@link #NO_RETRY_AFTER}
+     * @return The wait in milliseconds
+     */
+    public long nextDelayMs(long previousDelayMs, long retryAfterMs) {
+        if (retryAfterMs >= 0) {
+            return retryAfterMs;
+        }
+        // Decorrelated jitter: uniform between the base and three times the previous wait
+        long upper = Math.min(maxDelayMs, Math.max(baseDelayMs, previousDelayMs * 3));
+        if (upper <= baseDelayMs) {
+            return baseDelayMs;
+        }
+        return ThreadLocalRandom.current().nextLong(baseDelayMs, upper + 1);
+    }
+
+    /**
+     * Parses a {@code Retry-After} header, given either as delay seconds or as
+     * an HTTP date.
+     *
+     * @param value The header value, may be null
+     * @param now   The current time, for HTTP dates
+     * @return The wait in milliseconds, or {@link #NO_RETRY_AFTER} if absent or malformed
+     */
+    public static long parseRetryAfterMs(String value, Instant now) {
+        if (value == null || value.isBlank()) {
+            return NO_RETRY_AFTER;
+        }
+        String trimmed = value.trim();
+        try {
+            return Math.max(0, Long.parseLong(trimmed) * 1000);
+        } catch (NumberFormatException e) {
+            // Not delay-seconds, try an HTTP date
+        }
+        try {
+            Instant retryAt = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return Math.max(0, Duration.between(now, retryAt).toMillis());
+        } catch (DateTimeParseException e) {
+            return NO_RETRY_AFTER;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RetryPolicy{retries=%d, base=%dms, max=%dms, deadline=%dms}",
+                maxRetries, baseDelayMs, maxDelayMs, deadlineMs);
+    }
+}
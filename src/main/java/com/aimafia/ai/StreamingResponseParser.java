@@ -0,0 +1,155 @@
+package com.aimafia.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses the model's JSON answer while it is still being streamed.
+ *
+ * <p>
+ * Content deltas are fed to Jackson's non-blocking parser as they arrive, so
+ * the {@code thought}, {@code message} and {@code action} fields become
+ * available the moment their closing quote is received. Text before the first
+ * '{' (such as a markdown fence) and anything after the object is ignored.
+ * Not thread-safe; one instance per streamed response.
+ */
+public class StreamingResponseParser {
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private boolean started;
+    private boolean closed;
+    private int depth;
+    private String field;
+    private String thought;
+    private String message;
+    private String action;
+    private String error;
+
+    /**
+     * Creates a parser.
+     *
+     * @param jsonFactory The factory of the service's ObjectMapper
+     */
+    public StreamingResponseParser(JsonFactory jsonFactory) {
+        try {
+            this.parser = jsonFactory.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Non-blocking JSON parser not available", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Feeds the next piece of model output.
+     *
+     * @param delta Content text, may be empty
+     */
+    public void feed(String delta) {
+        if (closed || error != null || delta == null || delta.isEmpty()) {
+            return;
+        }
+        if (!started) {
+            int start = delta.indexOf('{');
+            if (start < 0) {
+                return;
+            }
+            started = true;
+            delta = delta.substring(start);
+        }
+        try {
+            byte[] bytes = delta.getBytes(StandardCharsets.UTF_8);
+            feeder.feedInput(bytes, 0, bytes.length);
+            drainTokens();
+        } catch (IOException e) {
+            error = e.getMessage();
+        }
+    }
+
+    private void drainTokens() throws IOException {
+        JsonToken token;
+        while (!closed && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> depth++;
+                case END_OBJECT, END_ARRAY -> {
+                    depth--;
+                    if (depth == 0) {
+                        closed = true;
+                    }
+                }
+                case FIELD_NAME -> {
+                    if (depth == 1) {
+                        field = parser.currentName();
+                    }
+                }
+                case VALUE_STRING -> {
+                    if (depth == 1 && field != null) {
+                        store(field, parser.getText());
+                    }
+                }
+                default -> {
+                    // Numbers, booleans and nulls carry nothing we use
+                }
+            }
+        }
+    }
+
+    private void store(String name, String value) {
+        switch (name) {
+            case "thought" -> thought = value;
+            case "message" -> message = value;
+            case "action" -> action = value;
+            default -> {
+                // Unknown fields are ignored, as in LLMResponse
+            }
+        }
+    }
+
+    /**
+     * Checks whether the fields a decision needs have arrived, so the rest of
+     * the stream can be ignored.
+     *
+     * @param needsMessage Whether the public message is needed as well as the action
+     * @return true once the object is closed, or the needed fields are complete
+     */
+    public boolean isComplete(boolean needsMessage) {
+        if (error != null || closed) {
+            return true;
+        }
+        return action != null && !action.isBlank() && (!needsMessage || message != null);
+    }
+
+    /**
+     * Gets the parse error, if the output was not valid JSON.
+     *
+     * @return The error message, or null
+     */
+    public String getError() {
+        if (error != null) {
+            return error;
+        }
+        if (!started) {
+            return "No JSON object in response";
+        }
+        if (!closed && action == null) {
+            return "Response ended before the JSON object was complete";
+        }
+        return null;
+    }
+
+    /**
+     * Builds the response from the fields received so far. Fields that have
+     * not arrived are empty.
+     *
+     * @return The response
+     */
+    public LLMResponse toResponse() {
+        return new LLMResponse(thought != null ? thought : "", message != null ? message : "", action);
+    }
+}
@@ -0,0 +1,227 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.GameConfig;
+import com.aimafia.config.LatencyDistribution;
+import com.aimafia.model.GameState;
+import com.aimafia.model.Phase;
+import com.aimafia.model.Player;
+import com.aimafia.model.Role;
+import com.aimafia.util.GameJournal;
+import com.aimafia.util.JournalEvent;
+import com.aimafia.util.TokenTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process backend that answers every prompt with a valid action after a
+ * simulated delay, without any network access.
+ * Latency follows a configurable distribution and a configurable share of
+ * attempts fails and is retried like an API error, so the engine's
+ * concurrency and error paths can be load-tested offline.
+ */
+public class SyntheticLLMService implements LLMService {
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticLLMService.class);
+
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int OUTPUT_TOKENS = 60;
+
+    /**
+     * Scripted answers. Returning null falls back to a random valid action.
+     */
+    @FunctionalInterface
+    public interface Script {
+        LLMResponse respond(Player player, GameState state, Prompt prompt);
+    }
+
+    private final PromptBuilder promptBuilder;
+    private final TokenTracker tokenTracker;
+    private final LatencyDistribution latency;
+    private final long meanLatencyMs;
+    private final double errorRate;
+    private final int maxRetries;
+    private final Script script;
+    private final Random random;
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private volatile GameJournal journal = GameJournal.disabled();
+
+    /**
+     * Creates a backend configured from the synthetic.* settings.
+     *
+     * @param config       The game configuration
+     * @param tokenTracker The tracker receiving estimated token usage
+     * @param seed         Seed for latency, errors and random actions
+     */
+    public SyntheticLLMService(GameConfig config, TokenTracker tokenTracker, long seed) {
+        this(config.getSyntheticLatencyDistribution(), config.getSyntheticLatencyMeanMs(),
+                config.getSyntheticErrorRate(), config.getMaxRetries(), null, tokenTracker, seed);
+    }
+
+    /**
+     * Constructor for testing with injected dependencies.
+     */
+    public SyntheticLLMService(LatencyDistribution latency, long meanLatencyMs, double errorRate,
+            int maxRetries, Script script, TokenTracker tokenTracker, long seed) {
+        this.promptBuilder = new PromptBuilder();
+        this.tokenTracker = tokenTracker;
+        this.latency = latency;
+        this.meanLatencyMs = Math.max(0, meanLatencyMs);
+        this.errorRate = Math.min(1.0, Math.max(0.0, errorRate));
+        this.maxRetries = maxRetries;
+        this.script = script;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public LLMResponse query(Player player, GameState state, Prompt userPrompt) {
+        // Build the system prompt as the real backend would, so its cost stays in the measurement
+        String systemPrompt = promptBuilder.buildSystemPrompt(player, state);
+        return respond(player.getId(), player.getModelId(), userPrompt.kind().phase(),
+                systemPrompt.length() + userPrompt.text().length(), () -> answer(player, state, userPrompt));
+    }
+
+    @Override
+    public LLMResponse queryWithPrompts(String playerId, String modelId, String systemPrompt, String userPrompt) {
+        return respond(playerId, modelId, null, systemPrompt.length() + userPrompt.length(),
+                () -> new LLMResponse("Synthetic response", "", "SKIP"));
+    }
+
+    private LLMResponse respond(String playerId, String modelId, Phase phase, int promptChars,
+            Supplier<LLMResponse> answer) {
+        for (int retriesLeft = maxRetries; retriesLeft >= 0; retriesLeft--) {
+            attempts.incrementAndGet();
+            long delayMs = nextLatencyMs();
+            try {
+                if (delayMs > 0) {
+                    Thread.sleep(delayMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return LLMResponse.fallback("Request failed: interrupted");
+            }
+
+            boolean failed = errorRate > 0 && nextDouble() < errorRate;
+            journal.record(new JournalEvent.ApiCall(System.currentTimeMillis(), playerId, modelId,
+                    failed ? 500 : 200, delayMs, retriesLeft));
+            if (failed) {
+                errors.incrementAndGet();
+                logger.debug("Synthetic error for {} ({} retries left)", playerId, retriesLeft);
+                continue;
+            }
+
+            int inputTokens = promptChars / CHARS_PER_TOKEN;
+            tokenTracker.addUsage(playerId, modelId, phase, inputTokens, 0, OUTPUT_TOKENS, null);
+            journal.record(new JournalEvent.TokenUsage(System.currentTimeMillis(), playerId, modelId,
+                    inputTokens, 0, OUTPUT_TOKENS));
+
+            LLMResponse response = answer.get();
+            journal.record(new JournalEvent.Response(System.currentTimeMillis(), playerId, modelId,
+                    response.thought(), response.message(), response.action()));
+            return response;
+        }
+        return LLMResponse.fallback("API error: 500");
+    }
+
+    private LLMResponse answer(Player player, GameState state, Prompt prompt) {
+        if (script != null) {
+            LLMResponse scripted = script.respond(player, state, prompt);
+            if (scripted != null) {
+                return scripted;
+            }
+        }
+        return switch (prompt.kind()) {
+            case NIGHT_ACTION, MAFIA_VOTE -> new LLMResponse("Synthetic night action", "", nightTarget(player, state));
+            case DISCUSSION -> new LLMResponse("Synthetic discussion",
+                    "I am watching " + randomOther(player, state) + " closely.", "SKIP");
+            case NOMINATION -> new LLMResponse("Synthetic nomination", "",
+                    nextInt(3) == 0 ? "SKIP" : randomOther(player, state));
+            case DEFENSE -> new LLMResponse("Synthetic defense", "I am not Mafia.", "SKIP");
+            case JUDGMENT -> new LLMResponse("Synthetic judgment", "", nextInt(2) == 0 ? "GUILTY" : "INNOCENT");
+            case GENERIC -> new LLMResponse("Synthetic response", "", "SKIP");
+        };
+    }
+
+    private String nightTarget(Player player, GameState state) {
+        Role role = player.getRole();
+        if (role == Role.MAFIA) {
+            return pick(state.getAliveTown());
+        }
+        if (role == Role.SHERIFF) {
+            return randomOther(player, state);
+        }
+        if (role == Role.DOCTOR) {
+            return pick(state.getAlivePlayers());
+        }
+        return "SKIP";
+    }
+
+    private String randomOther(Player player, GameState state) {
+        return pick(state.getAlivePlayers().stream()
+                .filter(p -> !p.getId().equals(player.getId()))
+                .toList());
+    }
+
+    private String pick(List<Player> candidates) {
+        return candidates.isEmpty() ? "SKIP" : candidates.get(nextInt(candidates.size())).getId();
+    }
+
+    private long nextLatencyMs() {
+        if (meanLatencyMs == 0) {
+            return 0;
+        }
+        double value = switch (latency) {
+            case NONE -> 0;
+            case FIXED -> meanLatencyMs;
+            case UNIFORM -> nextDouble() * 2 * meanLatencyMs;
+            case EXPONENTIAL -> -Math.log(1 - nextDouble()) * meanLatencyMs;
+            // sigma 0.5, mu chosen so that the mean equals meanLatencyMs
+            case LOG_NORMAL -> Math.exp(Math.log(meanLatencyMs) - 0.125 + 0.5 * nextGaussian());
+        };
+        return Math.round(value);
+    }
+
+    private synchronized double nextDouble() {
+        return random.nextDouble();
+    }
+
+    private synchronized double nextGaussian() {
+        return random.nextGaussian();
+    }
+
+    private synchronized int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * Gets the number of simulated attempts, including failed ones.
+     *
+     * @return The attempt count
+     */
+    public long getAttempts() {
+        return attempts.get();
+    }
+
+    /**
+     * Gets the number of simulated failures.
+     *
+     * @return The error count
+     */
+    public long getErrors() {
+        return errors.get();
+    }
+
+    @Override
+    public void setJournal(GameJournal journal) {
+        this.journal = journal != null ? journal : GameJournal.disabled();
+    }
+
+    @Override
+    public PromptBuilder getPromptBuilder() {
+        return promptBuilder;
+    }
+}
@@ -0,0 +1,91 @@
+package com.aimafia.ai;
+
+/**
+ * Estimates the token count of prompt text without a model's tokenizer.
+ *
+ * <p>
+ * The rules follow how byte-pair tokenizers split text: a word and the space
+ * before it make one token, or more when the word is long; digits go in
+ * groups of three; punctuation runs take a token per two characters; a line
+ * break or an indent is a token of its own; every other non-ASCII character
+ * counts as a token. The rules lean towards overcounting, but an estimate
+ * is not exact, so callers should leave a margin. Lines are counted
+ * independently, so the count of a text is the sum of the counts of its
+ * lines.
+ */
+public final class TokenEstimator {
+
+    // Letters a word token covers before a long word is split
+    private static final int LETTERS_PER_TOKEN = 6;
+    private static final int DIGITS_PER_TOKEN = 3;
+    private static final int PUNCTUATION_PER_TOKEN = 2;
+
+    private TokenEstimator() {
+    }
+
+    /**
+     * Estimates the tokens of a text.
+     *
+     * @param text The text, may be null
+     * @return The estimated token count
+     */
+    public static int count(CharSequence text) {
+        return text == null ? 0 : count(text, 0, text.length());
+    }
+
+    /**
+     * Estimates the tokens of part of a text.
+     *
+     * @param text  The text
+     * @param start Index of the first character
+     * @param end   Index after the last character
+     * @return The estimated token count
+     */
+    public static int count(CharSequence text, int start, int end) {
+        int tokens = 0;
+        int i = start;
+        while (i < end) {
+            char c = text.charAt(i);
+            int runStart = i;
+            if (isLetter(c)) {
+                do {
+                    i++;
+                } while (i < end && isLetter(text.charAt(i)));
+                tokens += (i - runStart + LETTERS_PER_TOKEN - 1) / LETTERS_PER_TOKEN;
+            } else if (c >= '0' && c <= '9') {
+                do {
+                    i++;
+                } while (i < end && text.charAt(i) >= '0' && text.charAt(i) <= '9');
+                tokens += (i - runStart + DIGITS_PER_TOKEN - 1) / DIGITS_PER_TOKEN;
+            } else if (c == ' ') {
+                do {
+                    i++;
+                } while (i < end && text.charAt(i) == ' ');
+                // A single space joins the next word; an indent is a token
+                if (i - runStart > 1) {
+                    tokens++;
+                }
+            } else if (c == '\n' || c == '\r' || c == '\t') {
+                i++;
+                tokens++;
+            } else if (c < 0x80) {
+                do {
+                    i++;
+                } while (i < end && isPunctuation(text.charAt(i)));
+                tokens += (i - runStart + PUNCTUATION_PER_TOKEN - 1) / PUNCTUATION_PER_TOKEN;
+            } else {
+                i++;
+                tokens++;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isPunctuation(char c) {
+        return c < 0x80 && c > ' ' && !isLetter(c) && (c < '0' || c > '9');
+    }
+}
@@ -0,0 +1,18 @@
+package com.aimafia.config;
+
+/**
+ * What happens once a game or tournament has spent its budget.
+ */
+public enum BudgetAction {
+    /**
+     * No further calls are sent. Running games end at the next phase
+     * boundary without a winner, and no new tournament games start.
+     */
+    STOP,
+
+    /**
+     * Further calls go to the configured downgrade model, which should be a
+     * cheaper one. Without a downgrade model this acts like STOP.
+     */
+    DOWNGRADE
+}
@@ -20,6 +20,13 @@ public final class GameConfig {
     // OpenRouter API settings
     private final String openRouterApiKey;
     private final String openRouterApiUrl;
+    private final long connectTimeoutMs;
+
+    // Backend settings
+    private final LLMBackend llmBackend;
+    private final LatencyDistribution syntheticLatencyDistribution;
+    private final long syntheticLatencyMeanMs;
+    private final double syntheticErrorRate;
 
     // Per-player model configuration
     private final Map<Integer, String> playerModels;
@@ -29,7 +36,14 @@ public final class GameConfig {
     private final int mafiaCount;
     private final boolean revealRolesOnDeath;
     private final int maxDiscussionRounds;
+    private final int discussionLookahead;
     private final int nominationThresholdPercent;
+    private final boolean nightSpeculationEnabled;
+    private final MafiaConsensus mafiaConsensus;
+    private final long nightDeadlineMs;
+    private final long voteDeadlineMs;
+    private final HistoryStrategy historyStrategy;
+    private final int historyWindow;
 
     // Fixed role assignments (optional)
     private final List<Integer> fixedMafiaPlayers;
@@ -39,7 +53,70 @@ public final class GameConfig {
     // Retry settings
     private final int maxRetries;
     private final long retryDelayMs;
+    private final long retryMaxDelayMs;
+    private final long retryDeadlineMs;
     private final int maxTokens;
+    private final String contextFile;
+    private final ResponseSchema voteSchema;
+    private final int voteMaxTokens;
+    private final String voteReasoningEffort;
+    private final ResponseSchema nightSchema;
+    private final int nightMaxTokens;
+    private final String nightReasoningEffort;
+    private final ResponseSchema mafiaSchema;
+    private final int mafiaMaxTokens;
+    private final String mafiaReasoningEffort;
+    private final String speechReasoningEffort;
+    private final boolean promptCachingEnabled;
+    private final boolean streamingEnabled;
+
+    // Circuit breaker and fallback settings
+    private final boolean circuitBreakerEnabled;
+    private final int circuitWindow;
+    private final int circuitMinimumCalls;
+    private final double circuitFailureRate;
+    private final long circuitSlowCallMs;
+    private final long circuitOpenMs;
+    private final int circuitHalfOpenProbes;
+    private final List<String> fallbackModels;
+
+    // Rate limit settings
+    private final int rateLimitRequestsPerMinute;
+    private final int rateLimitTokensPerMinute;
+    private final int rateLimitMaxInFlight;
+
+    // Response cache settings
+    private final boolean responseCacheEnabled;
+    private final int responseCacheMemoryEntries;
+    private final String responseCacheDir;
+    private final long responseCacheDiskMaxMb;
+
+    // Hedging settings
+    private final boolean hedgingEnabled;
+    private final double hedgePercentile;
+    private final long hedgeMinDelayMs;
+    private final double hedgeMaxRate;
+    private final String hedgeModel;
+
+    // Cost settings
+    private final String priceFile;
+    private final double gameBudgetUsd;
+    private final double tournamentBudgetUsd;
+    private final BudgetAction budgetAction;
+    private final String budgetDowngradeModel;
+
+    // Logging settings
+    private final boolean journalEnabled;
+
+    // Replay settings
+    private final ReplayMode replayMode;
+    private final String replayFile;
+
+    // Tournament settings
+    private final int tournamentGames;
+    private final int tournamentParallelism;
+    private final Long tournamentSeed;
+    private final boolean tournamentUseFixedRoles;
 
     private GameConfig() {
         Properties props = loadProperties();
@@ -48,6 +125,14 @@ public final class GameConfig {
         this.openRouterApiKey = resolveProperty(props, "openrouter.api.key", "");
         this.openRouterApiUrl = props.getProperty("openrouter.api.url",
                 "https://openrouter.ai/api/v1/chat/completions");
+        this.connectTimeoutMs = Long.parseLong(props.getProperty("openrouter.connect.timeout.ms", "10000"));
+
+        // Backend settings
+        this.llmBackend = parseEnum(props, "llm.backend", LLMBackend.OPENROUTER);
+        this.syntheticLatencyDistribution = parseEnum(props, "synthetic.latency.distribution",
+                LatencyDistribution.EXPONENTIAL);
+        this.syntheticLatencyMeanMs = Long.parseLong(props.getProperty("synthetic.latency.mean.ms", "200"));
+        this.syntheticErrorRate = Double.parseDouble(props.getProperty("synthetic.error.rate", "0.0"));
 
         // Game settings
         this.playerCount = Integer.parseInt(props.getProperty("game.player.count", "10"));
@@ -56,8 +141,17 @@ public final class GameConfig {
                 props.getProperty("game.reveal.roles.on.death", "true"));
         this.maxDiscussionRounds = Integer.parseInt(
                 props.getProperty("game.max.discussion.rounds", "2"));
+        this.discussionLookahead = Integer.parseInt(
+                props.getProperty("game.discussion.lookahead", "0"));
         this.nominationThresholdPercent = Integer.parseInt(
                 props.getProperty("game.nomination.threshold.percent", "30"));
+        this.nightSpeculationEnabled = Boolean.parseBoolean(
+                props.getProperty("game.night.speculation.enabled", "false"));
+        this.mafiaConsensus = parseEnum(props, "game.mafia.consensus", MafiaConsensus.SEQUENTIAL);
+        this.nightDeadlineMs = Long.parseLong(props.getProperty("game.night.deadline.ms", "120000"));
+        this.voteDeadlineMs = Long.parseLong(props.getProperty("game.vote.deadline.ms", "60000"));
+        this.historyStrategy = parseEnum(props, "game.history.strategy", HistoryStrategy.FULL);
+        this.historyWindow = Integer.parseInt(props.getProperty("game.history.window", "60"));
 
         // Load per-player models
         this.playerModels = loadPlayerModels(props);
@@ -70,7 +164,74 @@ public final class GameConfig {
         // Retry settings
         this.maxRetries = Integer.parseInt(props.getProperty("api.max.retries", "3"));
         this.retryDelayMs = Long.parseLong(props.getProperty("api.retry.delay.ms", "1000"));
+        this.retryMaxDelayMs = Long.parseLong(props.getProperty("api.retry.max.delay.ms", "30000"));
+        this.retryDeadlineMs = Long.parseLong(props.getProperty("api.retry.deadline.ms", "180000"));
         this.maxTokens = Integer.parseInt(props.getProperty("api.max.tokens", "999999"));
+        this.contextFile = props.getProperty("api.context.file", "").trim();
+
+        // Request profiles
+        this.voteSchema = parseEnum(props, "api.profile.vote.schema", ResponseSchema.ACTION);
+        this.voteMaxTokens = Integer.parseInt(props.getProperty("api.profile.vote.max.tokens", "1024"));
+        this.voteReasoningEffort = props.getProperty("api.profile.vote.reasoning", "low").trim();
+        this.nightSchema = parseEnum(props, "api.profile.night.schema", ResponseSchema.ACTION);
+        this.nightMaxTokens = Integer.parseInt(props.getProperty("api.profile.night.max.tokens", "1024"));
+        this.nightReasoningEffort = props.getProperty("api.profile.night.reasoning", "low").trim();
+        this.mafiaSchema = parseEnum(props, "api.profile.mafia.schema", ResponseSchema.BRIEF);
+        this.mafiaMaxTokens = Integer.parseInt(props.getProperty("api.profile.mafia.max.tokens", "1536"));
+        this.mafiaReasoningEffort = props.getProperty("api.profile.mafia.reasoning", "low").trim();
+        this.speechReasoningEffort = props.getProperty("api.profile.speech.reasoning", "").trim();
+        this.promptCachingEnabled = Boolean.parseBoolean(
+                props.getProperty("api.prompt.caching", "true"));
+        this.streamingEnabled = Boolean.parseBoolean(props.getProperty("api.streaming.enabled", "false"));
+
+        // Circuit breaker and fallback settings
+        this.circuitBreakerEnabled = Boolean.parseBoolean(props.getProperty("api.circuit.enabled", "true"));
+        this.circuitWindow = Integer.parseInt(props.getProperty("api.circuit.window", "20"));
+        this.circuitMinimumCalls = Integer.parseInt(props.getProperty("api.circuit.min.calls", "5"));
+        this.circuitFailureRate = Double.parseDouble(props.getProperty("api.circuit.failure.rate", "0.5"));
+        this.circuitSlowCallMs = Long.parseLong(props.getProperty("api.circuit.slow.call.ms", "45000"));
+        this.circuitOpenMs = Long.parseLong(props.getProperty("api.circuit.open.ms", "30000"));
+        this.circuitHalfOpenProbes = Integer.parseInt(props.getProperty("api.circuit.half.open.probes", "2"));
+        this.fallbackModels = parseModelList(props.getProperty("api.fallback.models", ""));
+
+        // Rate limit settings
+        this.rateLimitRequestsPerMinute = Integer.parseInt(props.getProperty("api.rate.limit.rpm", "0"));
+        this.rateLimitTokensPerMinute = Integer.parseInt(props.getProperty("api.rate.limit.tpm", "0"));
+        this.rateLimitMaxInFlight = Integer.parseInt(props.getProperty("api.rate.limit.max.in.flight", "0"));
+
+        // Response cache settings
+        this.responseCacheEnabled = Boolean.parseBoolean(props.getProperty("api.cache.enabled", "false"));
+        this.responseCacheMemoryEntries = Integer.parseInt(props.getProperty("api.cache.memory.entries", "1000"));
+        this.responseCacheDir = props.getProperty("api.cache.dir", "cache");
+        this.responseCacheDiskMaxMb = Long.parseLong(props.getProperty("api.cache.disk.max.mb", "256"));
+
+        // Hedging settings
+        this.hedgingEnabled = Boolean.parseBoolean(props.getProperty("api.hedge.enabled", "false"));
+        this.hedgePercentile = Double.parseDouble(props.getProperty("api.hedge.percentile", "0.95"));
+        this.hedgeMinDelayMs = Long.parseLong(props.getProperty("api.hedge.min.delay.ms", "1000"));
+        this.hedgeMaxRate = Double.parseDouble(props.getProperty("api.hedge.max.rate", "0.05"));
+        this.hedgeModel = props.getProperty("api.hedge.model", "").trim();
+
+        // Cost settings
+        this.priceFile = props.getProperty("cost.price.file", "").trim();
+        this.gameBudgetUsd = Double.parseDouble(props.getProperty("cost.budget.game.usd", "0"));
+        this.tournamentBudgetUsd = Double.parseDouble(props.getProperty("cost.budget.tournament.usd", "0"));
+        this.budgetAction = parseEnum(props, "cost.budget.action", BudgetAction.STOP);
+        this.budgetDowngradeModel = props.getProperty("cost.budget.downgrade.model", "").trim();
+
+        // Logging settings
+        this.journalEnabled = Boolean.parseBoolean(props.getProperty("game.journal.enabled", "true"));
+
+        // Replay settings
+        this.replayMode = parseEnum(props, "replay.mode", ReplayMode.OFF);
+        this.replayFile = props.getProperty("replay.file", "").trim();
+
+        // Tournament settings
+        this.tournamentGames = Integer.parseInt(props.getProperty("tournament.games", "0"));
+        this.tournamentParallelism = Integer.parseInt(props.getProperty("tournament.parallelism", "4"));
+        this.tournamentSeed = parseSeed(props.getProperty("tournament.seed", ""));
+        this.tournamentUseFixedRoles = Boolean.parseBoolean(
+                props.getProperty("tournament.use.fixed.roles", "false"));
 
         logger.info("GameConfig loaded: players={}, mafia={}, models configured={}",
                 playerCount, mafiaCount, playerModels.size());
@@ -114,6 +275,22 @@ public final class GameConfig {
         return Collections.unmodifiableList(result);
     }
 
+    /**
+     * Parses a comma-separated list of model IDs.
+     */
+    private List<String> parseModelList(String value) {
+        if (value == null || value.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>();
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                result.add(part.trim());
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
     /**
      * Parses a single player number.
      */
@@ -129,6 +306,38 @@ public final class GameConfig {
         }
     }
 
+    /**
+     * Parses an enum setting. A blank value takes the default; an unknown
+     * one takes it too, with a warning.
+     */
+    private static <E extends Enum<E>> E parseEnum(Properties props, String key, E defaultValue) {
+        String value = props.getProperty(key, "").trim();
+        if (value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(defaultValue.getDeclaringClass(), value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown {} '{}', using {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Parses an optional random seed.
+     */
+    private Long parseSeed(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid seed: {}", value);
+            return null;
+        }
+    }
+
     /**
      * Gets the singleton instance of GameConfig.
      * Uses double-checked locking for thread safety.
@@ -196,6 +405,13 @@ public final class GameConfig {
         return openRouterApiUrl;
     }
 
+    /**
+     * Gets how long opening a connection to the API may take.
+     */
+    public long getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
     /**
      * Gets the model ID for a specific player number.
      *
@@ -235,6 +451,34 @@ public final class GameConfig {
         return mafiaCount;
     }
 
+    /**
+     * Gets the backend that answers player prompts.
+     */
+    public LLMBackend getLlmBackend() {
+        return llmBackend;
+    }
+
+    /**
+     * Gets the latency distribution of the synthetic backend.
+     */
+    public LatencyDistribution getSyntheticLatencyDistribution() {
+        return syntheticLatencyDistribution;
+    }
+
+    /**
+     * Gets the mean simulated latency per attempt of the synthetic backend.
+     */
+    public long getSyntheticLatencyMeanMs() {
+        return syntheticLatencyMeanMs;
+    }
+
+    /**
+     * Gets the share of synthetic attempts that fail, between 0 and 1.
+     */
+    public double getSyntheticErrorRate() {
+        return syntheticErrorRate;
+    }
+
     public boolean isRevealRolesOnDeath() {
         return revealRolesOnDeath;
     }
@@ -243,10 +487,62 @@ public final class GameConfig {
         return maxDiscussionRounds;
     }
 
+    /**
+     * Gets how many earlier speakers' statements a discussion request may be
+     * sent without. 0 means every speaker sees all earlier statements.
+     */
+    public int getDiscussionLookahead() {
+        return discussionLookahead;
+    }
+
     public int getNominationThresholdPercent() {
         return nominationThresholdPercent;
     }
 
+    /**
+     * Whether single-query night actions are started as soon as the day ends.
+     */
+    public boolean isNightSpeculationEnabled() {
+        return nightSpeculationEnabled;
+    }
+
+    /**
+     * Gets how the Mafia agree on a night target.
+     */
+    public MafiaConsensus getMafiaConsensus() {
+        return mafiaConsensus;
+    }
+
+    /**
+     * Gets the time the night's actions may take before unfinished ones are
+     * cancelled. 0 means no deadline.
+     */
+    public long getNightDeadlineMs() {
+        return nightDeadlineMs;
+    }
+
+    /**
+     * Gets the time each parallel voting round (nomination, judgment) may take
+     * before missing votes are cancelled. 0 means no deadline.
+     */
+    public long getVoteDeadlineMs() {
+        return voteDeadlineMs;
+    }
+
+    /**
+     * Gets how much public history is embedded in prompts.
+     */
+    public HistoryStrategy getHistoryStrategy() {
+        return historyStrategy;
+    }
+
+    /**
+     * Gets the number of recent entries kept by the WINDOW history strategy.
+     */
+    public int getHistoryWindow() {
+        return historyWindow;
+    }
+
     public int getMaxRetries() {
         return maxRetries;
     }
@@ -255,10 +551,201 @@ public final class GameConfig {
         return retryDelayMs;
     }
 
+    /**
+     * Gets the largest backoff between retries, unless the provider asks for more.
+     */
+    public long getRetryMaxDelayMs() {
+        return retryMaxDelayMs;
+    }
+
+    /**
+     * Gets the total time budget of one query, including all retries.
+     */
+    public long getRetryDeadlineMs() {
+        return retryDeadlineMs;
+    }
+
+    /**
+     * Gets the largest max_tokens of a request; it is lowered further to fit
+     * the model's context window.
+     */
     public int getMaxTokens() {
         return maxTokens;
     }
 
+    /**
+     * Gets the file of per-model context windows, empty for the bundled table.
+     */
+    public String getContextFile() {
+        return contextFile;
+    }
+
+    /**
+     * Gets the answer schema of nomination and judgment votes.
+     */
+    public ResponseSchema getVoteSchema() {
+        return voteSchema;
+    }
+
+    /**
+     * Gets the max_tokens of nomination and judgment votes.
+     */
+    public int getVoteMaxTokens() {
+        return voteMaxTokens;
+    }
+
+    /**
+     * Gets the reasoning effort of nomination and judgment votes, empty for
+     * the model's default.
+     */
+    public String getVoteReasoningEffort() {
+        return voteReasoningEffort;
+    }
+
+    /**
+     * Gets the answer schema of Sheriff and Doctor night actions.
+     */
+    public ResponseSchema getNightSchema() {
+        return nightSchema;
+    }
+
+    /**
+     * Gets the max_tokens of Sheriff and Doctor night actions.
+     */
+    public int getNightMaxTokens() {
+        return nightMaxTokens;
+    }
+
+    /**
+     * Gets the reasoning effort of Sheriff and Doctor night actions, empty
+     * for the model's default.
+     */
+    public String getNightReasoningEffort() {
+        return nightReasoningEffort;
+    }
+
+    /**
+     * Gets the answer schema of Mafia kill votes.
+     */
+    public ResponseSchema getMafiaSchema() {
+        return mafiaSchema;
+    }
+
+    /**
+     * Gets the max_tokens of Mafia kill votes.
+     */
+    public int getMafiaMaxTokens() {
+        return mafiaMaxTokens;
+    }
+
+    /**
+     * Gets the reasoning effort of Mafia kill votes, empty for the model's
+     * default.
+     */
+    public String getMafiaReasoningEffort() {
+        return mafiaReasoningEffort;
+    }
+
+    /**
+     * Gets the reasoning effort of discussion and defense speeches, empty for
+     * the model's default.
+     */
+    public String getSpeechReasoningEffort() {
+        return speechReasoningEffort;
+    }
+
+    /**
+     * Whether requests carry cache_control markers for provider prompt caching.
+     */
+    public boolean isPromptCachingEnabled() {
+        return promptCachingEnabled;
+    }
+
+    /**
+     * Whether responses are streamed and parsed as they arrive.
+     */
+    public boolean isStreamingEnabled() {
+        return streamingEnabled;
+    }
+
+    /**
+     * Whether calls are routed through per-model circuit breakers.
+     */
+    public boolean isCircuitBreakerEnabled() {
+        return circuitBreakerEnabled;
+    }
+
+    /**
+     * Gets the number of recent calls a model's failure rate is computed over.
+     */
+    public int getCircuitWindow() {
+        return circuitWindow;
+    }
+
+    /**
+     * Gets the number of calls in the window before a breaker can open.
+     */
+    public int getCircuitMinimumCalls() {
+        return circuitMinimumCalls;
+    }
+
+    /**
+     * Gets the share of failed or slow calls that opens a breaker.
+     */
+    public double getCircuitFailureRate() {
+        return circuitFailureRate;
+    }
+
+    /**
+     * Gets the latency at which a call counts as failed.
+     */
+    public long getCircuitSlowCallMs() {
+        return circuitSlowCallMs;
+    }
+
+    /**
+     * Gets how long an open breaker rejects calls before probing the model again.
+     */
+    public long getCircuitOpenMs() {
+        return circuitOpenMs;
+    }
+
+    /**
+     * Gets the number of successful probes that close a half-open breaker.
+     */
+    public int getCircuitHalfOpenProbes() {
+        return circuitHalfOpenProbes;
+    }
+
+    /**
+     * Gets the models, in order of preference, that take over calls for a
+     * model whose breaker is open. Empty means no fallback.
+     */
+    public List<String> getFallbackModels() {
+        return fallbackModels;
+    }
+
+    /**
+     * Gets the requests per minute allowed per model, 0 for unlimited.
+     */
+    public int getRateLimitRequestsPerMinute() {
+        return rateLimitRequestsPerMinute;
+    }
+
+    /**
+     * Gets the estimated prompt tokens per minute allowed per model, 0 for unlimited.
+     */
+    public int getRateLimitTokensPerMinute() {
+        return rateLimitTokensPerMinute;
+    }
+
+    /**
+     * Gets the number of concurrent requests allowed per model, 0 for unlimited.
+     */
+    public int getRateLimitMaxInFlight() {
+        return rateLimitMaxInFlight;
+    }
+
     /**
      * Gets the list of player numbers that should be Mafia.
      * Empty list means random assignment.
@@ -283,16 +770,177 @@ public final class GameConfig {
         return fixedSheriffPlayer;
     }
 
+    /**
+     * Whether answers to identical queries are served from the response cache.
+     */
+    public boolean isResponseCacheEnabled() {
+        return responseCacheEnabled;
+    }
+
+    /**
+     * Gets the number of answers the response cache keeps in memory.
+     */
+    public int getResponseCacheMemoryEntries() {
+        return responseCacheMemoryEntries;
+    }
+
+    /**
+     * Gets the directory of the response cache's disk tier, empty for memory only.
+     */
+    public String getResponseCacheDir() {
+        return responseCacheDir;
+    }
+
+    /**
+     * Gets the upper bound of the response cache's disk use in megabytes, 0 for memory only.
+     */
+    public long getResponseCacheDiskMaxMb() {
+        return responseCacheDiskMaxMb;
+    }
+
+    /**
+     * Whether slow vote and night-action calls are duplicated.
+     */
+    public boolean isHedgingEnabled() {
+        return hedgingEnabled;
+    }
+
+    /**
+     * Gets the latency percentile (0-1) of a model after which its call is hedged.
+     */
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    /**
+     * Gets the shortest wait before a call is hedged.
+     */
+    public long getHedgeMinDelayMs() {
+        return hedgeMinDelayMs;
+    }
+
+    /**
+     * Gets the largest share of calls (0-1) that may be hedged.
+     */
+    public double getHedgeMaxRate() {
+        return hedgeMaxRate;
+    }
+
+    /**
+     * Gets the model hedges are sent to, empty for the player's own model.
+     */
+    public String getHedgeModel() {
+        return hedgeModel;
+    }
+
+    /**
+     * Gets the file of per-model token prices, empty for the bundled table.
+     */
+    public String getPriceFile() {
+        return priceFile;
+    }
+
+    /**
+     * Gets the spending limit of one game in USD, 0 for none.
+     */
+    public double getGameBudgetUsd() {
+        return gameBudgetUsd;
+    }
+
+    /**
+     * Gets the spending limit of a whole tournament in USD, 0 for none.
+     */
+    public double getTournamentBudgetUsd() {
+        return tournamentBudgetUsd;
+    }
+
+    /**
+     * Gets what happens once a budget is spent.
+     */
+    public BudgetAction getBudgetAction() {
+        return budgetAction;
+    }
+
+    /**
+     * Gets the model used once a budget is spent with the DOWNGRADE action.
+     */
+    public String getBudgetDowngradeModel() {
+        return budgetDowngradeModel;
+    }
+
+    /**
+     * Whether spending a budget stops play, rather than downgrading the model.
+     */
+    public boolean isBudgetStop() {
+        return budgetAction == BudgetAction.STOP || budgetDowngradeModel.isEmpty();
+    }
+
+    /**
+     * Whether a structured JSONL event journal is written next to the game log.
+     */
+    public boolean isJournalEnabled() {
+        return journalEnabled;
+    }
+
+    /**
+     * Gets whether LLM exchanges are recorded, replayed, or neither.
+     */
+    public ReplayMode getReplayMode() {
+        return replayMode;
+    }
+
+    /**
+     * Gets the recording to replay in REPLAY mode.
+     */
+    public String getReplayFile() {
+        return replayFile;
+    }
+
+    /**
+     * Gets the number of games to play in tournament mode.
+     * Zero means a single regular game.
+     */
+    public int getTournamentGames() {
+        return tournamentGames;
+    }
+
+    /**
+     * Gets the maximum number of tournament games running at the same time.
+     */
+    public int getTournamentParallelism() {
+        return tournamentParallelism;
+    }
+
+    /**
+     * Gets the base seed for tournament role assignment.
+     * Null means a seed is picked at startup.
+     */
+    public Long getTournamentSeed() {
+        return tournamentSeed;
+    }
+
+    /**
+     * Whether tournament games honour the fixed role assignments.
+     * When false, every game draws its roles from its own seed.
+     */
+    public boolean isTournamentUseFixedRoles() {
+        return tournamentUseFixedRoles;
+    }
+
     /**
      * Validates that required configuration is present.
      *
      * @return true if configuration is valid
      */
     public boolean isValid() {
-        if (openRouterApiKey == null || openRouterApiKey.isBlank()) {
+        if (requiresApiKey() && (openRouterApiKey == null || openRouterApiKey.isBlank())) {
             logger.error("OpenRouter API key is not configured");
             return false;
         }
+        if (replayMode == ReplayMode.REPLAY && replayFile.isEmpty()) {
+            logger.error("Replay mode requires replay.file");
+            return false;
+        }
         if (playerCount < 5) {
             logger.error("Player count must be at least 5");
             return false;
@@ -301,14 +949,57 @@ public final class GameConfig {
             logger.error("Mafia count must be between 1 and less than half of players");
             return false;
         }
+        if (tournamentGames > 0 && tournamentParallelism < 1) {
+            logger.error("Tournament parallelism must be at least 1");
+            return false;
+        }
         if (playerModels.size() < playerCount) {
             logger.error("Not all players have models configured. Expected {}, found {}",
                     playerCount, playerModels.size());
             return false;
         }
+        if (circuitBreakerEnabled && (circuitWindow < 1 || circuitMinimumCalls < 1
+                || circuitMinimumCalls > circuitWindow)) {
+            logger.error("Circuit minimum calls must be between 1 and the window size {}, found {}",
+                    circuitWindow, circuitMinimumCalls);
+            return false;
+        }
+        if (circuitBreakerEnabled && (circuitFailureRate <= 0 || circuitFailureRate > 1)) {
+            logger.error("Circuit failure rate must be above 0 and at most 1, found {}", circuitFailureRate);
+            return false;
+        }
+        if (circuitBreakerEnabled && (circuitSlowCallMs < 1 || circuitOpenMs < 0 || circuitHalfOpenProbes < 1)) {
+            logger.error("Circuit slow-call threshold and half-open probes must be at least 1, open time at least 0");
+            return false;
+        }
+        if (rateLimitRequestsPerMinute < 0 || rateLimitTokensPerMinute < 0 || rateLimitMaxInFlight < 0) {
+            logger.error("Rate limits cannot be negative");
+            return false;
+        }
+        if (hedgingEnabled && (hedgePercentile <= 0 || hedgePercentile > 1)) {
+            logger.error("Hedge percentile must be above 0 and at most 1, found {}", hedgePercentile);
+            return false;
+        }
+        if (hedgingEnabled && hedgeMinDelayMs < 0) {
+            logger.error("Hedge minimum delay cannot be negative");
+            return false;
+        }
+        if (hedgingEnabled && (hedgeMaxRate < 0 || hedgeMaxRate > 1)) {
+            logger.error("Hedge max rate must be between 0 and 1, found {}", hedgeMaxRate);
+            return false;
+        }
         return true;
     }
 
+    /**
+     * Checks whether this configuration sends requests to OpenRouter.
+     *
+     * @return false for the synthetic backend and for replays
+     */
+    public boolean requiresApiKey() {
+        return llmBackend == LLMBackend.OPENROUTER && replayMode != ReplayMode.REPLAY;
+    }
+
     @Override
     public String toString() {
         return String.format("GameConfig{players=%d, mafia=%d, models=%s, revealRoles=%s}",
@@ -0,0 +1,22 @@
+package com.aimafia.config;
+
+/**
+ * Controls how much of the public game history is embedded in prompts.
+ */
+public enum HistoryStrategy {
+    /**
+     * The complete public log. Grows with every event.
+     */
+    FULL,
+
+    /**
+     * Only the last N entries of the public log.
+     */
+    WINDOW,
+
+    /**
+     * A condensed summary of every finished day, followed by the current day in
+     * full. Each day is summarised once, after it ends, and reused afterwards.
+     */
+    SUMMARY
+}
@@ -0,0 +1,16 @@
+package com.aimafia.config;
+
+/**
+ * Selects the backend that answers player prompts.
+ */
+public enum LLMBackend {
+    /**
+     * The OpenRouter chat completions API.
+     */
+    OPENROUTER,
+
+    /**
+     * The in-process {@link SyntheticLLMService}, for load testing without an API.
+     */
+    SYNTHETIC
+}
@@ -0,0 +1,12 @@
+package com.aimafia.config;
+
+/**
+ * Shape of the simulated per-attempt latency of the synthetic backend.
+ */
+public enum LatencyDistribution {
+    NONE,
+    FIXED,
+    UNIFORM,
+    EXPONENTIAL,
+    LOG_NORMAL
+}
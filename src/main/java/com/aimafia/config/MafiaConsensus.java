@@ -0,0 +1,19 @@
+package com.aimafia.config;
+
+/**
+ * How the Mafia agree on a night target.
+ */
+public enum MafiaConsensus {
+    /**
+     * Members vote one after another, each seeing the votes before it. Costs
+     * one round-trip per member, plus a tie-breaker round if needed.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Members propose targets in parallel without seeing each other, then
+     * ratify in parallel over all proposals if they disagree. Costs at most
+     * two round-trips regardless of the number of members.
+     */
+    PARALLEL
+}
@@ -0,0 +1,22 @@
+package com.aimafia.config;
+
+/**
+ * Controls whether LLM exchanges are recorded to, or served from, a response store.
+ */
+public enum ReplayMode {
+    /**
+     * Every request goes to the API and nothing is stored.
+     */
+    OFF,
+
+    /**
+     * Every request goes to the API and each request/response pair is written
+     * next to the game log together with the game seed.
+     */
+    RECORD,
+
+    /**
+     * No request leaves the process; responses are served from a recording.
+     */
+    REPLAY
+}
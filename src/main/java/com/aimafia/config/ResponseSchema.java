@@ -0,0 +1,48 @@
+package com.aimafia.config;
+
+/**
+ * The fields a model is asked to answer with. Fewer fields mean fewer output
+ * tokens, which are the slowest and most expensive part of a call.
+ */
+public enum ResponseSchema {
+    /**
+     * Reasoning, a public message and the action; for speeches.
+     */
+    FULL(true, true),
+
+    /**
+     * A short reasoning and the action; for votes whose reason is passed on.
+     */
+    BRIEF(true, false),
+
+    /**
+     * The action alone; for votes and night actions.
+     */
+    ACTION(false, false);
+
+    private final boolean thought;
+    private final boolean message;
+
+    ResponseSchema(boolean thought, boolean message) {
+        this.thought = thought;
+        this.message = message;
+    }
+
+    /**
+     * Checks whether answers carry the model's reasoning.
+     *
+     * @return true for FULL and BRIEF
+     */
+    public boolean hasThought() {
+        return thought;
+    }
+
+    /**
+     * Checks whether answers carry a public message.
+     *
+     * @return true for FULL
+     */
+    public boolean hasMessage() {
+        return message;
+    }
+}
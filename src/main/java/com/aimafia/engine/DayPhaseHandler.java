@@ -1,7 +1,8 @@
 package com.aimafia.engine;
 
 import com.aimafia.ai.LLMResponse;
-import com.aimafia.ai.OpenRouterService;
+import com.aimafia.ai.LLMService;
+import com.aimafia.ai.Prompt;
 import com.aimafia.config.GameConfig;
 import com.aimafia.model.GameState;
 import com.aimafia.model.Phase;
@@ -12,23 +13,34 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Handles the day discussion phase.
  * Players speak sequentially in random order, with each seeing previous
- * statements.
+ * statements. With a lookahead of N, a speaker's request is sent while up to
+ * N earlier speakers are still answering, so it may miss their statements;
+ * statements are still committed in speaking order.
  */
 public class DayPhaseHandler {
     private static final Logger logger = LoggerFactory.getLogger(DayPhaseHandler.class);
 
-    private final OpenRouterService aiService;
+    private final LLMService aiService;
     private final GameLogger gameLogger;
     private final GameConfig config;
+    private final int lookahead;
 
-    public DayPhaseHandler(OpenRouterService aiService, GameLogger gameLogger) {
+    public DayPhaseHandler(LLMService aiService, GameLogger gameLogger) {
+        this(aiService, gameLogger, GameConfig.getInstance().getDiscussionLookahead());
+    }
+
+    DayPhaseHandler(LLMService aiService, GameLogger gameLogger, int lookahead) {
         this.aiService = aiService;
         this.gameLogger = gameLogger;
         this.config = GameConfig.getInstance();
+        this.lookahead = Math.max(0, lookahead);
     }
 
     /**
@@ -59,43 +71,62 @@ public class DayPhaseHandler {
 
         state.addToPublicLog("--- Discussion Round " + roundNumber + " ---");
 
-        for (Player speaker : speakers) {
-            try {
-                String prompt = aiService.getPromptBuilder()
-                        .buildDiscussionPrompt(speaker, state, roundStatements);
-
-                LLMResponse response = aiService.query(speaker, state, prompt);
-
-                // Log private thought
-                if (response.thought() != null && !response.thought().isBlank()) {
-                    gameLogger.logPrivateThought(speaker, response.thought());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<LLMResponse>> responses = new ArrayList<>(speakers.size());
+            for (int i = 0; i < speakers.size(); i++) {
+                // Send the requests of up to `lookahead` later speakers with the statements committed so far
+                while (responses.size() < speakers.size() && responses.size() <= i + lookahead) {
+                    Player next = speakers.get(responses.size());
+                    Prompt prompt = aiService.getPromptBuilder()
+                            .buildDiscussionPrompt(next, state, roundStatements);
+                    responses.add(executor.submit(() -> aiService.query(next, state, prompt)));
                 }
+                commitStatement(state, speakers.get(i), responses.get(i), roundStatements);
+            }
+        }
+    }
 
-                // Handle public message
-                String message = response.message();
-                if (message != null && !message.isBlank()) {
-                    // Clean up the message (remove quotes if present)
-                    message = cleanMessage(message);
-
-                    String formattedStatement = speaker.getId() + ": \"" + message + "\"";
-                    roundStatements.add(formattedStatement);
-                    state.addRawToPublicLog(formattedStatement);
-                    gameLogger.logMessage(speaker, message);
-
-                    // Add to speaker's context so they remember what they said
-                    speaker.addToContext("You said: \"" + message + "\"");
-                } else {
-                    String silentNote = speaker.getId() + " remained silent.";
-                    roundStatements.add(silentNote);
-                    state.addRawToPublicLog(silentNote);
-                    logger.debug("{} chose not to speak", speaker.getId());
-                }
+    /**
+     * Waits for a speaker's answer and adds their statement to the round.
+     */
+    private void commitStatement(GameState state, Player speaker, Future<LLMResponse> pending,
+            List<String> roundStatements) {
+        try {
+            LLMResponse response = pending.get();
+
+            // Log private thought
+            if (response.thought() != null && !response.thought().isBlank()) {
+                gameLogger.logPrivateThought(speaker, response.thought());
+            }
 
-            } catch (Exception e) {
-                logger.error("Error during discussion for {}: {}", speaker.getId(), e.getMessage());
-                String errorNote = speaker.getId() + " experienced an error and could not speak.";
-                roundStatements.add(errorNote);
+            // Handle public message
+            String message = response.message();
+            if (message != null && !message.isBlank()) {
+                // Clean up the message (remove quotes if present)
+                message = cleanMessage(message);
+
+                String formattedStatement = speaker.getId() + ": \"" + message + "\"";
+                roundStatements.add(formattedStatement);
+                state.addRawToPublicLog(formattedStatement);
+                gameLogger.logMessage(speaker, message);
+
+                // Add to speaker's context so they remember what they said
+                speaker.addToContext("You said: \"" + message + "\"");
+            } else {
+                String silentNote = speaker.getId() + " remained silent.";
+                roundStatements.add(silentNote);
+                state.addRawToPublicLog(silentNote);
+                logger.debug("{} chose not to speak", speaker.getId());
             }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while waiting for {} to speak", speaker.getId());
+            roundStatements.add(speaker.getId() + " experienced an error and could not speak.");
+        } catch (Exception e) {
+            logger.error("Error during discussion for {}: {}", speaker.getId(), e.getMessage());
+            String errorNote = speaker.getId() + " experienced an error and could not speak.";
+            roundStatements.add(errorNote);
         }
     }
 
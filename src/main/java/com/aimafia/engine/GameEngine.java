@@ -1,7 +1,12 @@
 package com.aimafia.engine;
 
+import com.aimafia.ai.LLMService;
 import com.aimafia.ai.OpenRouterService;
+import com.aimafia.ai.ResponseStore;
+import com.aimafia.ai.SyntheticLLMService;
 import com.aimafia.config.GameConfig;
+import com.aimafia.config.LLMBackend;
+import com.aimafia.config.ReplayMode;
 import com.aimafia.model.GameState;
 import com.aimafia.model.Phase;
 import com.aimafia.model.Player;
@@ -18,6 +23,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
 
 /**
@@ -28,7 +35,7 @@ public class GameEngine {
     private static final Logger logger = LoggerFactory.getLogger(GameEngine.class);
 
     private final GameState state;
-    private final OpenRouterService aiService;
+    private final LLMService aiService;
     private final ActionValidator validator;
     private final GameLogger gameLogger;
     private final GameConfig config;
@@ -36,33 +43,82 @@ public class GameEngine {
     private final NightPhaseHandler nightHandler;
     private final DayPhaseHandler dayHandler;
     private final VotingHandler votingHandler;
+    private final TokenTracker tokenTracker;
+    private final long seed;
+    private final Random random;
+    private final boolean useFixedRoles;
+    private volatile boolean finished;
 
     public GameEngine() {
         this.config = GameConfig.getInstance();
-        this.state = new GameState();
-        this.aiService = new OpenRouterService();
+        this.seed = new Random().nextLong();
+        this.random = new Random(seed);
+        this.state = new GameState(random);
         this.validator = new ActionValidator();
         this.gameLogger = new GameLogger();
+        this.tokenTracker = TokenTracker.getInstance();
+        this.aiService = config.getLlmBackend() == LLMBackend.SYNTHETIC
+                ? new SyntheticLLMService(config, tokenTracker, seed)
+                : new OpenRouterService();
+        this.useFixedRoles = true;
         this.winChecker = new WinConditionChecker();
         this.nightHandler = new NightPhaseHandler(aiService, validator, gameLogger);
         this.dayHandler = new DayPhaseHandler(aiService, gameLogger);
-        this.votingHandler = new VotingHandler(aiService, validator, gameLogger);
+        this.votingHandler = new VotingHandler(aiService, validator, gameLogger,
+                config.isNightSpeculationEnabled() ? nightHandler : null);
+        aiService.setJournal(gameLogger.getJournal());
     }
 
     /**
      * Constructor for testing with injected dependencies.
      */
-    public GameEngine(GameState state, OpenRouterService aiService,
+    public GameEngine(GameState state, LLMService aiService,
             ActionValidator validator, GameLogger gameLogger) {
         this.config = GameConfig.getInstance();
         this.state = state;
         this.aiService = aiService;
         this.validator = validator;
         this.gameLogger = gameLogger;
+        this.tokenTracker = TokenTracker.getInstance();
+        this.seed = new Random().nextLong();
+        this.random = new Random(seed);
+        this.useFixedRoles = true;
         this.winChecker = new WinConditionChecker();
         this.nightHandler = new NightPhaseHandler(aiService, validator, gameLogger);
         this.dayHandler = new DayPhaseHandler(aiService, gameLogger);
-        this.votingHandler = new VotingHandler(aiService, validator, gameLogger);
+        this.votingHandler = new VotingHandler(aiService, validator, gameLogger,
+                config.isNightSpeculationEnabled() ? nightHandler : null);
+        aiService.setJournal(gameLogger.getJournal());
+    }
+
+    /**
+     * Creates an engine for one game of a tournament.
+     * The game owns its state, logger and token tracker, so several engines
+     * can run concurrently without sharing mutable state.
+     *
+     * @param aiService     The backend reporting to this game's token tracker
+     * @param gameLogger    The logger for this game
+     * @param tokenTracker  The token tracker for this game
+     * @param seed          Seed for role assignment
+     * @param useFixedRoles Whether to honour fixed role assignments from config
+     */
+    public GameEngine(LLMService aiService, GameLogger gameLogger,
+            TokenTracker tokenTracker, long seed, boolean useFixedRoles) {
+        this.config = GameConfig.getInstance();
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.state = new GameState(random);
+        this.aiService = aiService;
+        this.validator = new ActionValidator();
+        this.gameLogger = gameLogger;
+        this.tokenTracker = tokenTracker;
+        this.useFixedRoles = useFixedRoles;
+        this.winChecker = new WinConditionChecker();
+        this.nightHandler = new NightPhaseHandler(aiService, validator, gameLogger);
+        this.dayHandler = new DayPhaseHandler(aiService, gameLogger);
+        this.votingHandler = new VotingHandler(aiService, validator, gameLogger,
+                config.isNightSpeculationEnabled() ? nightHandler : null);
+        aiService.setJournal(gameLogger.getJournal());
     }
 
     /**
@@ -71,23 +127,26 @@ public class GameEngine {
     public void run() {
         logger.info("=== AI MAFIA GAME STARTING ===");
         gameLogger.logPublicEvent("Game starting with " + config.getPlayerCount() + " players");
+        ResponseStore recorder = openRecorder();
+        aiService.warmUp();
 
         try {
             // Initialize players with roles
             initializePlayers();
+            gameLogger.logGameStart(state, seed);
 
             // Display initial setup
             displayGameSetup();
 
             // Main game loop
-            while (!winChecker.isGameOver(state)) {
+            while (!isOver()) {
                 logger.info("\n{}", winChecker.getGameStatus(state));
 
                 // Night Phase
                 executeNightPhase();
 
                 // Check win condition after night
-                if (winChecker.isGameOver(state)) {
+                if (isOver()) {
                     break;
                 }
 
@@ -95,7 +154,7 @@ public class GameEngine {
                 dayHandler.execute(state);
 
                 // Check win condition (in case discussion changes something)
-                if (winChecker.isGameOver(state)) {
+                if (isOver()) {
                     break;
                 }
 
@@ -103,7 +162,7 @@ public class GameEngine {
                 votingHandler.execute(state);
 
                 // Check win condition after voting
-                if (winChecker.isGameOver(state)) {
+                if (isOver()) {
                     break;
                 }
 
@@ -111,15 +170,61 @@ public class GameEngine {
                 state.incrementDay();
             }
 
+            // Streamed answers may still be delivering their usage
+            aiService.awaitPendingUsage();
+
             // Game ended
-            displayResults();
+            if (winChecker.isGameOver(state)) {
+                finished = true;
+                displayResults();
+            } else {
+                logger.warn("Budget spent, game stopped on day {} without a winner", state.getDayNumber());
+                gameLogger.logPublicEvent("Game stopped: budget spent");
+                tokenTracker.logSummary();
+            }
 
         } catch (Exception e) {
             logger.error("Fatal error during game: {}", e.getMessage(), e);
             gameLogger.logError("Game crashed", e);
+        } finally {
+            nightHandler.cancelSpeculation();
+            if (recorder != null) {
+                recorder.close();
+                logger.info("Recorded API exchanges to {}", recorder.getFilePath());
+            }
+            gameLogger.close();
         }
     }
 
+    /**
+     * Checks whether the game has a winner, or must stop because the budget
+     * of the game or its tournament is spent. Replays always run to the end.
+     */
+    private boolean isOver() {
+        return winChecker.isGameOver(state) || (config.isBudgetStop() && tokenTracker.isOverBudget()
+                && config.getReplayMode() != ReplayMode.REPLAY);
+    }
+
+    /**
+     * Starts recording API exchanges next to the game log when RECORD mode is
+     * on and no store was attached by the caller.
+     *
+     * @return The recording store owned by this run, or null
+     */
+    private ResponseStore openRecorder() {
+        if (config.getReplayMode() != ReplayMode.RECORD
+                || !(aiService instanceof OpenRouterService openRouter)
+                || openRouter.hasResponseStore()) {
+            return null;
+        }
+        String logName = gameLogger.getLogFilePath().getFileName().toString();
+        String recordingName = logName.replaceFirst("\\.log$", "") + ".responses.jsonl";
+        ResponseStore recorder = ResponseStore.record(
+                gameLogger.getLogFilePath().resolveSibling(recordingName), seed, useFixedRoles);
+        openRouter.setResponseStore(recorder);
+        return recorder;
+    }
+
     /**
      * Initializes players with their roles and models.
      * Role distribution: configurable Mafia, 1 Sheriff, 1 Doctor, remaining
@@ -161,9 +266,9 @@ public class GameEngine {
         Set<Integer> assignedPlayers = new HashSet<>();
 
         // First, handle fixed assignments
-        List<Integer> fixedMafia = config.getFixedMafiaPlayers();
-        Integer fixedDoctor = config.getFixedDoctorPlayer();
-        Integer fixedSheriff = config.getFixedSheriffPlayer();
+        List<Integer> fixedMafia = useFixedRoles ? config.getFixedMafiaPlayers() : List.of();
+        Integer fixedDoctor = useFixedRoles ? config.getFixedDoctorPlayer() : null;
+        Integer fixedSheriff = useFixedRoles ? config.getFixedSheriffPlayer() : null;
 
         // Assign fixed Mafia players
         for (Integer playerNum : fixedMafia) {
@@ -226,7 +331,7 @@ public class GameEngine {
         }
 
         // Shuffle remaining roles
-        Collections.shuffle(remainingRoles);
+        Collections.shuffle(remainingRoles, random);
 
         // Assign remaining roles to unassigned players
         int roleIndex = 0;
@@ -278,6 +383,9 @@ public class GameEngine {
         String publicSummary = result.getPublicSummary(config.isRevealRolesOnDeath());
         state.addRawToPublicLog("[Night " + state.getDayNumber() + "] " + publicSummary);
         gameLogger.logPublicEvent(state, publicSummary);
+        if (result.hasDeath()) {
+            gameLogger.logDeath(result.victim(), "Killed by the Mafia", config.isRevealRolesOnDeath());
+        }
 
         // Update all players' context with night result
         for (Player player : state.getAlivePlayers()) {
@@ -313,11 +421,32 @@ public class GameEngine {
         gameLogger.logGameEnd(winner.name(), state);
 
         // Display token usage
-        TokenTracker.getInstance().logSummary();
+        tokenTracker.logSummary();
 
         logger.info("Game log saved to: {}", gameLogger.getLogFilePath());
     }
 
+    /**
+     * Gets the winning team once the game is over.
+     *
+     * @return The winner, or empty if the game did not finish
+     */
+    public Optional<WinConditionChecker.Team> getWinner() {
+        if (!finished) {
+            return Optional.empty();
+        }
+        return winChecker.checkWinner(state);
+    }
+
+    /**
+     * Gets the token tracker used by this game.
+     *
+     * @return The token tracker
+     */
+    public TokenTracker getTokenTracker() {
+        return tokenTracker;
+    }
+
     /**
      * Gets the current game state (for testing).
      *
@@ -1,8 +1,10 @@
 package com.aimafia.engine;
 
 import com.aimafia.ai.LLMResponse;
-import com.aimafia.ai.OpenRouterService;
+import com.aimafia.ai.LLMService;
+import com.aimafia.ai.Prompt;
 import com.aimafia.config.GameConfig;
+import com.aimafia.config.MafiaConsensus;
 import com.aimafia.model.GameState;
 import com.aimafia.model.Phase;
 import com.aimafia.model.Player;
@@ -13,28 +15,141 @@ import com.aimafia.validation.ActionValidator.ValidationResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Handles the night phase of the game.
- * Mafia operates sequentially (for consensus), while Sheriff and Doctor operate
- * in parallel.
+ * Mafia reach consensus sequentially or in parallel rounds (see
+ * {@link MafiaConsensus}), while Sheriff and Doctor operate in parallel.
+ * Roles that decide with a single query can be started early with
+ * {@link #speculate(GameState)}. Actions still running at the night deadline
+ * are cancelled and do nothing.
  */
 public class NightPhaseHandler {
     private static final Logger logger = LoggerFactory.getLogger(NightPhaseHandler.class);
 
-    private final OpenRouterService aiService;
+    private final LLMService aiService;
     private final ActionValidator validator;
     private final GameLogger gameLogger;
     private final GameConfig config;
+    private final MafiaConsensus mafiaConsensus;
+    private final WinConditionChecker winChecker = new WinConditionChecker();
 
-    public NightPhaseHandler(OpenRouterService aiService, ActionValidator validator,
+    // Night queries started before the night, by player ID
+    private final Map<String, SpeculativeQuery> speculativeQueries = new ConcurrentHashMap<>();
+
+    private record SpeculativeQuery(Prompt prompt, Future<LLMResponse> response) {
+    }
+
+    @FunctionalInterface
+    private interface NightPrompt {
+        Prompt build(Player player, GameState state, int night);
+    }
+
+    public NightPhaseHandler(LLMService aiService, ActionValidator validator,
             GameLogger gameLogger) {
+        this(aiService, validator, gameLogger, GameConfig.getInstance().getMafiaConsensus());
+    }
+
+    NightPhaseHandler(LLMService aiService, ActionValidator validator,
+            GameLogger gameLogger, MafiaConsensus mafiaConsensus) {
         this.aiService = aiService;
         this.validator = validator;
         this.gameLogger = gameLogger;
         this.config = GameConfig.getInstance();
+        this.mafiaConsensus = mafiaConsensus;
+    }
+
+    /**
+     * Starts the next night's queries for the Sheriff, the Doctor and a lone
+     * Mafia member, whose night prompts do not depend on anything decided
+     * during the night. Call once the day's verdict is applied, before the day
+     * number advances; the prompts are built for the following night. When
+     * the night runs, a speculative answer is used only if the prompt rebuilt
+     * from the state at that point is identical; otherwise it is discarded
+     * and the player is queried again. Nothing is started if the verdict
+     * ended the game.
+     *
+     * @param state The game state after the day's verdict
+     */
+    public void speculate(GameState state) {
+        cancelSpeculation();
+        if (winChecker.isGameOver(state)) {
+            return;
+        }
+
+        int night = state.getDayNumber() + 1;
+        startSpeculativeQuery(firstAlive(state, Role.SHERIFF), state, night, this::sheriffPrompt);
+        startSpeculativeQuery(firstAlive(state, Role.DOCTOR), state, night, this::doctorPrompt);
+        List<Player> aliveMafia = state.getAliveMafia();
+        if (aliveMafia.size() == 1) {
+            startSpeculativeQuery(aliveMafia.get(0), state, night, this::loneMafiaPrompt);
+        }
+    }
+
+    private void startSpeculativeQuery(Player player, GameState state, int night, NightPrompt promptFactory) {
+        if (player == null) {
+            return;
+        }
+        Prompt prompt = promptFactory.build(player, state, night);
+        FutureTask<LLMResponse> task = new FutureTask<>(() -> aiService.query(player, state, prompt));
+        Thread.ofVirtual().name("speculative-night-" + player.getId()).start(task);
+        speculativeQueries.put(player.getId(), new SpeculativeQuery(prompt, task));
+        logger.debug("Started speculative night action for {}", player.getId());
+    }
+
+    /**
+     * Cancels speculative queries that were not used.
+     */
+    public void cancelSpeculation() {
+        for (SpeculativeQuery query : speculativeQueries.values()) {
+            query.response().cancel(true);
+        }
+        speculativeQueries.clear();
+    }
+
+    /**
+     * Counts speculative queries not yet used or cancelled. Package-private
+     * for tests.
+     */
+    int pendingSpeculations() {
+        return speculativeQueries.size();
+    }
+
+    /**
+     * Queries a player, using the speculative answer if it was asked with the
+     * same prompt.
+     */
+    private LLMResponse query(Player player, GameState state, Prompt prompt) {
+        SpeculativeQuery speculative = speculativeQueries.remove(player.getId());
+        if (speculative != null) {
+            if (speculative.prompt().equals(prompt)) {
+                try {
+                    LLMResponse response = speculative.response().get();
+                    logger.debug("Using speculative night action for {}", player.getId());
+                    return response;
+                } catch (ExecutionException | CancellationException e) {
+                    logger.warn("Speculative night action for {} failed: {}", player.getId(), e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    speculative.response().cancel(true);
+                    return LLMResponse.fallback("Night action interrupted");
+                }
+            } else {
+                speculative.response().cancel(true);
+                logger.info("Discarded speculative night action for {}: game state changed", player.getId());
+            }
+        }
+        return aiService.query(player, state, prompt);
+    }
+
+    private static Player firstAlive(GameState state, Role role) {
+        List<Player> players = state.getAlivePlayersByRole(role);
+        return players.isEmpty() ? null : players.get(0);
     }
 
     /**
@@ -49,51 +164,45 @@ public class NightPhaseHandler {
 
         logger.info("Starting night phase for day {}", state.getDayNumber());
 
-        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
-            // Start Sheriff and Doctor actions in parallel
-            Future<String> sheriffFuture = executor.submit(() -> executeSheriffAction(state));
-            Future<String> doctorFuture = executor.submit(() -> executeDoctorAction(state));
-
-            // Execute Mafia consensus (sequential within this thread)
-            String mafiaTarget = executeMafiaConsensus(state);
-
-            // Wait for Sheriff and Doctor
-            String sheriffTarget = null;
-            String doctorTarget = null;
-            String sheriffResult = null;
-
-            try {
-                sheriffTarget = sheriffFuture.get(120, TimeUnit.SECONDS);
-                if (sheriffTarget != null) {
-                    Player investigated = state.getPlayerById(sheriffTarget);
-                    if (investigated != null) {
-                        sheriffResult = investigated.isMafia() ? "MAFIA" : "TOWN";
-                        // Update Sheriff's context memory
-                        updateSheriffMemory(state, sheriffTarget, sheriffResult);
-                    }
-                }
-            } catch (Exception e) {
-                logger.error("Sheriff action failed: {}", e.getMessage());
-            }
+        String mafiaTarget;
+        String sheriffTarget;
+        String doctorTarget;
+        try (PhaseScope scope = new PhaseScope("Night", Duration.ofMillis(config.getNightDeadlineMs()))) {
+            // Sheriff, Doctor and Mafia act in parallel; whoever misses the deadline does nothing
+            Supplier<String> sheriff = scope.fork("Sheriff", () -> executeSheriffAction(state), null);
+            Supplier<String> doctor = scope.fork("Doctor", () -> executeDoctorAction(state), null);
+            Supplier<String> mafia = scope.fork("Mafia", () -> executeMafiaConsensus(state), null);
+            scope.join();
+
+            mafiaTarget = mafia.get();
+            sheriffTarget = sheriff.get();
+            doctorTarget = doctor.get();
+        } finally {
+            cancelSpeculation();
+        }
 
-            try {
-                doctorTarget = doctorFuture.get(120, TimeUnit.SECONDS);
-            } catch (Exception e) {
-                logger.error("Doctor action failed: {}", e.getMessage());
+        String sheriffResult = null;
+        if (sheriffTarget != null) {
+            Player investigated = state.getPlayerById(sheriffTarget);
+            if (investigated != null) {
+                sheriffResult = investigated.isMafia() ? "MAFIA" : "TOWN";
+                // Update Sheriff's context memory
+                updateSheriffMemory(state, sheriffTarget, sheriffResult);
             }
-
-            // Resolve the night
-            return resolveNight(state, mafiaTarget, doctorTarget, sheriffTarget, sheriffResult);
         }
+
+        // Resolve the night
+        return resolveNight(state, mafiaTarget, doctorTarget, sheriffTarget, sheriffResult);
     }
 
     /**
      * Executes the Mafia consensus mechanism.
-     * Round 1: Sequential voting with visibility of previous votes.
-     * Round 2 (if needed): Tie-breaker round.
+     * Round 1: Sequential voting with visibility of previous votes, or
+     * parallel proposals.
+     * Round 2 (if needed): Parallel tie-breaker round over the round 1 targets.
      */
     private String executeMafiaConsensus(GameState state) {
-        List<Player> aliveMafia = state.getAliveMafia();
+        List<Player> aliveMafia = new ArrayList<>(state.getAliveMafia());
 
         if (aliveMafia.isEmpty()) {
             logger.warn("No alive Mafia members");
@@ -105,34 +214,27 @@ public class NightPhaseHandler {
             return getSingleMafiaTarget(aliveMafia.get(0), state);
         }
 
-        // Round 1: Sequential voting
+        // Round 1: sequential votes or parallel proposals
         Map<String, Integer> voteCounts = new HashMap<>();
         Map<Player, String> votes = new LinkedHashMap<>();
         StringBuilder discussionHistory = new StringBuilder();
 
-        Collections.shuffle(aliveMafia);
-
-        for (Player mafioso : aliveMafia) {
-            String prompt = aiService.getPromptBuilder()
-                    .buildNightActionPrompt(mafioso, state, discussionHistory.toString());
+        Collections.shuffle(aliveMafia, state.getRandom());
 
-            LLMResponse response = aiService.query(mafioso, state, prompt);
-            gameLogger.logPrivateThought(mafioso, response.thought());
+        if (mafiaConsensus == MafiaConsensus.PARALLEL) {
+            // Everyone proposes at once; the proposals are merged in speaking order
+            Map<Player, LLMResponse> proposals = queryInParallel(state, aliveMafia,
+                    mafioso -> aiService.getPromptBuilder().buildNightActionPrompt(mafioso, state, ""));
+            for (Map.Entry<Player, LLMResponse> proposal : proposals.entrySet()) {
+                recordMafiaVote(state, proposal.getKey(), proposal.getValue(), votes, voteCounts, discussionHistory);
+            }
+        } else {
+            for (Player mafioso : aliveMafia) {
+                Prompt prompt = aiService.getPromptBuilder()
+                        .buildNightActionPrompt(mafioso, state, discussionHistory.toString());
 
-            String target = response.getTargetId();
-            if (target != null) {
-                ValidationResult validation = validator.validateTarget(mafioso, target, state);
-                if (validation.isValid()) {
-                    votes.put(mafioso, target);
-                    voteCounts.merge(target, 1, Integer::sum);
-                    discussionHistory.append(String.format("%s votes for %s: \"%s\"\n",
-                            mafioso.getId(), target,
-                            response.thought() != null ? response.thought() : "No reason given"));
-                    gameLogger.logAction(mafioso, "Mafia vote: " + target);
-                } else {
-                    logger.warn("Invalid Mafia target {} by {}: {}",
-                            target, mafioso.getId(), validation.errorMessage());
-                }
+                LLMResponse response = aiService.query(mafioso, state, prompt);
+                recordMafiaVote(state, mafioso, response, votes, voteCounts, discussionHistory);
             }
         }
 
@@ -148,6 +250,54 @@ public class NightPhaseHandler {
         return executeMafiaTieBreaker(state, aliveMafia, voteCounts, discussionHistory.toString());
     }
 
+    private void recordMafiaVote(GameState state, Player mafioso, LLMResponse response,
+            Map<Player, String> votes, Map<String, Integer> voteCounts, StringBuilder discussionHistory) {
+        gameLogger.logPrivateThought(mafioso, response.thought());
+
+        String target = response.getTargetId();
+        if (target != null) {
+            ValidationResult validation = validator.validateTarget(mafioso, target, state);
+            if (validation.isValid()) {
+                votes.put(mafioso, target);
+                voteCounts.merge(target, 1, Integer::sum);
+                discussionHistory.append(String.format("%s votes for %s: \"%s\"\n",
+                        mafioso.getId(), target,
+                        response.thought() != null ? response.thought() : "No reason given"));
+                gameLogger.logVote(mafioso, "Mafia vote", target);
+            } else {
+                logger.warn("Invalid Mafia target {} by {}: {}",
+                        target, mafioso.getId(), validation.errorMessage());
+            }
+        }
+    }
+
+    /**
+     * Queries the players at the same time. The queries are bounded by the
+     * night deadline, which cancels them by interrupting this thread.
+     *
+     * @return The answers in the order of the players; players whose query
+     *         failed are missing
+     */
+    private Map<Player, LLMResponse> queryInParallel(GameState state, List<Player> players,
+            Function<Player, Prompt> promptFactory) {
+        Map<Player, Supplier<LLMResponse>> pending = new LinkedHashMap<>();
+        try (PhaseScope scope = new PhaseScope("Mafia vote", Duration.ZERO)) {
+            for (Player player : players) {
+                pending.put(player, scope.fork(player.getId(),
+                        () -> aiService.query(player, state, promptFactory.apply(player)), null));
+            }
+            scope.join();
+        }
+
+        Map<Player, LLMResponse> responses = new LinkedHashMap<>();
+        pending.forEach((player, response) -> {
+            if (response.get() != null) {
+                responses.put(player, response.get());
+            }
+        });
+        return responses;
+    }
+
     private String executeMafiaTieBreaker(GameState state, List<Player> aliveMafia,
             Map<String, Integer> previousVotes,
             String discussionHistory) {
@@ -160,11 +310,10 @@ public class NightPhaseHandler {
                 "You must choose from the previously nominated targets: " +
                 String.join(", ", nominatedTargets);
 
-        for (Player mafioso : aliveMafia) {
-            String prompt = aiService.getPromptBuilder()
-                    .buildNightActionPrompt(mafioso, state, tieBreakContext);
-
-            LLMResponse response = aiService.query(mafioso, state, prompt);
+        // Tie-breaker prompts do not depend on each other, so all members vote at once
+        Map<Player, LLMResponse> responses = queryInParallel(state, aliveMafia,
+                mafioso -> aiService.getPromptBuilder().buildNightActionPrompt(mafioso, state, tieBreakContext));
+        for (LLMResponse response : responses.values()) {
             String target = response.getTargetId();
 
             if (target != null && nominatedTargets.contains(target)) {
@@ -181,7 +330,7 @@ public class NightPhaseHandler {
         // Fallback: random from nominated targets
         List<String> targets = new ArrayList<>(nominatedTargets);
         if (!targets.isEmpty()) {
-            Collections.shuffle(targets);
+            Collections.shuffle(targets, state.getRandom());
             String randomTarget = targets.get(0);
             logger.info("Mafia failed to reach consensus, randomly selected: {}", randomTarget);
             return randomTarget;
@@ -214,11 +363,13 @@ public class NightPhaseHandler {
         return null;
     }
 
-    private String getSingleMafiaTarget(Player mafioso, GameState state) {
-        String prompt = aiService.getPromptBuilder()
-                .buildNightActionPrompt(mafioso, state, "You are the only Mafia member alive.");
+    private Prompt loneMafiaPrompt(Player mafioso, GameState state, int night) {
+        return aiService.getPromptBuilder()
+                .buildNightActionPrompt(mafioso, state, "You are the only Mafia member alive.", night);
+    }
 
-        LLMResponse response = aiService.query(mafioso, state, prompt);
+    private String getSingleMafiaTarget(Player mafioso, GameState state) {
+        LLMResponse response = query(mafioso, state, loneMafiaPrompt(mafioso, state, state.getDayNumber()));
         gameLogger.logPrivateThought(mafioso, response.thought());
 
         String target = response.getTargetId();
@@ -231,9 +382,9 @@ public class NightPhaseHandler {
         }
 
         // Fallback: pick a random Town member
-        List<Player> townMembers = state.getAliveTown();
+        List<Player> townMembers = new ArrayList<>(state.getAliveTown());
         if (!townMembers.isEmpty()) {
-            Collections.shuffle(townMembers);
+            Collections.shuffle(townMembers, state.getRandom());
             return townMembers.get(0).getId();
         }
 
@@ -247,12 +398,7 @@ public class NightPhaseHandler {
 
         Player sheriff = sheriffs.get(0);
 
-        // Build context with previous investigation results
-        String investigations = (String) sheriff.getAttribute("investigations");
-        String prompt = aiService.getPromptBuilder()
-                .buildNightActionPrompt(sheriff, state, investigations);
-
-        LLMResponse response = aiService.query(sheriff, state, prompt);
+        LLMResponse response = query(sheriff, state, sheriffPrompt(sheriff, state, state.getDayNumber()));
         gameLogger.logPrivateThought(sheriff, response.thought());
 
         String target = response.getTargetId();
@@ -267,6 +413,13 @@ public class NightPhaseHandler {
         return null;
     }
 
+    private Prompt sheriffPrompt(Player sheriff, GameState state, int night) {
+        // Build context with previous investigation results
+        String investigations = (String) sheriff.getAttribute("investigations");
+        return aiService.getPromptBuilder()
+                .buildNightActionPrompt(sheriff, state, investigations, night);
+    }
+
     private void updateSheriffMemory(GameState state, String target, String result) {
         List<Player> sheriffs = state.getAlivePlayersByRole(Role.SHERIFF);
         if (sheriffs.isEmpty())
@@ -294,10 +447,7 @@ public class NightPhaseHandler {
 
         Player doctor = doctors.get(0);
 
-        String prompt = aiService.getPromptBuilder()
-                .buildNightActionPrompt(doctor, state, null);
-
-        LLMResponse response = aiService.query(doctor, state, prompt);
+        LLMResponse response = query(doctor, state, doctorPrompt(doctor, state, state.getDayNumber()));
         gameLogger.logPrivateThought(doctor, response.thought());
 
         String target = response.getTargetId();
@@ -312,6 +462,11 @@ public class NightPhaseHandler {
         return null;
     }
 
+    private Prompt doctorPrompt(Player doctor, GameState state, int night) {
+        return aiService.getPromptBuilder()
+                .buildNightActionPrompt(doctor, state, null, night);
+    }
+
     private NightResult resolveNight(GameState state, String mafiaTarget,
             String doctorTarget, String sheriffTarget,
             String sheriffResult) {
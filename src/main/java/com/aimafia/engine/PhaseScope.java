@@ -0,0 +1,143 @@
+package com.aimafia.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the concurrent actions of one phase under a common deadline.
+ *
+ * <p>
+ * Actions are forked into a {@link StructuredTaskScope}. When the deadline
+ * passes, the scope is shut down: actions still running are interrupted,
+ * which aborts their HTTP exchange, and they get their default result. The
+ * phase therefore never waits longer than its deadline, however slow a
+ * model is. Must be used by one thread, in try-with-resources:
+ *
+ * <pre>{@code
+ * try (PhaseScope scope = new PhaseScope("Night", deadline)) {
+ *     Supplier<String> doctor = scope.fork("Doctor", () -> doctorAction(state), null);
+ *     scope.join();
+ *     String target = doctor.get();
+ * }
+ * }</pre>
+ */
+public class PhaseScope implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(PhaseScope.class);
+
+    private final String phase;
+    private final Instant deadline;
+    private final StructuredTaskScope<Object> scope = new StructuredTaskScope<>();
+    private final List<Action<?>> actions = new ArrayList<>();
+    private boolean joined;
+
+    /**
+     * Creates a scope whose deadline starts now.
+     *
+     * @param phase    Phase name for logging
+     * @param deadline Longest time the phase may take, zero or negative for none
+     */
+    public PhaseScope(String phase, Duration deadline) {
+        this.phase = phase;
+        this.deadline = deadline.isPositive() ? Instant.now().plus(deadline) : null;
+    }
+
+    /**
+     * Starts an action on its own virtual thread.
+     *
+     * @param name     Name of the action for logging, e.g. a player ID
+     * @param action   The action
+     * @param fallback Result if the action fails or misses the deadline
+     * @param <T>      Result type
+     * @return The result, available after {@link #join()}
+     */
+    public <T> Supplier<T> fork(String name, Callable<? extends T> action, T fallback) {
+        Action<T> forked = new Action<>(name, scope.fork(action), fallback);
+        actions.add(forked);
+        return forked;
+    }
+
+    /**
+     * Waits until every action has finished or the deadline has passed, then
+     * cancels the actions still running.
+     */
+    public void join() {
+        try {
+            if (deadline == null) {
+                scope.join();
+            } else {
+                scope.joinUntil(deadline);
+            }
+        } catch (TimeoutException e) {
+            List<String> late = actions.stream()
+                    .filter(action -> action.subtask.state() == StructuredTaskScope.Subtask.State.UNAVAILABLE)
+                    .map(action -> action.name)
+                    .toList();
+            logger.warn("{} deadline passed, cancelling {}", phase, late);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("{} interrupted, cancelling unfinished actions", phase);
+        } finally {
+            // Interrupts the actions still running; their results are discarded
+            scope.shutdown();
+            awaitShutdown();
+            joined = true;
+        }
+    }
+
+    private void awaitShutdown() {
+        try {
+            // Returns at once after shutdown, but marks the scope as joined
+            scope.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Cancels any action still running and waits for its thread to end.
+     */
+    @Override
+    public void close() {
+        scope.close();
+    }
+
+    /**
+     * A forked action and its default result.
+     */
+    private final class Action<T> implements Supplier<T> {
+        private final String name;
+        private final StructuredTaskScope.Subtask<? extends T> subtask;
+        private final T fallback;
+
+        Action(String name, StructuredTaskScope.Subtask<? extends T> subtask, T fallback) {
+            this.name = name;
+            this.subtask = subtask;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public T get() {
+            if (!joined) {
+                throw new IllegalStateException("PhaseScope not joined");
+            }
+            return switch (subtask.state()) {
+                case SUCCESS -> subtask.get();
+                case FAILED -> {
+                    logger.error("{} action for {} failed: {}", phase, name, subtask.exception().getMessage());
+                    yield fallback;
+                }
+                // Still running at the deadline, or finished after it
+                case UNAVAILABLE -> fallback;
+            };
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.aimafia.engine;
+
+import com.aimafia.model.Player;
+import com.aimafia.model.Role;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Aggregated outcome of a tournament: per-game results and win rates per model.
+ */
+public record TournamentResult(
+        List<GameOutcome> games,
+        Map<String, ModelStats> modelStats,
+        Duration wallClock) {
+
+    /**
+     * Outcome of a single tournament game.
+     */
+    public record GameOutcome(
+            int gameIndex,
+            long seed,
+            Optional<WinConditionChecker.Team> winner, // Empty if the game crashed or ran out of budget
+            List<Seat> seats,
+            long totalTokens,
+            double costUSD) {
+
+        public boolean isCompleted() {
+            return winner.isPresent();
+        }
+    }
+
+    /**
+     * A player seat in a finished game.
+     */
+    public record Seat(String playerId, String modelId, Role role) {
+        public static Seat of(Player player) {
+            return new Seat(player.getId(), player.getModelId(), player.getRole());
+        }
+
+        public WinConditionChecker.Team team() {
+            return role.isMafia() ? WinConditionChecker.Team.MAFIA : WinConditionChecker.Team.TOWN;
+        }
+    }
+
+    /**
+     * Win statistics of one model over all completed games.
+     */
+    public record ModelStats(
+            String modelId,
+            int seats,
+            int wins,
+            int mafiaSeats,
+            int mafiaWins,
+            int townSeats,
+            int townWins) {
+
+        public double winRate() {
+            return seats == 0 ? 0.0 : (double) wins / seats;
+        }
+
+        public double mafiaWinRate() {
+            return mafiaSeats == 0 ? 0.0 : (double) mafiaWins / mafiaSeats;
+        }
+
+        public double townWinRate() {
+            return townSeats == 0 ? 0.0 : (double) townWins / townSeats;
+        }
+    }
+
+    /**
+     * Aggregates game outcomes into per-model statistics.
+     * Crashed games are kept in the game list but do not count towards win rates.
+     *
+     * @param games     The outcomes of all games
+     * @param wallClock Total tournament duration
+     * @return The tournament result
+     */
+    public static TournamentResult of(List<GameOutcome> games, Duration wallClock) {
+        Map<String, int[]> tallies = new TreeMap<>();
+
+        for (GameOutcome game : games) {
+            if (!game.isCompleted()) {
+                continue;
+            }
+            WinConditionChecker.Team winner = game.winner().get();
+            for (Seat seat : game.seats()) {
+                // seats, wins, mafiaSeats, mafiaWins, townSeats, townWins
+                int[] t = tallies.computeIfAbsent(seat.modelId(), k -> new int[6]);
+                boolean won = seat.team() == winner;
+                t[0]++;
+                if (won) {
+                    t[1]++;
+                }
+                if (seat.role().isMafia()) {
+                    t[2]++;
+                    if (won) {
+                        t[3]++;
+                    }
+                } else {
+                    t[4]++;
+                    if (won) {
+                        t[5]++;
+                    }
+                }
+            }
+        }
+
+        Map<String, ModelStats> stats = new LinkedHashMap<>();
+        tallies.forEach((model, t) -> stats.put(model,
+                new ModelStats(model, t[0], t[1], t[2], t[3], t[4], t[5])));
+
+        List<GameOutcome> ordered = new ArrayList<>(games);
+        ordered.sort(Comparator.comparingInt(GameOutcome::gameIndex));
+        return new TournamentResult(List.copyOf(ordered), stats, wallClock);
+    }
+
+    public long completedGames() {
+        return games.stream().filter(GameOutcome::isCompleted).count();
+    }
+
+    public long winsFor(WinConditionChecker.Team team) {
+        return games.stream()
+                .filter(g -> g.winner().orElse(null) == team)
+                .count();
+    }
+
+    /**
+     * Gets a formatted summary with win rates per model.
+     *
+     * @return Summary string
+     */
+    public String getSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n==========================================\n");
+        sb.append("            TOURNAMENT RESULTS\n");
+        sb.append("==========================================\n");
+        sb.append(String.format("Games: %d (completed %d, crashed %d)\n",
+                games.size(), completedGames(), games.size() - completedGames()));
+        sb.append(String.format("Town wins: %d, Mafia wins: %d\n",
+                winsFor(WinConditionChecker.Team.TOWN), winsFor(WinConditionChecker.Team.MAFIA)));
+        sb.append(String.format("Wall clock: %ds\n", wallClock.toSeconds()));
+        sb.append(String.format("Total tokens: %,d, estimated cost: $%.4f USD\n",
+                games.stream().mapToLong(GameOutcome::totalTokens).sum(),
+                games.stream().mapToDouble(GameOutcome::costUSD).sum()));
+
+        sb.append("\n--- Win rate per model ---\n");
+        sb.append(String.format("  %-40s %6s %7s %9s %9s\n", "Model", "Seats", "Win%", "Mafia%", "Town%"));
+        modelStats.values().stream()
+                .sorted(Comparator.comparingDouble(ModelStats::winRate).reversed())
+                .forEach(m -> sb.append(String.format("  %-40s %6d %6.1f%% %8.1f%% %8.1f%%\n",
+                        m.modelId(), m.seats(), m.winRate() * 100,
+                        m.mafiaWinRate() * 100, m.townWinRate() * 100)));
+        sb.append("==========================================\n");
+        return sb.toString();
+    }
+}
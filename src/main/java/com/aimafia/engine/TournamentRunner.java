@@ -0,0 +1,165 @@
+package com.aimafia.engine;
+
+import com.aimafia.ai.HedgePolicy;
+import com.aimafia.ai.LLMService;
+import com.aimafia.ai.ModelRouter;
+import com.aimafia.ai.OpenRouterService;
+import com.aimafia.ai.OpenRouterTransport;
+import com.aimafia.ai.RateLimiter;
+import com.aimafia.ai.ResponseCache;
+import com.aimafia.ai.SyntheticLLMService;
+import com.aimafia.config.GameConfig;
+import com.aimafia.config.LLMBackend;
+import com.aimafia.util.GameLogger;
+import com.aimafia.util.PriceTable;
+import com.aimafia.util.TokenTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs many independent games concurrently and aggregates win rates per model.
+ * Every game gets its own state, logger, token tracker and seeded role
+ * assignment; at most {@code parallelism} games run at the same time, each on
+ * its own virtual thread.
+ */
+public class TournamentRunner {
+    private static final Logger logger = LoggerFactory.getLogger(TournamentRunner.class);
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+    private final GameConfig config;
+    private final OpenRouterTransport transport;
+    private final ObjectMapper objectMapper;
+    private final ModelRouter modelRouter;
+    private final RateLimiter rateLimiter;
+    private final Path logDirectory;
+
+    public TournamentRunner() {
+        this.config = GameConfig.getInstance();
+        this.transport = OpenRouterTransport.shared();
+        this.objectMapper = new ObjectMapper();
+        this.modelRouter = ModelRouter.fromConfig(config);
+        this.rateLimiter = RateLimiter.fromConfig(config);
+        this.logDirectory = Path.of("logs", "tournament-" + TIMESTAMP_FORMAT.format(LocalDateTime.now()));
+    }
+
+    /**
+     * Runs a tournament.
+     *
+     * @param games       Number of games to play
+     * @param parallelism Maximum number of games running at once
+     * @param baseSeed    Seed of the first game; game {@code i} uses {@code baseSeed + i}
+     * @return The aggregated result
+     */
+    public TournamentResult run(int games, int parallelism, long baseSeed) {
+        logger.info("=== TOURNAMENT STARTING: {} games, parallelism {}, base seed {} ===",
+                games, parallelism, baseSeed);
+        long startNanos = System.nanoTime();
+
+        Semaphore slots = new Semaphore(parallelism);
+        List<Future<TournamentResult.GameOutcome>> futures = new ArrayList<>();
+        TokenTracker tournamentTracker = new TokenTracker(null, PriceTable.shared(),
+                config.getTournamentBudgetUsd());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < games; i++) {
+                final int gameIndex = i;
+                final long seed = baseSeed + i;
+                try {
+                    slots.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("Tournament interrupted after scheduling {} games", i);
+                    break;
+                }
+                if (config.isBudgetStop() && tournamentTracker.isOverBudget()) {
+                    slots.release();
+                    logger.warn("Tournament budget spent, not starting the remaining {} games", games - i);
+                    break;
+                }
+                futures.add(executor.submit(() -> {
+                    try {
+                        return playGame(gameIndex, seed, tournamentTracker);
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+        }
+
+        List<TournamentResult.GameOutcome> outcomes = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                outcomes.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                logger.error("Tournament game {} failed: {}", i, e.getCause().getMessage());
+                outcomes.add(new TournamentResult.GameOutcome(i, baseSeed + i,
+                        Optional.empty(), List.of(), 0, 0.0));
+            }
+        }
+
+        TournamentResult result = TournamentResult.of(outcomes,
+                Duration.ofNanos(System.nanoTime() - startNanos));
+        logger.info(result.getSummary());
+        tournamentTracker.logSummary();
+        if (config.getLlmBackend() == LLMBackend.OPENROUTER) {
+            logger.info(modelRouter.getHealthSummary());
+            if (config.isResponseCacheEnabled()) {
+                logger.info(ResponseCache.shared().getSummary());
+            }
+            if (config.isHedgingEnabled()) {
+                logger.info(HedgePolicy.shared().getSummary());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Plays one game with its own service, logger and token tracker. The
+     * game's usage also adds up in the tournament's tracker.
+     */
+    private TournamentResult.GameOutcome playGame(int gameIndex, long seed, TokenTracker tournamentTracker) {
+        TokenTracker tokenTracker = new TokenTracker(tournamentTracker, PriceTable.shared(),
+                config.getGameBudgetUsd());
+        LLMService aiService = config.getLlmBackend() == LLMBackend.SYNTHETIC
+                ? new SyntheticLLMService(config, tokenTracker, seed)
+                : new OpenRouterService(transport, objectMapper, config, tokenTracker,
+                        modelRouter, rateLimiter);
+        GameLogger gameLogger = new GameLogger(logDirectory, "g" + gameIndex);
+
+        GameEngine engine = new GameEngine(aiService, gameLogger, tokenTracker, seed,
+                config.isTournamentUseFixedRoles());
+
+        logger.info("Tournament game {} starting (seed {})", gameIndex, seed);
+        engine.run();
+
+        Optional<WinConditionChecker.Team> winner = engine.getWinner();
+        logger.info("Tournament game {} finished: {}", gameIndex,
+                winner.map(Enum::name).orElse(tokenTracker.isOverBudget() ? "STOPPED (budget)" : "CRASHED"));
+
+        return new TournamentResult.GameOutcome(
+                gameIndex,
+                seed,
+                winner,
+                engine.getState().getPlayers().stream().map(TournamentResult.Seat::of).toList(),
+                tokenTracker.getTotalTokens(),
+                tokenTracker.getEstimatedCostUSD());
+    }
+}
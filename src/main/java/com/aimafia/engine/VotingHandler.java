@@ -1,7 +1,8 @@
 package com.aimafia.engine;
 
 import com.aimafia.ai.LLMResponse;
-import com.aimafia.ai.OpenRouterService;
+import com.aimafia.ai.LLMService;
+import com.aimafia.ai.Prompt;
 import com.aimafia.config.GameConfig;
 import com.aimafia.model.GameState;
 import com.aimafia.model.Phase;
@@ -12,27 +13,45 @@ import com.aimafia.validation.ActionValidator.ValidationResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.*;
+import java.util.function.Supplier;
 
 /**
  * Handles the voting/trial phase of the game.
  * Three stages: Nomination (parallel), Defense, Final Judgment (parallel).
+ * Votes still missing at the voting deadline are cancelled and count as SKIP
+ * or INNOCENT.
  */
 public class VotingHandler {
     private static final Logger logger = LoggerFactory.getLogger(VotingHandler.class);
 
-    private final OpenRouterService aiService;
+    private final LLMService aiService;
     private final ActionValidator validator;
     private final GameLogger gameLogger;
     private final GameConfig config;
 
-    public VotingHandler(OpenRouterService aiService, ActionValidator validator,
+    // Starts the next night's queries at the verdict; null if speculation is off
+    private final NightPhaseHandler nightHandler;
+
+    public VotingHandler(LLMService aiService, ActionValidator validator,
             GameLogger gameLogger) {
+        this(aiService, validator, gameLogger, null);
+    }
+
+    /**
+     * Creates a voting handler that starts the next night's speculative
+     * queries as soon as the day's verdict is applied.
+     *
+     * @param nightHandler The night handler to speculate with, or null
+     */
+    public VotingHandler(LLMService aiService, ActionValidator validator,
+            GameLogger gameLogger, NightPhaseHandler nightHandler) {
         this.aiService = aiService;
         this.validator = validator;
         this.gameLogger = gameLogger;
         this.config = GameConfig.getInstance();
+        this.nightHandler = nightHandler;
     }
 
     /**
@@ -61,6 +80,15 @@ public class VotingHandler {
      * @return The result of voting
      */
     public VotingResult execute(GameState state) {
+        VotingResult result = vote(state);
+        // The day's outcome is applied, so the next night's prompts are already known
+        if (nightHandler != null) {
+            nightHandler.speculate(state);
+        }
+        return result;
+    }
+
+    private VotingResult vote(GameState state) {
         state.setCurrentPhase(Phase.DAY_VOTING);
         gameLogger.logPhaseTransition(state);
 
@@ -150,53 +178,21 @@ public class VotingHandler {
      */
     private Map<String, Integer> executeNominationPhase(GameState state) {
         List<Player> voters = state.getAlivePlayers();
-        Map<String, Integer> votes = new ConcurrentHashMap<>();
+        Map<String, Integer> votes = new HashMap<>();
 
         state.addToPublicLog("=== NOMINATION PHASE ===");
 
-        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
-            List<Future<?>> futures = new ArrayList<>();
-
+        try (PhaseScope scope = new PhaseScope("Nomination", Duration.ofMillis(config.getVoteDeadlineMs()))) {
+            List<Supplier<String>> ballots = new ArrayList<>();
             for (Player voter : voters) {
-                futures.add(executor.submit(() -> {
-                    try {
-                        String prompt = aiService.getPromptBuilder()
-                                .buildNominationPrompt(voter, state);
-
-                        LLMResponse response = aiService.query(voter, state, prompt);
-                        gameLogger.logPrivateThought(voter, response.thought());
-
-                        String target = response.action();
-                        if (target != null && !target.isBlank() &&
-                                !"SKIP".equalsIgnoreCase(target)) {
-
-                            ValidationResult validation = validator.validateNomination(voter, target, state);
-
-                            if (validation.isValid()) {
-                                votes.merge(target, 1, Integer::sum);
-                                gameLogger.logAction(voter, "Nominates: " + target);
-                            } else {
-                                logger.warn("Invalid nomination by {}: {}",
-                                        voter.getId(), validation.errorMessage());
-                            }
-                        } else {
-                            votes.merge("SKIP", 1, Integer::sum);
-                            gameLogger.logAction(voter, "Nominates: SKIP");
-                        }
-                    } catch (Exception e) {
-                        logger.error("Nomination failed for {}: {}",
-                                voter.getId(), e.getMessage());
-                        votes.merge("SKIP", 1, Integer::sum);
-                    }
-                }));
+                ballots.add(scope.fork(voter.getId(), () -> nominate(voter, state), "SKIP"));
             }
+            scope.join();
 
-            // Wait for all nominations
-            for (Future<?> future : futures) {
-                try {
-                    future.get(60, TimeUnit.SECONDS);
-                } catch (Exception e) {
-                    logger.error("Nomination timeout: {}", e.getMessage());
+            for (Supplier<String> ballot : ballots) {
+                String target = ballot.get();
+                if (target != null) {
+                    votes.merge(target, 1, Integer::sum);
                 }
             }
         }
@@ -209,7 +205,38 @@ public class VotingHandler {
             }
         }
 
-        return new HashMap<>(votes);
+        return votes;
+    }
+
+    /**
+     * Asks one voter for a nomination.
+     *
+     * @return The nominated player ID, or SKIP
+     */
+    private String nominate(Player voter, GameState state) {
+        Prompt prompt = aiService.getPromptBuilder()
+                .buildNominationPrompt(voter, state);
+
+        LLMResponse response = aiService.query(voter, state, prompt);
+        gameLogger.logPrivateThought(voter, response.thought());
+
+        String target = response.action();
+        if (target != null && !target.isBlank() &&
+                !"SKIP".equalsIgnoreCase(target)) {
+
+            ValidationResult validation = validator.validateNomination(voter, target, state);
+
+            if (validation.isValid()) {
+                gameLogger.logVote(voter, "Nominates", target);
+                return target;
+            }
+            logger.warn("Invalid nomination by {}: {}",
+                    voter.getId(), validation.errorMessage());
+            // An invalid nomination is not counted at all
+            return null;
+        }
+        gameLogger.logVote(voter, "Nominates", "SKIP");
+        return "SKIP";
     }
 
     private String findNominationLeader(Map<String, Integer> votes, GameState state) {
@@ -248,7 +275,7 @@ public class VotingHandler {
         state.addToPublicLog("=== DEFENSE PHASE ===");
         state.addToPublicLog(accused.getId() + " will now make their defense.");
 
-        String prompt = aiService.getPromptBuilder().buildDefensePrompt(accused, state);
+        Prompt prompt = aiService.getPromptBuilder().buildDefensePrompt(accused, state);
         LLMResponse response = aiService.query(accused, state, prompt);
 
         gameLogger.logPrivateThought(accused, response.thought());
@@ -279,50 +306,44 @@ public class VotingHandler {
                 .filter(p -> !p.getId().equals(accused.getId()))
                 .toList();
 
-        Map<String, String> votes = new ConcurrentHashMap<>();
-
-        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
-            List<Future<?>> futures = new ArrayList<>();
+        Map<String, String> votes = new HashMap<>();
 
+        try (PhaseScope scope = new PhaseScope("Judgment", Duration.ofMillis(config.getVoteDeadlineMs()))) {
+            Map<String, Supplier<String>> ballots = new LinkedHashMap<>();
             for (Player voter : voters) {
-                futures.add(executor.submit(() -> {
-                    try {
-                        String prompt = aiService.getPromptBuilder()
-                                .buildJudgmentPrompt(voter, accused, defenseSpeech, state);
-
-                        LLMResponse response = aiService.query(voter, state, prompt);
-                        gameLogger.logPrivateThought(voter, response.thought());
-
-                        String vote = response.action();
-                        if (response.isGuilty()) {
-                            votes.put(voter.getId(), "GUILTY");
-                            gameLogger.logAction(voter, "Votes: GUILTY");
-                        } else if (response.isInnocent()) {
-                            votes.put(voter.getId(), "INNOCENT");
-                            gameLogger.logAction(voter, "Votes: INNOCENT");
-                        } else {
-                            // Default to innocent if invalid
-                            votes.put(voter.getId(), "INNOCENT");
-                            logger.warn("Invalid judgment vote by {}: {}", voter.getId(), vote);
-                        }
-                    } catch (Exception e) {
-                        logger.error("Judgment failed for {}: {}", voter.getId(), e.getMessage());
-                        votes.put(voter.getId(), "INNOCENT");
-                    }
-                }));
+                ballots.put(voter.getId(), scope.fork(voter.getId(),
+                        () -> judge(voter, accused, defenseSpeech, state), "INNOCENT"));
             }
+            scope.join();
 
-            // Wait for all votes
-            for (Future<?> future : futures) {
-                try {
-                    future.get(60, TimeUnit.SECONDS);
-                } catch (Exception e) {
-                    logger.error("Judgment timeout: {}", e.getMessage());
-                }
-            }
+            ballots.forEach((voterId, ballot) -> votes.put(voterId, ballot.get()));
         }
 
-        return new HashMap<>(votes);
+        return votes;
+    }
+
+    /**
+     * Asks one voter for their verdict.
+     *
+     * @return GUILTY or INNOCENT
+     */
+    private String judge(Player voter, Player accused, String defenseSpeech, GameState state) {
+        Prompt prompt = aiService.getPromptBuilder()
+                .buildJudgmentPrompt(voter, accused, defenseSpeech, state);
+
+        LLMResponse response = aiService.query(voter, state, prompt);
+        gameLogger.logPrivateThought(voter, response.thought());
+
+        if (response.isGuilty()) {
+            gameLogger.logVote(voter, "Votes", "GUILTY");
+            return "GUILTY";
+        } else if (response.isInnocent()) {
+            gameLogger.logVote(voter, "Votes", "INNOCENT");
+            return "INNOCENT";
+        }
+        // Default to innocent if invalid
+        logger.warn("Invalid judgment vote by {}: {}", voter.getId(), response.action());
+        return "INNOCENT";
     }
 
     private String cleanMessage(String message) {
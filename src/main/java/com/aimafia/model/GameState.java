@@ -2,9 +2,13 @@ package com.aimafia.model;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Stores the global state of the Mafia game.
@@ -16,15 +20,55 @@ public class GameState {
     private Phase currentPhase;
     private final List<Player> players;
     private final List<String> publicLog;
+    private final Random random;
+
+    // Append-only rendering of publicLog, one entry per line
+    private final StringBuilder renderedLog;
+    private String renderedLogCache;
+    private int publicLogVersion;
+
+    // Index of the first public log entry of each day (element 0 is Day 1)
+    private final List<Integer> dayStartIndices;
+
+    // Player lookup by ID; the first player added with an ID wins
+    private final Map<String, Player> playersById;
+
+    // Alive/role views, rebuilt on the first query after a player is added or changes
+    private final AtomicInteger playersVersion;
+    private volatile PlayerViews playerViews;
+
+    /**
+     * Immutable snapshot of the alive players, split by faction and role.
+     */
+    private record PlayerViews(int version, List<Player> alive, List<Player> aliveMafia,
+            List<Player> aliveTown, Map<Role, List<Player>> aliveByRole) {
+    }
 
     /**
      * Creates a new game state with empty player list.
      */
     public GameState() {
+        this(new Random());
+    }
+
+    /**
+     * Creates a new game state whose random choices (speaking order, tie
+     * breaks) come from the given source, so a seeded game is reproducible.
+     *
+     * @param random The random source for this game
+     */
+    public GameState(Random random) {
+        this.random = Objects.requireNonNull(random, "Random cannot be null");
         this.dayNumber = 1;
         this.currentPhase = Phase.NIGHT;
         this.players = new ArrayList<>();
         this.publicLog = new ArrayList<>();
+        this.renderedLog = new StringBuilder();
+        this.renderedLogCache = "";
+        this.publicLogVersion = 0;
+        this.dayStartIndices = new ArrayList<>(List.of(0));
+        this.playersById = new ConcurrentHashMap<>();
+        this.playersVersion = new AtomicInteger();
     }
 
     /**
@@ -34,7 +78,9 @@ public class GameState {
      */
     public GameState(List<Player> players) {
         this();
-        this.players.addAll(Objects.requireNonNull(players, "Players list cannot be null"));
+        for (Player player : Objects.requireNonNull(players, "Players list cannot be null")) {
+            register(player);
+        }
     }
 
     // Getters
@@ -54,6 +100,10 @@ public class GameState {
         return Collections.unmodifiableList(publicLog);
     }
 
+    public Random getRandom() {
+        return random;
+    }
+
     // Setters
     public void setCurrentPhase(Phase phase) {
         this.currentPhase = Objects.requireNonNull(phase, "Phase cannot be null");
@@ -61,9 +111,11 @@ public class GameState {
 
     /**
      * Increments the day counter.
+     * Public log entries added from now on belong to the new day.
      */
-    public void incrementDay() {
+    public synchronized void incrementDay() {
         this.dayNumber++;
+        dayStartIndices.add(publicLog.size());
     }
 
     // Player Management
@@ -72,8 +124,17 @@ public class GameState {
      *
      * @param player The player to add
      */
-    public void addPlayer(Player player) {
-        players.add(Objects.requireNonNull(player, "Player cannot be null"));
+    public synchronized void addPlayer(Player player) {
+        register(player);
+    }
+
+    // Private, so the constructor can add players without calling an overridable method
+    private void register(Player player) {
+        Objects.requireNonNull(player, "Player cannot be null");
+        players.add(player);
+        playersById.putIfAbsent(player.getId(), player);
+        player.addChangeListener(playersVersion::incrementAndGet);
+        playersVersion.incrementAndGet();
     }
 
     /**
@@ -83,58 +144,94 @@ public class GameState {
      * @return The player, or null if not found
      */
     public Player getPlayerById(String id) {
-        return players.stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return id == null ? null : playersById.get(id);
     }
 
     /**
      * Gets all alive players.
      *
-     * @return List of alive players
+     * @return Unmodifiable list of alive players
      */
     public List<Player> getAlivePlayers() {
-        return players.stream()
-                .filter(Player::isAlive)
-                .collect(Collectors.toList());
+        return views().alive();
     }
 
     /**
      * Gets all alive players with a specific role.
      *
      * @param role The role to filter by
-     * @return List of alive players with that role
+     * @return Unmodifiable list of alive players with that role
      */
     public List<Player> getAlivePlayersByRole(Role role) {
-        return players.stream()
-                .filter(Player::isAlive)
-                .filter(p -> p.getRole() == role)
-                .collect(Collectors.toList());
+        return role == null ? List.of() : views().aliveByRole().getOrDefault(role, List.of());
     }
 
     /**
      * Gets all alive Mafia members.
      *
-     * @return List of alive Mafia players
+     * @return Unmodifiable list of alive Mafia players
      */
     public List<Player> getAliveMafia() {
-        return players.stream()
-                .filter(Player::isAlive)
-                .filter(Player::isMafia)
-                .collect(Collectors.toList());
+        return views().aliveMafia();
     }
 
     /**
      * Gets all alive Town members.
      *
-     * @return List of alive Town players
+     * @return Unmodifiable list of alive Town players
      */
     public List<Player> getAliveTown() {
-        return players.stream()
-                .filter(Player::isAlive)
-                .filter(Player::isTown)
-                .collect(Collectors.toList());
+        return views().aliveTown();
+    }
+
+    /**
+     * Gets the current alive/role views, rebuilding them if a player was
+     * added, killed or reassigned since they were last built.
+     */
+    private PlayerViews views() {
+        PlayerViews views = playerViews;
+        if (views == null || views.version() != playersVersion.get()) {
+            views = buildViews();
+        }
+        return views;
+    }
+
+    /**
+     * Scans the players once to build fresh views. The version is read before
+     * the scan, so a change made during the scan forces another rebuild.
+     */
+    private synchronized PlayerViews buildViews() {
+        int version = playersVersion.get();
+        PlayerViews current = playerViews;
+        if (current != null && current.version() == version) {
+            return current;
+        }
+
+        List<Player> alive = new ArrayList<>();
+        List<Player> aliveMafia = new ArrayList<>();
+        List<Player> aliveTown = new ArrayList<>();
+        Map<Role, List<Player>> aliveByRole = new EnumMap<>(Role.class);
+        for (Player p : players) {
+            if (!p.isAlive()) {
+                continue;
+            }
+            alive.add(p);
+            if (p.isMafia()) {
+                aliveMafia.add(p);
+            }
+            if (p.isTown()) {
+                aliveTown.add(p);
+            }
+            if (p.getRole() != null) {
+                aliveByRole.computeIfAbsent(p.getRole(), r -> new ArrayList<>()).add(p);
+            }
+        }
+        aliveByRole.replaceAll((role, list) -> List.copyOf(list));
+
+        PlayerViews views = new PlayerViews(version, List.copyOf(alive), List.copyOf(aliveMafia),
+                List.copyOf(aliveTown), aliveByRole);
+        playerViews = views;
+        return views;
     }
 
     /**
@@ -144,7 +241,7 @@ public class GameState {
      */
     public List<Player> getShuffledAlivePlayers() {
         List<Player> shuffled = new ArrayList<>(getAlivePlayers());
-        Collections.shuffle(shuffled);
+        Collections.shuffle(shuffled, random);
         return shuffled;
     }
 
@@ -158,7 +255,7 @@ public class GameState {
         if (event != null && !event.isBlank()) {
             String formattedEvent = String.format("[Day %d - %s] %s",
                     dayNumber, currentPhase.getDisplayName(), event);
-            publicLog.add(formattedEvent);
+            appendToPublicLog(formattedEvent);
         }
     }
 
@@ -169,8 +266,44 @@ public class GameState {
      */
     public void addRawToPublicLog(String event) {
         if (event != null && !event.isBlank()) {
-            publicLog.add(event);
+            appendToPublicLog(event);
+        }
+    }
+
+    /**
+     * Appends an entry and extends the rendered log.
+     * This is the only place the public log changes, so it is also the only
+     * place the rendered text cache is invalidated.
+     */
+    private synchronized void appendToPublicLog(String entry) {
+        publicLog.add(entry);
+        renderedLog.append(entry).append('\n');
+        renderedLogCache = null;
+        publicLogVersion++;
+    }
+
+    /**
+     * Gets the public log rendered as text, one entry per line (each line
+     * terminated by a newline). The text is built incrementally as entries are
+     * appended and cached until the next append, so concurrent prompt builders
+     * share a single copy.
+     *
+     * @return The rendered public log, empty if there are no entries
+     */
+    public synchronized String getRenderedPublicLog() {
+        if (renderedLogCache == null) {
+            renderedLogCache = renderedLog.toString();
         }
+        return renderedLogCache;
+    }
+
+    /**
+     * Gets the version of the public log, incremented on every append.
+     *
+     * @return The public log version
+     */
+    public synchronized int getPublicLogVersion() {
+        return publicLogVersion;
     }
 
     /**
@@ -188,7 +321,7 @@ public class GameState {
      * @param count Maximum number of recent entries to return
      * @return List of recent log entries
      */
-    public List<String> getRecentPublicLog(int count) {
+    public synchronized List<String> getRecentPublicLog(int count) {
         int size = publicLog.size();
         if (count >= size) {
             return new ArrayList<>(publicLog);
@@ -196,6 +329,23 @@ public class GameState {
         return new ArrayList<>(publicLog.subList(size - count, size));
     }
 
+    /**
+     * Gets the public log entries recorded during a given day.
+     * A day starts when the day counter is incremented, so it includes the
+     * preceding night's result.
+     *
+     * @param day The day number (1-based)
+     * @return The entries of that day, empty if the day has not started
+     */
+    public synchronized List<String> getPublicLogForDay(int day) {
+        if (day < 1 || day > dayStartIndices.size()) {
+            return List.of();
+        }
+        int from = dayStartIndices.get(day - 1);
+        int to = day < dayStartIndices.size() ? dayStartIndices.get(day) : publicLog.size();
+        return List.copyOf(publicLog.subList(from, to));
+    }
+
     // Count Methods
     /**
      * Counts alive players.
@@ -203,7 +353,7 @@ public class GameState {
      * @return Number of alive players
      */
     public int getAliveCount() {
-        return (int) players.stream().filter(Player::isAlive).count();
+        return views().alive().size();
     }
 
     /**
@@ -212,7 +362,7 @@ public class GameState {
      * @return Number of alive Mafia
      */
     public int getAliveMafiaCount() {
-        return (int) players.stream().filter(Player::isAlive).filter(Player::isMafia).count();
+        return views().aliveMafia().size();
     }
 
     /**
@@ -221,7 +371,7 @@ public class GameState {
      * @return Number of alive Town members
      */
     public int getAliveTownCount() {
-        return (int) players.stream().filter(Player::isAlive).filter(Player::isTown).count();
+        return views().aliveTown().size();
     }
 
     @Override
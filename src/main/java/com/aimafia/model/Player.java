@@ -1,8 +1,10 @@
 package com.aimafia.model;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents a single AI agent playing the Mafia game.
@@ -17,6 +19,9 @@ public class Player {
     private final StringBuilder contextMemory;
     private final Map<String, Object> attributes;
 
+    // Notified when the status or role changes, so the owning GameState can refresh its views
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
     /**
      * Creates a new player with the given ID.
      * Role must be assigned separately after creation.
@@ -81,6 +86,7 @@ public class Player {
     // Setters
     public void setRole(Role role) {
         this.role = Objects.requireNonNull(role, "Role cannot be null");
+        fireChanged();
     }
 
     public void setModelId(String modelId) {
@@ -89,6 +95,22 @@ public class Player {
 
     public void setStatus(Status status) {
         this.status = Objects.requireNonNull(status, "Status cannot be null");
+        fireChanged();
+    }
+
+    /**
+     * Registers a callback run after every status or role change.
+     *
+     * @param listener The callback to run
+     */
+    void addChangeListener(Runnable listener) {
+        changeListeners.add(Objects.requireNonNull(listener, "Listener cannot be null"));
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
     }
 
     // Context Memory Management
@@ -163,6 +185,7 @@ public class Player {
      */
     public void kill() {
         this.status = Status.DEAD;
+        fireChanged();
     }
 
     @Override
@@ -0,0 +1,194 @@
+package com.aimafia.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-writer, queue-backed file sink.
+ * Callers only enqueue complete lines; one background thread keeps the file
+ * channel open, batches queued lines into a buffer and writes them when the
+ * buffer fills, the queue goes idle, or a flush is requested. Lines from
+ * concurrent callers are therefore never interleaved.
+ */
+public class AsyncLogWriter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncLogWriter.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long IDLE_FLUSH_MS = 200;
+    private static final long FLUSH_TIMEOUT_MS = 5000;
+
+    private static final Object SHUTDOWN = new Object();
+
+    private final Path file;
+    private final BlockingQueue<Object> queue;
+    private final Thread writerThread;
+    private final ByteBuffer buffer;
+    private volatile boolean closed;
+    private volatile boolean failed;
+
+    /**
+     * A flush barrier: everything enqueued before it is written when it completes.
+     */
+    private record FlushRequest(CompletableFuture<Void> done, boolean force) {
+    }
+
+    /**
+     * Opens a writer appending to the given file.
+     *
+     * @param file The file to append to (created if missing)
+     */
+    public AsyncLogWriter(Path file) {
+        this.file = file;
+        this.queue = new LinkedBlockingQueue<>();
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.writerThread = Thread.ofVirtual()
+                .name("log-writer-" + file.getFileName())
+                .start(this::writeLoop);
+    }
+
+    /**
+     * Enqueues a line. The caller supplies the line terminator.
+     *
+     * @param text The text to append
+     */
+    public void append(String text) {
+        if (!closed && !failed) {
+            queue.offer(text);
+        }
+    }
+
+    /**
+     * Requests that everything enqueued so far is written, without waiting.
+     */
+    public void flush() {
+        if (!closed && !failed) {
+            queue.offer(new FlushRequest(null, false));
+        }
+    }
+
+    /**
+     * Writes everything enqueued so far, forces it to disk and waits for it.
+     */
+    public void flushAndWait() {
+        if (closed || failed) {
+            return;
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.offer(new FlushRequest(done, true));
+        try {
+            done.get(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Flush of {} did not complete: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes all pending lines and closes the file.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.offer(SHUTDOWN);
+        try {
+            writerThread.join(FLUSH_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (true) {
+                Object first = queue.poll(IDLE_FLUSH_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    writeBuffer(channel);
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+
+                for (Object item : batch) {
+                    if (item instanceof String text) {
+                        put(channel, text);
+                    } else if (item instanceof FlushRequest request) {
+                        writeBuffer(channel);
+                        if (request.force()) {
+                            channel.force(false);
+                        }
+                        if (request.done() != null) {
+                            request.done().complete(null);
+                        }
+                    } else if (item == SHUTDOWN) {
+                        writeBuffer(channel);
+                        channel.force(false);
+                        return;
+                    }
+                }
+                batch.clear();
+            }
+        } catch (IOException e) {
+            failed = true;
+            logger.error("Failed to write to log file {}: {}", file, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            releaseWaiters(batch);
+        }
+    }
+
+    private void put(FileChannel channel, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > buffer.remaining()) {
+            writeBuffer(channel);
+        }
+        if (bytes.length > buffer.capacity()) {
+            ByteBuffer large = ByteBuffer.wrap(bytes);
+            while (large.hasRemaining()) {
+                channel.write(large);
+            }
+            return;
+        }
+        buffer.put(bytes);
+    }
+
+    private void writeBuffer(FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Completes flush requests that can no longer be served, so callers never hang.
+     */
+    private void releaseWaiters(List<Object> batch) {
+        batch.addAll(queue);
+        queue.clear();
+        for (Object item : batch) {
+            if (item instanceof FlushRequest request && request.done() != null) {
+                request.done().complete(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.aimafia.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+
+/**
+ * Structured, machine-readable journal of a game in JSON Lines format.
+ * Each {@link JournalEvent} is serialised to one line by a streaming
+ * {@link JsonGenerator} and handed to an {@link AsyncLogWriter}, which owns
+ * the file, so the game thread never waits on disk I/O.
+ */
+public class GameJournal implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(GameJournal.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Path file;
+    private final AsyncLogWriter writer;
+
+    private GameJournal(Path file) {
+        this.file = file;
+        this.writer = file != null ? new AsyncLogWriter(file) : null;
+    }
+
+    /**
+     * Opens a journal appending to the given file.
+     *
+     * @param file The .jsonl file (created if missing)
+     * @return The journal
+     */
+    public static GameJournal open(Path file) {
+        return new GameJournal(file);
+    }
+
+    /**
+     * Creates a journal that discards all events.
+     *
+     * @return A disabled journal
+     */
+    public static GameJournal disabled() {
+        return new GameJournal(null);
+    }
+
+    /**
+     * Checks whether events are being recorded.
+     *
+     * @return true if this journal writes to a file
+     */
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * Enqueues an event.
+     *
+     * @param event The event to record
+     */
+    public void record(JournalEvent event) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.append(toLine(event));
+        } catch (IOException e) {
+            logger.error("Failed to record {} event in journal {}: {}", event.type(), file, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes everything recorded so far and waits for it.
+     */
+    public void flushAndWait() {
+        if (writer != null) {
+            writer.flushAndWait();
+        }
+    }
+
+    /**
+     * Writes all pending events and closes the file.
+     */
+    @Override
+    public void close() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    /**
+     * Gets the journal file path.
+     *
+     * @return The file path, or null if disabled
+     */
+    public Path getFilePath() {
+        return file;
+    }
+
+    /**
+     * Serialises an event to one JSON object followed by a line break.
+     */
+    static String toLine(JournalEvent event) throws IOException {
+        StringWriter out = new StringWriter(256);
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeStringField("type", event.type());
+            gen.writeNumberField("ts", event.timestamp());
+            event.writeFields(gen);
+            gen.writeEndObject();
+        }
+        return out.append('\n').toString();
+    }
+}
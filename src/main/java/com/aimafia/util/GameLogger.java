@@ -1,5 +1,6 @@
 package com.aimafia.util;
 
+import com.aimafia.config.GameConfig;
 import com.aimafia.model.GameState;
 import com.aimafia.model.Player;
 import org.slf4j.Logger;
@@ -8,16 +9,16 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
  * Specialized logger for game events.
  * Separates public events (visible to players) from private thoughts (for
- * analysis).
+ * analysis). File output goes through an {@link AsyncLogWriter}, so logging
+ * from the game thread or from parallel voters only enqueues a line.
  */
-public class GameLogger {
+public class GameLogger implements AutoCloseable {
     private static final Logger publicLogger = LoggerFactory.getLogger("com.aimafia.game.public");
     private static final Logger privateLogger = LoggerFactory.getLogger("com.aimafia.game.private");
     private static final Logger gameLogger = LoggerFactory.getLogger("com.aimafia.game");
@@ -27,17 +28,14 @@ public class GameLogger {
     private final Path logDirectory;
     private final Path gameLogFile;
     private final LocalDateTime gameStartTime;
+    private final AsyncLogWriter writer;
+    private final GameJournal journal;
 
     /**
      * Creates a new GameLogger with a timestamped log file.
      */
     public GameLogger() {
-        this.gameStartTime = LocalDateTime.now();
-        this.logDirectory = Path.of("logs");
-        this.gameLogFile = logDirectory.resolve(
-                "mafia-game-" + TIMESTAMP_FORMAT.format(gameStartTime) + ".log");
-
-        initializeLogDirectory();
+        this(Path.of("logs"));
     }
 
     /**
@@ -46,25 +44,45 @@ public class GameLogger {
      * @param logDir The directory for log files
      */
     public GameLogger(Path logDir) {
+        this(logDir, null);
+    }
+
+    /**
+     * Creates a GameLogger whose file name carries a game identifier, so that
+     * games started within the same second do not share a log file.
+     *
+     * @param logDir The directory for log files
+     * @param gameId The identifier appended to the file name, or null for none
+     */
+    public GameLogger(Path logDir, String gameId) {
         this.gameStartTime = LocalDateTime.now();
         this.logDirectory = logDir;
-        this.gameLogFile = logDirectory.resolve(
-                "mafia-game-" + TIMESTAMP_FORMAT.format(gameStartTime) + ".log");
+        String suffix = gameId == null ? "" : "-" + gameId;
+        String baseName = "mafia-game-" + TIMESTAMP_FORMAT.format(gameStartTime) + suffix;
+        this.gameLogFile = logDirectory.resolve(baseName + ".log");
 
         initializeLogDirectory();
+        this.writer = new AsyncLogWriter(gameLogFile);
+        this.journal = GameConfig.getInstance().isJournalEnabled()
+                ? GameJournal.open(logDirectory.resolve(baseName + ".jsonl"))
+                : GameJournal.disabled();
+        writeHeader();
     }
 
     private void initializeLogDirectory() {
         try {
             Files.createDirectories(logDirectory);
-            writeToFile("=== AI MAFIA GAME LOG ===");
-            writeToFile("Started: " + gameStartTime);
-            writeToFile("==============================\n");
         } catch (IOException e) {
             gameLogger.error("Failed to initialize log directory: {}", e.getMessage());
         }
     }
 
+    private void writeHeader() {
+        writeToFile("=== AI MAFIA GAME LOG ===");
+        writeToFile("Started: " + gameStartTime);
+        writeToFile("==============================\n");
+    }
+
     /**
      * Logs a public event (visible to all players).
      *
@@ -95,6 +113,10 @@ public class GameLogger {
      * @param thought The thought content
      */
     public void logPrivateThought(Player player, String thought) {
+        // Answers asked for the action alone carry no thought
+        if (thought == null || thought.isBlank()) {
+            return;
+        }
         String formatted = String.format("[%s (%s)] Thought: %s",
                 player.getId(), player.getRole(), thought);
         privateLogger.debug(formatted);
@@ -112,6 +134,23 @@ public class GameLogger {
                 player.getId(), player.getRole(), action);
         gameLogger.info(formatted);
         writeToFile("[ACTION] " + formatted);
+        journal.record(new JournalEvent.Action(System.currentTimeMillis(),
+                player.getId(), String.valueOf(player.getRole()), action));
+    }
+
+    /**
+     * Logs a vote (Mafia vote, nomination or judgment).
+     *
+     * @param player The voting player
+     * @param stage  The voting stage label, e.g. "Nominates"
+     * @param choice The target player ID, SKIP, GUILTY or INNOCENT
+     */
+    public void logVote(Player player, String stage, String choice) {
+        String formatted = String.format("[%s (%s)] Action: %s: %s",
+                player.getId(), player.getRole(), stage, choice);
+        gameLogger.info(formatted);
+        writeToFile("[ACTION] " + formatted);
+        journal.record(new JournalEvent.Vote(System.currentTimeMillis(), player.getId(), stage, choice));
     }
 
     /**
@@ -137,6 +176,9 @@ public class GameLogger {
                 state.getDayNumber());
         gameLogger.info("\n{}", formatted);
         writeToFile("\n" + formatted);
+        writer.flush();
+        journal.record(new JournalEvent.PhaseChange(System.currentTimeMillis(),
+                state.getDayNumber(), state.getCurrentPhase().name()));
     }
 
     /**
@@ -156,6 +198,21 @@ public class GameLogger {
         }
         publicLogger.info(message);
         writeToFile("[DEATH] " + message);
+        journal.record(new JournalEvent.Death(System.currentTimeMillis(),
+                player.getId(), String.valueOf(player.getRole()), cause));
+    }
+
+    /**
+     * Records the initial seating of a game in the journal.
+     *
+     * @param state The game state with all players assigned
+     * @param seed  The seed used for role assignment
+     */
+    public void logGameStart(GameState state, long seed) {
+        journal.record(new JournalEvent.GameStart(System.currentTimeMillis(), seed,
+                state.getPlayers().stream()
+                        .map(p -> new JournalEvent.Seat(p.getId(), String.valueOf(p.getRole()), p.getModelId()))
+                        .toList()));
     }
 
     /**
@@ -181,6 +238,9 @@ public class GameLogger {
 
         gameLogger.info(sb.toString());
         writeToFile(sb.toString());
+        writer.flushAndWait();
+        journal.record(new JournalEvent.GameEnd(System.currentTimeMillis(), winner, state.getDayNumber()));
+        journal.flushAndWait();
     }
 
     /**
@@ -204,13 +264,29 @@ public class GameLogger {
         writeToFile("[ERROR] " + message + ": " + e.getMessage());
     }
 
+    /**
+     * Enqueues a line for the background writer; never blocks on file I/O.
+     */
     private void writeToFile(String content) {
-        try {
-            Files.writeString(gameLogFile, content + "\n",
-                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
-        } catch (IOException e) {
-            gameLogger.error("Failed to write to log file: {}", e.getMessage());
-        }
+        writer.append(content + "\n");
+    }
+
+    /**
+     * Writes all pending lines and closes the log file.
+     */
+    @Override
+    public void close() {
+        writer.close();
+        journal.close();
+    }
+
+    /**
+     * Gets the structured event journal of this game.
+     *
+     * @return The journal (disabled if journaling is turned off)
+     */
+    public GameJournal getJournal() {
+        return journal;
     }
 
     /**
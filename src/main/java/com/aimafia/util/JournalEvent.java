@@ -0,0 +1,168 @@
+package com.aimafia.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A typed record of something that happened in a game, written as one JSON
+ * object per line by {@link GameJournal}. Every record carries a {@code type}
+ * and a millisecond timestamp; the remaining fields depend on the type.
+ */
+public sealed interface JournalEvent {
+
+    long timestamp();
+
+    String type();
+
+    /**
+     * Writes the type-specific fields into the current JSON object.
+     */
+    void writeFields(JsonGenerator gen) throws IOException;
+
+    /**
+     * A player seat at game start.
+     */
+    record Seat(String playerId, String role, String model) {
+    }
+
+    record GameStart(long timestamp, long seed, List<Seat> players) implements JournalEvent {
+        public String type() {
+            return "game_start";
+        }
+
+        public void writeFields(JsonGenerator gen) throws IOException {
+            gen.writeNumberField("seed", seed);
+            gen.writeArrayFieldStart("players");
+            for (Seat seat : players) {
+                gen.writeStartObject();
+                gen.writeStringField("player", seat.playerId());
+                gen.writeStringField("role", seat.role());
+                gen.writeStringField("model", seat.model());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    record PhaseChange(long timestamp, int day, String phase) implements JournalEvent {
+        public String type() {
+            return "phase";
+        }
+
+        public void writeFields(JsonGenerator gen) throws IOException {
+            gen.writeNumberField("day", day);
+            gen.writeStringField("phase", phase);
+        }
+    }
+
+    record PromptSent(long timestamp, String playerId, String model, int historyChars, String body)
+            implements JournalEvent {
+        public String type() {
+            return "prompt";
+        }
+
+        public void writeFields(JsonGenerator gen) throws IOException {
+            gen.writeStringField("player", playerId);
+            gen.writeStringField("model", model);
+            gen.writeNumberField("historyChars", historyChars);
+            gen.writeStringField("body", body);
+        }
+    }
+
+    /**
+     * An API request; the status is -1 if no HTTP response arrived.
+     */
+    record ApiCall(long timestamp, String playerId, String model, int status, long latencyMs, int retriesLeft)
+            implements JournalEvent {
+        public String type() {
+            return "api_call";
+        }
+
+        public void writeFields(JsonGenerator gen) throws IOException {
+            gen.writeStringField("player", playerId);
+            gen.writeStringField("model", model);
+            gen.writeNumberField("status", status);
+            gen.writeNumberField("latencyMs", latencyMs);
+            gen.writeNumberField("retriesLeft", retriesLeft);
+        }
+    }
+
+    record TokenUsage(long timestamp, String playerId, String model,
+            int inputTokens, int cachedTokens, int outputTokens) implements JournalEvent {
+        public String type() {
+            return "tokens";
+        }
+
+        public void writeFields(JsonGenerator gen) throws IOException {
+            gen.writeStringField("player", playerId);
+            gen.writeStringField("model", model);
+            gen.writeNumberField("input", inputTokens);
+            gen.writeNumberField("cached", cachedTokens);
+            gen.writeNumberField("output", outputTokens);
+        }
+    }
+
+    record Response(long timestamp, String playerId, String model,
+            String thought, String message, String action) implements JournalEvent {
+        public String type() {
+            return "response";
+        }
+
+        public void writeFields(JsonGenerator gen) throws IOException {
+            gen.writeStringField("player", playerId);
+            gen.writeStringField("model", model);
+            gen.writeStringField("thought", thought);
+            gen.writeStringField("message", message);
+            gen.writeStringField("action", action);
+        }
+    }
+
+    record Action(long timestamp, String playerId, String role, String action) implements JournalEvent {
+        public String type() {
+            return "action";
+        }
+
+        public void writeFields(JsonGenerator gen) throws IOException {
+            gen.writeStringField("player", playerId);
+            gen.writeStringField("role", role);
+            gen.writeStringField("action", action);
+        }
+    }
+
+    record Vote(long timestamp, String playerId, String stage, String choice) implements JournalEvent {
+        public String type() {
+            return "vote";
+        }
+
+        public void writeFields(JsonGenerator gen) throws IOException {
+            gen.writeStringField("player", playerId);
+            gen.writeStringField("stage", stage);
+            gen.writeStringField("choice", choice);
+        }
+    }
+
+    record Death(long timestamp, String playerId, String role, String cause) implements JournalEvent {
+        public String type() {
+            return "death";
+        }
+
+        public void writeFields(JsonGenerator gen) throws IOException {
+            gen.writeStringField("player", playerId);
+            gen.writeStringField("role", role);
+            gen.writeStringField("cause", cause);
+        }
+    }
+
+    record GameEnd(long timestamp, String winner, int days) implements JournalEvent {
+        public String type() {
+            return "game_end";
+        }
+
+        public void writeFields(JsonGenerator gen) throws IOException {
+            gen.writeStringField("winner", winner);
+            gen.writeNumberField("days", days);
+        }
+    }
+}
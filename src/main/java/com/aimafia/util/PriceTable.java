@@ -0,0 +1,161 @@
+package com.aimafia.util;
+
+import com.aimafia.config.GameConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Per-model token prices, used to estimate the cost of calls whose response
+ * does not report one.
+ *
+ * <p>
+ * Prices are read from a properties file with one line per model:
+ * {@code model=input,output,cachedInput}, in USD per million tokens. The
+ * cached input price is optional and defaults to the input price. The
+ * {@code default} entry prices models that are not listed.
+ */
+public final class PriceTable {
+    private static final Logger logger = LoggerFactory.getLogger(PriceTable.class);
+
+    private static final String BUNDLED_FILE = "model-prices.properties";
+    private static final String DEFAULT_KEY = "default";
+
+    /**
+     * Prices of one model, in USD per million tokens.
+     */
+    public record Price(double input, double output, double cachedInput) {
+    }
+
+    /**
+     * The price of models without an entry when no table is loaded.
+     */
+    public static final Price FALLBACK_PRICE = new Price(5.0, 15.0, 1.25);
+
+    /**
+     * A table that prices every model at {@link #FALLBACK_PRICE}.
+     */
+    public static final PriceTable DEFAULT = new PriceTable(Map.of(), FALLBACK_PRICE);
+
+    private final Map<String, Price> prices;
+    private final Price defaultPrice;
+
+    /**
+     * Creates a price table.
+     *
+     * @param prices       Prices by model ID
+     * @param defaultPrice Price of models not in the table
+     */
+    public PriceTable(Map<String, Price> prices, Price defaultPrice) {
+        this.prices = Map.copyOf(prices);
+        this.defaultPrice = defaultPrice;
+    }
+
+    /**
+     * Parses a price table.
+     *
+     * @param reader The properties source
+     * @return The price table
+     * @throws IOException              if the source cannot be read
+     * @throws IllegalArgumentException if a price is malformed
+     */
+    public static PriceTable parse(Reader reader) throws IOException {
+        Properties props = new Properties();
+        props.load(reader);
+        Map<String, Price> prices = new HashMap<>();
+        Price defaultPrice = FALLBACK_PRICE;
+        for (String model : props.stringPropertyNames()) {
+            Price price = parsePrice(model, props.getProperty(model));
+            if (DEFAULT_KEY.equals(model)) {
+                defaultPrice = price;
+            } else {
+                prices.put(model, price);
+            }
+        }
+        return new PriceTable(prices, defaultPrice);
+    }
+
+    private static Price parsePrice(String model, String value) {
+        String[] parts = value.split(",");
+        try {
+            if (parts.length < 2 || parts.length > 3) {
+                throw new NumberFormatException("expected input,output[,cachedInput]");
+            }
+            double input = Double.parseDouble(parts[0].trim());
+            double output = Double.parseDouble(parts[1].trim());
+            double cachedInput = parts.length == 3 ? Double.parseDouble(parts[2].trim()) : input;
+            return new Price(input, output, cachedInput);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price for " + model + ": " + value, e);
+        }
+    }
+
+    /**
+     * Gets the table configured by cost.price.file, or the bundled
+     * model-prices.properties if no file is set.
+     *
+     * @return The shared price table
+     */
+    public static PriceTable shared() {
+        return Shared.INSTANCE;
+    }
+
+    private static final class Shared {
+        private static final PriceTable INSTANCE = load(GameConfig.getInstance().getPriceFile());
+
+        private static PriceTable load(String file) {
+            try {
+                if (file != null && !file.isBlank()) {
+                    try (Reader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+                        return parse(reader);
+                    }
+                }
+                try (InputStream is = PriceTable.class.getClassLoader().getResourceAsStream(BUNDLED_FILE)) {
+                    if (is != null) {
+                        return parse(new InputStreamReader(is, StandardCharsets.UTF_8));
+                    }
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                logger.warn("Price table {} not loaded, using default prices: {}",
+                        file == null || file.isBlank() ? BUNDLED_FILE : file, e.getMessage());
+            }
+            return DEFAULT;
+        }
+    }
+
+    /**
+     * Gets the prices of a model.
+     *
+     * @param modelId The model, may be null
+     * @return Its prices, or the default prices
+     */
+    public Price priceOf(String modelId) {
+        return modelId == null ? defaultPrice : prices.getOrDefault(modelId, defaultPrice);
+    }
+
+    /**
+     * Estimates the cost of one call.
+     *
+     * @param modelId      The model, may be null
+     * @param inputTokens  Input tokens, cached and uncached
+     * @param cachedTokens Input tokens read from the prompt cache
+     * @param outputTokens Output tokens
+     * @return The cost in USD
+     */
+    public double costUsd(String modelId, long inputTokens, long cachedTokens, long outputTokens) {
+        Price price = priceOf(modelId);
+        return ((inputTokens - cachedTokens) * price.input()
+                + cachedTokens * price.cachedInput()
+                + outputTokens * price.output()) / 1_000_000.0;
+    }
+}
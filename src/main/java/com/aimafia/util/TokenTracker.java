@@ -1,33 +1,116 @@
 package com.aimafia.util;
 
+import com.aimafia.config.GameConfig;
+import com.aimafia.model.Phase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Tracks token usage across all API calls for cost estimation.
- * Thread-safe singleton.
+ * Tracks token usage and cost across API calls, in total and by model,
+ * player and phase. Thread-safe; counters are {@link LongAdder}s, so
+ * parallel votes do not contend on them. A shared instance is available
+ * through {@link #getInstance()}; tournament games create their own instance
+ * whose usage also adds up in the tournament's tracker.
+ *
+ * <p>
+ * A call is charged the cost the provider reports, or else an estimate from
+ * the {@link PriceTable}. A tracker with a budget reports when it, or its
+ * parent, has spent it; the caller decides what to do then.
  */
 public final class TokenTracker {
     private static final Logger logger = LoggerFactory.getLogger(TokenTracker.class);
 
     private static volatile TokenTracker instance;
 
-    // Approximate costs per 1000 tokens (in USD cents)
-    // These should be updated based on actual model pricing
-    private static final double INPUT_COST_PER_1K = 0.5; // $0.005 per 1K input tokens
-    private static final double OUTPUT_COST_PER_1K = 1.5; // $0.015 per 1K output tokens
+    private final TokenTracker parent;
+    private final PriceTable prices;
+    private final double budgetUsd;
+    private final Usage total;
+    private final Map<String, Usage> byModel;
+    private final Map<String, Usage> byPlayer;
+    private final Map<Phase, Usage> byPhase;
+    private final AtomicBoolean budgetSpent;
 
-    private final AtomicLong totalInputTokens;
-    private final AtomicLong totalOutputTokens;
-    private final AtomicInteger requestCount;
+    /**
+     * Creates an independent tracker with default prices and no budget.
+     */
+    public TokenTracker() {
+        this(null, PriceTable.DEFAULT, 0);
+    }
+
+    /**
+     * Creates a tracker.
+     *
+     * @param parent    Tracker that also receives this tracker's usage (e.g. the
+     *                  tournament's), or null
+     * @param prices    Prices for calls that do not report their cost
+     * @param budgetUsd Spending limit in USD, 0 for none
+     */
+    public TokenTracker(TokenTracker parent, PriceTable prices, double budgetUsd) {
+        this.parent = parent;
+        this.prices = prices;
+        this.budgetUsd = budgetUsd;
+        this.total = new Usage();
+        this.byModel = new ConcurrentHashMap<>();
+        this.byPlayer = new ConcurrentHashMap<>();
+        this.byPhase = new ConcurrentHashMap<>();
+        this.budgetSpent = new AtomicBoolean();
+    }
+
+    /**
+     * Token usage and cost of a group of calls.
+     */
+    public static final class Usage {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder inputTokens = new LongAdder();
+        private final LongAdder cachedTokens = new LongAdder();
+        private final LongAdder outputTokens = new LongAdder();
+        private final DoubleAdder costUsd = new DoubleAdder();
+
+        void add(int input, int cached, int output, double cost) {
+            requests.increment();
+            inputTokens.add(input);
+            cachedTokens.add(cached);
+            outputTokens.add(output);
+            costUsd.add(cost);
+        }
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        public long getInputTokens() {
+            return inputTokens.sum();
+        }
+
+        public long getCachedTokens() {
+            return cachedTokens.sum();
+        }
+
+        public long getOutputTokens() {
+            return outputTokens.sum();
+        }
 
-    private TokenTracker() {
-        this.totalInputTokens = new AtomicLong(0);
-        this.totalOutputTokens = new AtomicLong(0);
-        this.requestCount = new AtomicInteger(0);
+        public long getTotalTokens() {
+            return getInputTokens() + getOutputTokens();
+        }
+
+        public double getCostUsd() {
+            return costUsd.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests, %,d tokens, $%.4f", getRequests(), getTotalTokens(), getCostUsd());
+        }
     }
 
     /**
@@ -39,7 +122,8 @@ public final class TokenTracker {
         if (instance == null) {
             synchronized (TokenTracker.class) {
                 if (instance == null) {
-                    instance = new TokenTracker();
+                    instance = new TokenTracker(null, PriceTable.shared(),
+                            GameConfig.getInstance().getGameBudgetUsd());
                 }
             }
         }
@@ -60,12 +144,99 @@ public final class TokenTracker {
      * @param outputTokens Number of output tokens
      */
     public void addUsage(int inputTokens, int outputTokens) {
-        totalInputTokens.addAndGet(inputTokens);
-        totalOutputTokens.addAndGet(outputTokens);
-        requestCount.incrementAndGet();
+        addUsage(inputTokens, 0, outputTokens);
+    }
 
-        logger.debug("Token usage: input={}, output={}, total requests={}",
-                inputTokens, outputTokens, requestCount.get());
+    /**
+     * Adds token usage from a single request, including the part of the input
+     * served from the provider's prompt cache.
+     *
+     * @param inputTokens  Number of input tokens (cached and uncached)
+     * @param cachedTokens Number of input tokens read from the prompt cache
+     * @param outputTokens Number of output tokens
+     */
+    public void addUsage(int inputTokens, int cachedTokens, int outputTokens) {
+        addUsage(null, null, null, inputTokens, cachedTokens, outputTokens, null);
+    }
+
+    /**
+     * Adds token usage from a single request, attributed to the player, model
+     * and phase that made it.
+     *
+     * @param playerId        The player, or null
+     * @param modelId         The model that answered, or null
+     * @param phase           The game phase, or null if unknown
+     * @param inputTokens     Number of input tokens (cached and uncached)
+     * @param cachedTokens    Number of input tokens read from the prompt cache
+     * @param outputTokens    Number of output tokens
+     * @param reportedCostUsd The cost reported by the provider, or null to
+     *                        estimate it from the price table
+     */
+    public void addUsage(String playerId, String modelId, Phase phase, int inputTokens, int cachedTokens,
+            int outputTokens, Double reportedCostUsd) {
+        double cost = reportedCostUsd != null
+                ? reportedCostUsd
+                : prices.costUsd(modelId, inputTokens, cachedTokens, outputTokens);
+        record(playerId, modelId, phase, inputTokens, cachedTokens, outputTokens, cost);
+
+        logger.debug("Token usage: player={}, model={}, phase={}, input={}, cached={}, output={}, cost=${}",
+                playerId, modelId, phase, inputTokens, cachedTokens, outputTokens, cost);
+    }
+
+    private void record(String playerId, String modelId, Phase phase, int inputTokens, int cachedTokens,
+            int outputTokens, double cost) {
+        total.add(inputTokens, cachedTokens, outputTokens, cost);
+        if (modelId != null) {
+            byModel.computeIfAbsent(modelId, m -> new Usage()).add(inputTokens, cachedTokens, outputTokens, cost);
+        }
+        if (playerId != null) {
+            byPlayer.computeIfAbsent(playerId, p -> new Usage()).add(inputTokens, cachedTokens, outputTokens, cost);
+        }
+        if (phase != null) {
+            byPhase.computeIfAbsent(phase, p -> new Usage()).add(inputTokens, cachedTokens, outputTokens, cost);
+        }
+        if (budgetUsd > 0 && total.getCostUsd() >= budgetUsd && budgetSpent.compareAndSet(false, true)) {
+            logger.warn("Budget of ${} spent (${})", budgetUsd, total.getCostUsd());
+        }
+        if (parent != null) {
+            parent.record(playerId, modelId, phase, inputTokens, cachedTokens, outputTokens, cost);
+        }
+    }
+
+    /**
+     * Checks whether this tracker or its parent has spent its budget.
+     *
+     * @return true once a budget is spent
+     */
+    public boolean isOverBudget() {
+        return budgetSpent.get() || (parent != null && parent.isOverBudget());
+    }
+
+    /**
+     * Gets the usage of each model.
+     *
+     * @return Usage by model ID, sorted
+     */
+    public Map<String, Usage> getUsageByModel() {
+        return Collections.unmodifiableMap(new TreeMap<>(byModel));
+    }
+
+    /**
+     * Gets the usage of each player.
+     *
+     * @return Usage by player ID, sorted
+     */
+    public Map<String, Usage> getUsageByPlayer() {
+        return Collections.unmodifiableMap(new TreeMap<>(byPlayer));
+    }
+
+    /**
+     * Gets the usage of each phase.
+     *
+     * @return Usage by phase, in game order
+     */
+    public Map<Phase, Usage> getUsageByPhase() {
+        return Collections.unmodifiableMap(new TreeMap<>(byPhase));
     }
 
     /**
@@ -74,7 +245,35 @@ public final class TokenTracker {
      * @return Total input tokens
      */
     public long getTotalInputTokens() {
-        return totalInputTokens.get();
+        return total.getInputTokens();
+    }
+
+    /**
+     * Gets input tokens served from the provider's prompt cache.
+     *
+     * @return Cached input tokens
+     */
+    public long getCachedInputTokens() {
+        return total.getCachedTokens();
+    }
+
+    /**
+     * Gets input tokens that were not served from the prompt cache.
+     *
+     * @return Uncached input tokens
+     */
+    public long getUncachedInputTokens() {
+        return getTotalInputTokens() - getCachedInputTokens();
+    }
+
+    /**
+     * Gets the share of input tokens served from the prompt cache.
+     *
+     * @return Cache hit ratio between 0 and 1
+     */
+    public double getCacheHitRatio() {
+        long input = getTotalInputTokens();
+        return input == 0 ? 0.0 : (double) getCachedInputTokens() / input;
     }
 
     /**
@@ -83,7 +282,7 @@ public final class TokenTracker {
      * @return Total output tokens
      */
     public long getTotalOutputTokens() {
-        return totalOutputTokens.get();
+        return total.getOutputTokens();
     }
 
     /**
@@ -92,7 +291,7 @@ public final class TokenTracker {
      * @return Total tokens
      */
     public long getTotalTokens() {
-        return totalInputTokens.get() + totalOutputTokens.get();
+        return total.getTotalTokens();
     }
 
     /**
@@ -101,27 +300,25 @@ public final class TokenTracker {
      * @return Request count
      */
     public int getRequestCount() {
-        return requestCount.get();
+        return (int) total.getRequests();
     }
 
     /**
-     * Estimates the cost in USD cents.
+     * Gets the cost in USD cents, as reported or estimated.
      *
-     * @return Estimated cost in cents
+     * @return Cost in cents
      */
     public double getEstimatedCostCents() {
-        double inputCost = (totalInputTokens.get() / 1000.0) * INPUT_COST_PER_1K;
-        double outputCost = (totalOutputTokens.get() / 1000.0) * OUTPUT_COST_PER_1K;
-        return inputCost + outputCost;
+        return getEstimatedCostUSD() * 100.0;
     }
 
     /**
-     * Estimates the cost in USD.
+     * Gets the cost in USD, as reported or estimated.
      *
-     * @return Estimated cost in dollars
+     * @return Cost in dollars
      */
     public double getEstimatedCostUSD() {
-        return getEstimatedCostCents() / 100.0;
+        return total.getCostUsd();
     }
 
     /**
@@ -133,16 +330,34 @@ public final class TokenTracker {
         return String.format("""
                 === Token Usage Summary ===
                 Requests:      %d
-                Input tokens:  %,d
+                Input tokens:  %,d (cached %,d, %.1f%%)
                 Output tokens: %,d
                 Total tokens:  %,d
                 Estimated cost: $%.4f USD
-                """,
+                %s""",
                 getRequestCount(),
                 getTotalInputTokens(),
+                getCachedInputTokens(),
+                getCacheHitRatio() * 100,
                 getTotalOutputTokens(),
                 getTotalTokens(),
-                getEstimatedCostUSD());
+                getEstimatedCostUSD(),
+                getBreakdown());
+    }
+
+    private String getBreakdown() {
+        StringBuilder sb = new StringBuilder();
+        if (!byModel.isEmpty()) {
+            sb.append("By model:\n");
+            getUsageByModel().forEach((model, usage) -> sb.append("  ").append(model).append(": ")
+                    .append(usage).append('\n'));
+        }
+        if (!byPhase.isEmpty()) {
+            sb.append("By phase:\n");
+            getUsageByPhase().forEach((phase, usage) -> sb.append("  ").append(phase.getDisplayName()).append(": ")
+                    .append(usage).append('\n'));
+        }
+        return sb.toString();
     }
 
     /**
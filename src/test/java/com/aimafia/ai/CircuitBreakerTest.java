@@ -0,0 +1,138 @@
+package com.aimafia.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CircuitBreaker.
+ */
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CircuitBreaker breaker() {
+        return new CircuitBreaker(10, 4, 0.5, 1000, 5000, 2, clock::get);
+    }
+
+    @Test
+    void failures_openBreakerOnceMinimumCallsReached() {
+        CircuitBreaker breaker = breaker();
+
+        breaker.onFailure(10);
+        breaker.onFailure(10);
+        breaker.onFailure(10);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onSuccess(10);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void slowCalls_countAsFailures() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onSuccess(i < 2 ? 1500 : 100);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(0.5, breaker.getFailureRate());
+    }
+
+    @Test
+    void halfOpen_closesAfterSuccessfulProbes() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(10);
+        }
+
+        clock.set(5000);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire(), "only two probes at a time");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess(10);
+        breaker.onSuccess(10);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0.0, breaker.getFailureRate());
+    }
+
+    @Test
+    void halfOpen_reopensOnProbeFailure() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(10);
+        }
+
+        clock.set(6000);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure(10);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        clock.set(10_000);
+        assertFalse(breaker.tryAcquire(), "open period restarts on probe failure");
+    }
+
+    @Test
+    void window_forgetsOldCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.75, 1000, 5000, 1, clock::get);
+        breaker.onFailure(10);
+        breaker.onFailure(10);
+        for (int i = 0; i < 4; i++) {
+            breaker.onSuccess(10);
+        }
+        breaker.onFailure(10);
+        breaker.onFailure(10);
+
+        assertEquals(0.5, breaker.getFailureRate());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
+
+class ModelRouterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private ModelRouter router(List<String> fallbacks) {
+        return new ModelRouter(true, fallbacks,
+                model -> new CircuitBreaker(4, 2, 0.5, 1000, 5000, 1, clock::get));
+    }
+
+    @Test
+    void openCircuit_routesToFirstHealthyFallback() {
+        ModelRouter router = router(List.of("fallback-a", "fallback-b"));
+        router.recordFailure("primary", 10);
+        router.recordFailure("primary", 10);
+        router.recordFailure("fallback-a", 10);
+        router.recordFailure("fallback-a", 10);
+
+        assertTrue(router.isOpen("primary"));
+        assertEquals("fallback-b", router.route("primary"));
+        assertTrue(router.getHealthSummary().contains("primary: OPEN"));
+    }
+
+    @Test
+    void allCircuitsOpen_returnsNull() {
+        ModelRouter router = router(List.of());
+        router.recordFailure("primary", 10);
+        router.recordFailure("primary", 10);
+
+        assertNull(router.route("primary"));
+
+        clock.set(5000);
+        assertEquals("primary", router.route("primary"));
+    }
+
+    @Test
+    void disabledRouter_alwaysUsesRequestedModel() {
+        assertEquals("primary", ModelRouter.DISABLED.route("primary"));
+        ModelRouter.DISABLED.recordFailure("primary", 10);
+        assertFalse(ModelRouter.DISABLED.isOpen("primary"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.aimafia.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ContextBudget.
+ */
+class ContextBudgetTest {
+
+    private static final ContextBudget BUDGET = new ContextBudget(
+            Map.of("small", new ContextBudget.Window(2000, 0), "capped", new ContextBudget.Window(2000, 300)),
+            new ContextBudget.Window(100_000, 0));
+
+    private static String lines(String prefix, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(prefix).append(' ').append(i).append(": Player_3 voted for Player_5.\n");
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void fit_keepsPromptThatFits() {
+        Prompt prompt = new Prompt(Prompt.Kind.NOMINATION, "GAME HISTORY:\nDay 1 began.\n\n", "Nominate.");
+
+        ContextBudget.Fit fit = BUDGET.fit("small", "system", prompt, 1000);
+
+        assertSame(prompt, fit.prompt());
+        assertFalse(fit.trimmed());
+        assertEquals(1000, fit.maxTokens());
+        assertEquals(300, BUDGET.fit("capped", "system", prompt, 1000).maxTokens(), "model output limit");
+    }
+
+    @Test
+    void fit_sizesMaxTokensFromRoomLeft() {
+        ContextBudget.Fit fit = BUDGET.fit("small", "system", Prompt.of("Vote."), 999_999);
+
+        // 2000 tokens less the 10% margin and the prompt
+        assertEquals(1800 - fit.promptTokens(), fit.maxTokens());
+        assertTrue(fit.promptTokens() > ContextBudget.REQUEST_OVERHEAD_TOKENS);
+    }
+
+    @Test
+    void fit_dropsOldestHistoryFirst() {
+        String notes = "Player_4 is TOWN.\n";
+        Prompt prompt = new Prompt(Prompt.Kind.DISCUSSION, "GAME HISTORY:\n" + lines("Event", 200) + "\n",
+                "Your private notes:\n" + notes + "Speak.", notes);
+
+        ContextBudget.Fit fit = BUDGET.fit("small", "system", prompt, 1000);
+
+        assertTrue(fit.trimmed());
+        assertTrue(fit.promptTokens() <= 1800 - ContextBudget.MIN_COMPLETION_TOKENS);
+        String history = fit.prompt().history();
+        assertTrue(history.startsWith("GAME HISTORY:\n" + ContextBudget.OMITTED), history);
+        assertFalse(history.contains("Event 0:"));
+        assertTrue(history.contains("Event 199:"));
+        assertEquals(prompt.body(), fit.prompt().body(), "notes are kept while history can go");
+
+        ContextBudget.Fit again = BUDGET.fit("small", "system", fit.prompt(), 1000);
+        assertFalse(again.trimmed(), "a trimmed prompt fits as it is");
+    }
+
+    @Test
+    void fit_thenDropsOldestNotes() {
+        String notes = lines("Note", 300);
+        Prompt prompt = new Prompt(Prompt.Kind.JUDGMENT, "GAME HISTORY:\n" + lines("Event", 50) + "\n",
+                "Your private knowledge:\n" + notes + "\nCast your vote.", notes);
+
+        ContextBudget.Fit fit = BUDGET.fit("small", "system", prompt, 1000);
+
+        assertEquals("", fit.prompt().history());
+        String body = fit.prompt().body();
+        assertTrue(body.startsWith("Your private knowledge:\n" + ContextBudget.OMITTED), body);
+        assertTrue(body.endsWith("Note 299: Player_3 voted for Player_5.\n\nCast your vote."));
+        assertFalse(body.contains("Note 0:"));
+        assertTrue(body.contains(fit.prompt().notes()));
+        assertTrue(fit.promptTokens() <= 1800 - ContextBudget.MIN_COMPLETION_TOKENS);
+    }
+
+    @Test
+    void fit_failsWhenSystemPromptAloneIsTooLarge() {
+        assertNull(BUDGET.fit("small", lines("Rule", 200), Prompt.of("Vote."), 1000));
+        assertNotNull(BUDGET.fit("unlisted", lines("Rule", 200), Prompt.of("Vote."), 1000), "default window");
+    }
+
+    @Test
+    void parse_readsWindows() throws Exception {
+        ContextBudget budget = ContextBudget.parse(new StringReader("""
+                default=8000
+                openai/gpt-4o=128000,16384
+                """));
+
+        assertEquals(new ContextBudget.Window(128_000, 16_384), budget.windowOf("openai/gpt-4o"));
+        assertEquals(new ContextBudget.Window(8000, 0), budget.windowOf("other"));
+        assertThrows(IllegalArgumentException.class, () -> ContextBudget.parse(new StringReader("m=big\n")));
+        assertThrows(IllegalArgumentException.class, () -> ContextBudget.parse(new StringReader("m=0\n")));
+    }
+}
@@ -0,0 +1,80 @@
+package com.aimafia.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HedgePolicy.
+ */
+class HedgePolicyTest {
+
+    @Test
+    void hedgeDelay_followsPercentileOnceEnoughSamples() {
+        HedgePolicy policy = new HedgePolicy(0.95, 0, 0.1, "");
+
+        for (int i = 1; i < HedgePolicy.MIN_SAMPLES; i++) {
+            policy.recordLatency("model", i * 100L);
+        }
+        assertEquals(-1, policy.hedgeDelayMs("model"), "too few samples to hedge");
+
+        policy.recordLatency("model", HedgePolicy.MIN_SAMPLES * 100L);
+        assertEquals(1900, policy.hedgeDelayMs("model"));
+        assertEquals(-1, policy.hedgeDelayMs("other-model"), "latencies are per model");
+    }
+
+    @Test
+    void hedgeDelay_isAtLeastMinimum() {
+        HedgePolicy policy = new HedgePolicy(0.5, 800, 0.1, "");
+        for (int i = 0; i < HedgePolicy.MIN_SAMPLES; i++) {
+            policy.recordLatency("model", 10);
+        }
+
+        assertEquals(800, policy.hedgeDelayMs("model"));
+    }
+
+    @Test
+    void window_forgetsOldLatencies() {
+        HedgePolicy policy = new HedgePolicy(1.0, 0, 0.1, "");
+        policy.recordLatency("model", 60_000);
+        for (int i = 0; i < HedgePolicy.WINDOW; i++) {
+            policy.recordLatency("model", 500);
+        }
+
+        assertEquals(500, policy.hedgeDelayMs("model"));
+    }
+
+    @Test
+    void budget_capsHedgeRate() {
+        HedgePolicy policy = new HedgePolicy(0.95, 0, 0.25, "");
+
+        int hedged = 0;
+        for (int i = 0; i < 100; i++) {
+            policy.onCall();
+            if (policy.tryHedge()) {
+                hedged++;
+            }
+        }
+
+        assertEquals(25, hedged);
+        assertTrue(policy.getSummary().contains("25 of 100 calls hedged"));
+    }
+
+    @Test
+    void hedgeModel_defaultsToSameModel() {
+        assertEquals("model", new HedgePolicy(0.95, 0, 0.1, "").hedgeModel("model"));
+        assertEquals("fast-model", new HedgePolicy(0.95, 0, 0.1, " fast-model ").hedgeModel("model"));
+    }
+
+    @Test
+    void disabled_neverHedges() {
+        for (int i = 0; i < 100; i++) {
+            HedgePolicy.DISABLED.onCall();
+            HedgePolicy.DISABLED.recordLatency("model", 100);
+        }
+
+        assertEquals(-1, HedgePolicy.DISABLED.hedgeDelayMs("model"));
+        assertFalse(HedgePolicy.DISABLED.tryHedge());
+        assertThrows(IllegalArgumentException.class, () -> new HedgePolicy(0, 0, 0.1, ""));
+    }
+}
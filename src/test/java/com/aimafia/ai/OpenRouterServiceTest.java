@@ -0,0 +1,133 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.GameConfig;
+import com.aimafia.util.TokenTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OpenRouterService.
+ */
+class OpenRouterServiceTest {
+    private static final String MODEL = "test/model";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // The usage tells the test that the client has read this chunk
+    private static final String FIRST_CHUNK = "data: {\"choices\":[{\"delta\":{\"content\":\"{\\\"thought\\\":\"}}],"
+            + "\"usage\":{\"prompt_tokens\":10,\"completion_tokens\":1}}\n\n";
+
+    private static String contentChunk(String content) throws IOException {
+        return "data: " + MAPPER.writeValueAsString(Map.of("choices",
+                List.of(Map.of("delta", Map.of("content", content))))) + "\n\n";
+    }
+
+    @Test
+    void awaitPendingUsage_waitsForUsageAfterTheAnswer() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        String answer = "{\"thought\":\"t\",\"message\":\"\",\"action\":\"Player_2\"}";
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(contentChunk(answer).getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                // OpenRouter reports the usage in the last chunk, after the answer is complete
+                release.await(10, TimeUnit.SECONDS);
+                out.write(("data: {\"choices\":[],\"usage\":{\"prompt_tokens\":10,\"completion_tokens\":5}}\n\n"
+                        + "data: [DONE]\n\n").getBytes(StandardCharsets.UTF_8));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.start();
+        try {
+            URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api");
+            OpenRouterTransport transport = new OpenRouterTransport(HttpClient.newHttpClient(), uri, "key");
+            TokenTracker tokenTracker = new TokenTracker();
+            OpenRouterService service = new OpenRouterService(transport, MAPPER, GameConfig.getInstance(),
+                    tokenTracker, ModelRouter.DISABLED, RateLimiter.UNLIMITED, true);
+
+            LLMResponse response = service.queryWithPrompts("Player_1", MODEL, "system", "user");
+            assertEquals("Player_2", response.action());
+            assertEquals(0, tokenTracker.getTotalTokens());
+
+            release.countDown();
+            service.awaitPendingUsage();
+
+            assertEquals(15, tokenTracker.getTotalTokens());
+        } finally {
+            release.countDown();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void streamedExchange_cancelled_leavesBreakerWindowUnchanged() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream out = exchange.getResponseBody();
+            out.write(FIRST_CHUNK.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            // The rest of the answer never arrives
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.start();
+        try {
+            URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api");
+            OpenRouterTransport transport = new OpenRouterTransport(HttpClient.newHttpClient(), uri, "key");
+            // A single failure would open this breaker
+            ModelRouter router = new ModelRouter(true, List.of(),
+                    model -> new CircuitBreaker(1, 1, 1.0, 60_000, 60_000, 1, System::currentTimeMillis));
+            TokenTracker tokenTracker = new TokenTracker();
+            OpenRouterService service = new OpenRouterService(transport, MAPPER,
+                    GameConfig.getInstance(), tokenTracker, router, RateLimiter.UNLIMITED, true);
+
+            AtomicReference<LLMResponse> answer = new AtomicReference<>();
+            Thread caller = Thread.ofVirtual().start(() ->
+                    answer.set(service.queryWithPrompts("Player_1", MODEL, "system", "user")));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (tokenTracker.getTotalTokens() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertTrue(tokenTracker.getTotalTokens() > 0, "first chunk was not read");
+
+            // As a phase deadline or a winning hedge does
+            caller.interrupt();
+            caller.join(TimeUnit.SECONDS.toMillis(5));
+
+            assertFalse(caller.isAlive());
+            assertEquals(LLMResponse.fallback("Request interrupted"), answer.get());
+            CircuitBreaker breaker = router.breaker(MODEL);
+            assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+            assertEquals(0.0, breaker.getFailureRate(), 0.0);
+        } finally {
+            release.countDown();
+            server.stop(0);
+        }
+    }
+}
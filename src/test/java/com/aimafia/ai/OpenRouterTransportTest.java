@@ -0,0 +1,67 @@
+package com.aimafia.ai;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OpenRouterTransport.
+ */
+class OpenRouterTransportTest {
+
+    private static final URI API = URI.create("https://openrouter.example/api/v1/chat/completions");
+    private static final byte[] BODY = "{}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void request_copiesTemplateHeaders() {
+        OpenRouterTransport transport = new OpenRouterTransport(HttpClient.newHttpClient(), API, "key");
+
+        HttpRequest plain = transport.request(BODY, Duration.ofSeconds(5), false);
+        assertEquals(API, plain.uri());
+        assertEquals("POST", plain.method());
+        assertEquals("Bearer key", plain.headers().firstValue("Authorization").orElseThrow());
+        assertEquals(Duration.ofSeconds(5), plain.timeout().orElseThrow());
+        assertTrue(plain.headers().firstValue("Accept").isEmpty());
+
+        HttpRequest streamed = transport.request(BODY, Duration.ofSeconds(1), true);
+        assertEquals("text/event-stream", streamed.headers().firstValue("Accept").orElseThrow());
+        assertEquals(Duration.ofSeconds(1), streamed.timeout().orElseThrow());
+
+        HttpRequest after = transport.request(BODY, Duration.ofSeconds(5), false);
+        assertTrue(after.headers().firstValue("Accept").isEmpty(), "the template is not changed by a request");
+        assertEquals(1, after.headers().allValues("Authorization").size());
+    }
+
+    @Test
+    void warmUp_connectsOnce() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(405, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api");
+            OpenRouterTransport transport = new OpenRouterTransport(HttpClient.newHttpClient(), uri, "key");
+
+            transport.warmUp().get(5, TimeUnit.SECONDS);
+            transport.warmUp().get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, requests.get());
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.HistoryStrategy;
+import com.aimafia.model.GameState;
+import com.aimafia.model.Phase;
+import com.aimafia.model.Player;
+import com.aimafia.model.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PromptBuilder history rendering.
+ */
+class PromptBuilderTest {
+
+    private GameState state;
+    private Player voter;
+
+    @BeforeEach
+    void setUp() {
+        state = new GameState();
+        voter = new Player("Player_1", Role.VILLAGER);
+        state.addPlayer(voter);
+        state.addPlayer(new Player("Player_2", Role.MAFIA));
+
+        // Day 1
+        state.addRawToPublicLog("[Night 1] The sun rises... No one died during the night.");
+        state.setCurrentPhase(Phase.DAY_DISCUSSION);
+        state.addToPublicLog("--- Discussion Round 1 ---");
+        state.addRawToPublicLog("Player_2: \"I trust Player_1. We should wait before voting.\"");
+        state.addRawToPublicLog("Player_1 remained silent.");
+        state.setCurrentPhase(Phase.DAY_VOTING);
+        state.addToPublicLog("SKIP votes won. No trial today.");
+
+        // Day 2
+        state.incrementDay();
+        state.addRawToPublicLog("[Night 2] Player_3 was killed during the night.");
+    }
+
+    @Test
+    void fullHistory_leadsThePromptAndContainsEveryEntry() {
+        PromptBuilder builder = new PromptBuilder(HistoryStrategy.FULL, 10);
+
+        Prompt prompt = builder.buildNominationPrompt(voter, state);
+
+        assertTrue(prompt.history().startsWith("GAME HISTORY:\n"));
+        assertTrue(prompt.history().contains("We should wait before voting."));
+        assertTrue(prompt.body().startsWith("=== DAY 2 - NOMINATION ==="));
+        assertSame(prompt.history(), builder.buildNominationPrompt(voter, state).history());
+    }
+
+    @Test
+    void windowHistory_keepsOnlyRecentEntries() {
+        PromptBuilder builder = new PromptBuilder(HistoryStrategy.WINDOW, 2);
+
+        String history = builder.buildNominationPrompt(voter, state).history();
+
+        assertTrue(history.contains("(earlier events omitted)"));
+        assertTrue(history.contains("SKIP votes won"));
+        assertTrue(history.contains("[Night 2]"));
+        assertFalse(history.contains("[Night 1]"));
+    }
+
+    @Test
+    void summaryHistory_condensesFinishedDaysOnly() {
+        PromptBuilder builder = new PromptBuilder(HistoryStrategy.SUMMARY, 10);
+
+        String history = builder.buildNominationPrompt(voter, state).history();
+
+        assertTrue(history.contains("[Day 1 summary]"));
+        assertTrue(history.contains("Player_2: \"I trust Player_1. ...\""));
+        assertFalse(history.contains("We should wait before voting."));
+        assertFalse(history.contains("remained silent"));
+        assertFalse(history.contains("Discussion Round"));
+        assertTrue(history.contains("SKIP votes won"));
+        assertTrue(history.contains("[Night 2] Player_3 was killed during the night."));
+    }
+
+    @Test
+    void privateNotes_areQuotedInBodyAndKeptApart() {
+        PromptBuilder builder = new PromptBuilder(HistoryStrategy.FULL, 10);
+        voter.addToContext("Player_2 defended me on day 1.");
+
+        Prompt prompt = builder.buildDiscussionPrompt(voter, state, null);
+
+        assertEquals("Player_2 defended me on day 1.\n", prompt.notes());
+        assertTrue(prompt.body().contains(prompt.notes()));
+        assertEquals("", builder.buildNominationPrompt(voter, state).notes());
+    }
+
+    @Test
+    void nightPrompt_kindFollowsRole() {
+        PromptBuilder builder = new PromptBuilder(HistoryStrategy.FULL, 10);
+        Player mafioso = state.getPlayerById("Player_2");
+
+        assertEquals(Prompt.Kind.MAFIA_VOTE, builder.buildNightActionPrompt(mafioso, state, "").kind());
+        assertEquals(Prompt.Kind.NIGHT_ACTION, builder.buildNightActionPrompt(voter, state, null).kind());
+        assertEquals(Phase.NIGHT, Prompt.Kind.MAFIA_VOTE.phase());
+    }
+}
@@ -0,0 +1,73 @@
+package com.aimafia.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RateLimiter.
+ */
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+
+    @Test
+    void requestsPerMinute_refillOverTime() throws Exception {
+        RateLimiter limiter = new RateLimiter(2, 0, 0, clock::get);
+
+        assertNotNull(limiter.acquire("model", 10, 0));
+        assertNotNull(limiter.acquire("model", 10, 0));
+        assertNull(limiter.acquire("model", 10, 0));
+        assertNotNull(limiter.acquire("other-model", 10, 0), "limits are per model");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertNotNull(limiter.acquire("model", 10, 0));
+    }
+
+    @Test
+    void tokensPerMinute_limitLargePrompts() throws Exception {
+        RateLimiter limiter = new RateLimiter(0, 100, 0, clock::get);
+
+        assertNotNull(limiter.acquire("model", 80, 0));
+        assertNull(limiter.acquire("model", 80, 0));
+        assertNotNull(limiter.acquire("model", 20, 0));
+    }
+
+    @Test
+    void maxInFlight_isReleasedWhenPermitCloses() throws Exception {
+        RateLimiter limiter = new RateLimiter(0, 0, 1, clock::get);
+
+        RateLimiter.Permit permit = limiter.acquire("model", 10, 0);
+        assertNotNull(permit);
+        assertNull(limiter.acquire("model", 10, 0));
+
+        permit.close();
+        permit.close();
+        try (RateLimiter.Permit next = limiter.acquire("model", 10, 0)) {
+            assertNotNull(next);
+        }
+    }
+
+    @Test
+    void throttled_pausesUntilBucketRefills() throws Exception {
+        RateLimiter limiter = new RateLimiter(600, 0, 0, System::nanoTime);
+        assertNotNull(limiter.acquire("model", 10, 0));
+
+        limiter.onThrottled("model");
+        assertNull(limiter.acquire("model", 10, 0));
+
+        long start = System.nanoTime();
+        assertNotNull(limiter.acquire("model", 10, TimeUnit.SECONDS.toNanos(5)));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(90));
+    }
+
+    @Test
+    void unlimited_grantsImmediately() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            assertNotNull(RateLimiter.UNLIMITED.acquire("model", 1_000_000, 0));
+        }
+    }
+}
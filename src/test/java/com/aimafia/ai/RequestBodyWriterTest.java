@@ -0,0 +1,146 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.ResponseSchema;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RequestBodyWriter.
+ */
+class RequestBodyWriterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void write_withPromptCaching_marksStablePrefix() throws Exception {
+        RequestBodyWriter writer = new RequestBodyWriter(1500, true);
+        JsonNode body = mapper.readTree(writer.write("openai/gpt-4o", "You are \"Player_1\".",
+                new Prompt(Prompt.Kind.DISCUSSION, "GAME HISTORY:\n...", "Your turn"), false));
+
+        assertEquals("openai/gpt-4o", body.get("model").asText());
+        assertEquals(1500, body.get("max_tokens").asInt());
+        assertEquals(1, body.get("temperature").asInt());
+        assertFalse(body.has("stream"));
+        assertTrue(body.get("usage").get("include").asBoolean(), "cost is requested without streaming too");
+
+        JsonNode system = body.get("messages").get(0);
+        assertEquals("system", system.get("role").asText());
+        assertEquals("You are \"Player_1\".", system.get("content").get(0).get("text").asText());
+        assertEquals("ephemeral", system.get("content").get(0).get("cache_control").get("type").asText());
+
+        JsonNode user = body.get("messages").get(1).get("content");
+        assertEquals("GAME HISTORY:\n...", user.get(0).get("text").asText());
+        assertTrue(user.get(0).has("cache_control"));
+        assertEquals("Your turn", user.get(1).get("text").asText());
+        assertFalse(user.get(1).has("cache_control"));
+    }
+
+    @Test
+    void write_withoutPromptCaching_usesPlainMessages() throws Exception {
+        RequestBodyWriter writer = new RequestBodyWriter(800, false);
+        Prompt prompt = new Prompt(Prompt.Kind.NOMINATION, "history", "body");
+        JsonNode body = mapper.readTree(writer.write("m", "system", prompt, true));
+
+        assertEquals("system", body.get("messages").get(0).get("content").asText());
+        assertEquals(prompt.text(), body.get("messages").get(1).get("content").asText());
+        assertTrue(body.get("stream").asBoolean());
+        assertTrue(body.get("usage").get("include").asBoolean());
+        assertEquals(800, body.get("max_tokens").asInt());
+        assertNull(body.get("reasoning"));
+    }
+
+    @Test
+    void write_withPromptCaching_sendsPromptWithoutHistoryAsPlainMessage() throws Exception {
+        RequestBodyWriter writer = new RequestBodyWriter(800, true);
+        JsonNode body = mapper.readTree(writer.write("m", "system",
+                new Prompt(Prompt.Kind.NIGHT_ACTION, "", "Choose a target"), false));
+
+        JsonNode messages = body.get("messages");
+        assertEquals(2, messages.size());
+        assertTrue(messages.get(0).get("content").get(0).has("cache_control"));
+        assertEquals("Choose a target", messages.get(1).get("content").asText());
+    }
+
+    @Test
+    void write_withPromptCaching_keepsPrefixAcrossTurns() {
+        RequestBodyWriter writer = new RequestBodyWriter(800, true);
+        String history = "GAME HISTORY:\nDay 1: Player_3 was eliminated.\n";
+        String first = new String(writer.write("m", "system",
+                new Prompt(Prompt.Kind.DISCUSSION, history, "Speak first"), false), StandardCharsets.UTF_8);
+        String second = new String(writer.write("m", "system",
+                new Prompt(Prompt.Kind.DISCUSSION, history, "Answer Player_2"), false), StandardCharsets.UTF_8);
+
+        // Everything before the per-turn body is the cacheable prefix
+        int prefixEnd = first.indexOf("Speak first");
+        assertEquals(first.substring(0, prefixEnd), second.substring(0, prefixEnd));
+        int historyAt = first.indexOf(history.replace("\n", "\\n"));
+        assertTrue(historyAt >= 0 && historyAt < prefixEnd, "history precedes the body");
+    }
+
+    @Test
+    void write_withoutPromptCaching_sendsHistoryBeforeBody() throws Exception {
+        RequestBodyWriter writer = new RequestBodyWriter(800, false);
+        JsonNode body = mapper.readTree(writer.write("m", "system",
+                new Prompt(Prompt.Kind.DISCUSSION, "GAME HISTORY:\n...\n", "Your turn"), false));
+
+        JsonNode messages = body.get("messages");
+        assertEquals(2, messages.size());
+        assertTrue(messages.get(0).get("content").isTextual());
+        assertEquals("GAME HISTORY:\n...\nYour turn", messages.get(1).get("content").asText());
+        assertFalse(body.toString().contains("cache_control"));
+    }
+
+    @Test
+    void responseFormat_listsFieldsInAnswerOrder() throws Exception {
+        RequestBodyWriter writer = new RequestBodyWriter(800, true);
+        JsonNode format = mapper.readTree(writer.write("m", "s", Prompt.of("b"), false)).get("response_format");
+
+        assertEquals("json_schema", format.get("type").asText());
+        JsonNode schema = format.get("json_schema").get("schema");
+        List<String> properties = new ArrayList<>();
+        schema.get("properties").fieldNames().forEachRemaining(properties::add);
+        assertEquals(List.of("thought", "message", "action"), properties);
+        assertFalse(schema.get("additionalProperties").asBoolean());
+    }
+
+    @Test
+    void write_isByteStable() {
+        RequestBodyWriter writer = new RequestBodyWriter(800, true);
+        Prompt prompt = new Prompt(Prompt.Kind.JUDGMENT, "history é", "body");
+
+        assertArrayEquals(writer.write("m", "s", prompt, false), writer.write("m", "s", prompt, false));
+    }
+
+    @Test
+    void write_withProfile_setsSchemaTokensAndReasoning() throws Exception {
+        RequestBodyWriter writer = new RequestBodyWriter(800, true);
+        Prompt prompt = new Prompt(Prompt.Kind.NOMINATION, "history", "body");
+
+        JsonNode action = mapper.readTree(writer.write("m", "s", prompt,
+                new RequestProfile(ResponseSchema.ACTION, 1024, "Low"), 250, false));
+        assertEquals(250, action.get("max_tokens").asInt());
+        assertEquals("low", action.get("reasoning").get("effort").asText());
+        JsonNode schema = action.get("response_format").get("json_schema").get("schema");
+        assertEquals(List.of("action"), fieldNames(schema.get("properties")));
+        assertEquals("[\"action\"]", schema.get("required").toString());
+
+        JsonNode brief = mapper.readTree(writer.write("m", "s", prompt,
+                new RequestProfile(ResponseSchema.BRIEF, 1024, ""), 250, false));
+        assertNull(brief.get("reasoning"));
+        assertEquals(List.of("thought", "action"),
+                fieldNames(brief.get("response_format").get("json_schema").get("schema").get("properties")));
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,112 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.ResponseSchema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ResponseCache.
+ */
+class ResponseCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final RequestProfile PROFILE = new RequestProfile(ResponseSchema.FULL, 1000, "");
+
+    private static ResponseCache.Key key(int i) {
+        return ResponseCache.keyOf("model", "system", new Prompt("history", "body " + i), PROFILE, 1000, 1);
+    }
+
+    private static LLMResponse answer(int i) {
+        return new LLMResponse("thought " + i, "", "Player_" + i);
+    }
+
+    @Test
+    void keyOf_coversModelPromptsAndTemperature() {
+        Prompt prompt = new Prompt("ab", "c");
+        ResponseCache.Key key = ResponseCache.keyOf("m", "s", prompt, PROFILE, 1000, 1);
+
+        assertEquals(key, ResponseCache.keyOf("m", "s", new Prompt("ab", "c"), PROFILE, 1000, 1));
+        assertNotEquals(key, ResponseCache.keyOf("other", "s", prompt, PROFILE, 1000, 1));
+        assertNotEquals(key, ResponseCache.keyOf("m", "s2", prompt, PROFILE, 1000, 1));
+        assertNotEquals(key, ResponseCache.keyOf("m", "s", new Prompt("a", "bc"), PROFILE, 1000, 1));
+        assertNotEquals(key, ResponseCache.keyOf("m", "s", prompt, PROFILE, 1000, 0.5));
+    }
+
+    @Test
+    void keyOf_coversRequestProfile() {
+        Prompt prompt = new Prompt("ab", "c");
+        ResponseCache.Key key = ResponseCache.keyOf("m", "s", prompt, PROFILE, 1000, 1);
+
+        assertNotEquals(key, ResponseCache.keyOf("m", "s", prompt,
+                new RequestProfile(ResponseSchema.ACTION, 1000, ""), 1000, 1));
+        assertNotEquals(key, ResponseCache.keyOf("m", "s", prompt,
+                new RequestProfile(ResponseSchema.FULL, 1000, "low"), 1000, 1));
+        assertNotEquals(key, ResponseCache.keyOf("m", "s", prompt, PROFILE, 500, 1));
+    }
+
+    @Test
+    void memoryTier_evictsLeastRecentlyUsed() throws Exception {
+        ResponseCache cache = new ResponseCache(2, null, 0);
+        cache.put(key(1), answer(1));
+        cache.put(key(2), answer(2));
+        assertEquals(answer(1), cache.get(key(1)));
+
+        cache.put(key(3), answer(3));
+        assertNull(cache.get(key(2)));
+        assertEquals(answer(1), cache.get(key(1)));
+        assertEquals(answer(3), cache.get(key(3)));
+    }
+
+    @Test
+    void diskTier_survivesReopen() throws Exception {
+        try (ResponseCache cache = new ResponseCache(1, tempDir, 1 << 20)) {
+            for (int i = 0; i < 50; i++) {
+                cache.put(key(i), answer(i));
+            }
+        }
+
+        try (ResponseCache reopened = new ResponseCache(1, tempDir, 1 << 20)) {
+            for (int i = 0; i < 50; i++) {
+                assertEquals(answer(i), reopened.get(key(i)));
+            }
+            assertNull(reopened.get(key(50)));
+        }
+    }
+
+    @Test
+    void diskTier_staysWithinBoundAndKeepsEntriesInUse() throws Exception {
+        long maxBytes = 16 * 1024;
+        try (ResponseCache cache = new ResponseCache(1, tempDir, maxBytes)) {
+            cache.put(key(0), answer(0));
+            for (int i = 1; i < 2000; i++) {
+                cache.put(key(i), answer(i));
+                // Reading the first entry now and then copies it forward through rotations
+                if (i % 20 == 0) {
+                    assertEquals(answer(0), cache.get(key(0)));
+                }
+            }
+            assertNull(cache.get(key(1)), "old entries are evicted");
+            assertEquals(answer(1999), cache.get(key(1999)));
+        }
+
+        long dataBytes;
+        try (Stream<Path> files = Files.list(tempDir)) {
+            dataBytes = files.filter(f -> f.toString().endsWith(".dat")).mapToLong(f -> f.toFile().length()).sum();
+        }
+        assertTrue(dataBytes <= maxBytes, "data files use " + dataBytes + " bytes");
+    }
+
+    @Test
+    void disabled_holdsNothing() {
+        ResponseCache.DISABLED.put(key(1), answer(1));
+        assertNull(ResponseCache.DISABLED.get(key(1)));
+    }
+}
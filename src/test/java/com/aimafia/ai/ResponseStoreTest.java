@@ -0,0 +1,56 @@
+package com.aimafia.ai;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ResponseStore.
+ */
+class ResponseStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recording_replaysSeedAndResponsesByRequest() throws Exception {
+        Path file = tempDir.resolve("game.responses.jsonl");
+        try (ResponseStore recorder = ResponseStore.record(file, 42L, false)) {
+            recorder.put("P1", "model-a", "{\"prompt\":1}", new ResponseStore.Exchange(200, "first"));
+            recorder.put("P2", "model-b", "{\"prompt\":2}", new ResponseStore.Exchange(500, "error"));
+        }
+
+        try (ResponseStore replay = ResponseStore.load(file)) {
+            assertTrue(replay.isReplaying());
+            assertEquals(42L, replay.getSeed());
+            assertFalse(replay.isUseFixedRoles());
+
+            // Requests may arrive in a different order than they were recorded
+            assertEquals(Optional.of(new ResponseStore.Exchange(500, "error")),
+                    replay.take("P2", "{\"prompt\":2}"));
+            assertEquals(Optional.of(new ResponseStore.Exchange(200, "first")),
+                    replay.take("P1", "{\"prompt\":1}"));
+            assertTrue(replay.take("P1", "{\"prompt\":1}").isEmpty());
+        }
+    }
+
+    @Test
+    void changedPrompt_fallsBackToPlayersNextResponse() throws Exception {
+        Path file = tempDir.resolve("changed.responses.jsonl");
+        try (ResponseStore recorder = ResponseStore.record(file, 7L, true)) {
+            recorder.put("P1", "model-a", "old prompt 1", new ResponseStore.Exchange(200, "one"));
+            recorder.put("P1", "model-a", "old prompt 2", new ResponseStore.Exchange(200, "two"));
+        }
+
+        try (ResponseStore replay = ResponseStore.load(file)) {
+            assertEquals("two", replay.take("P1", "old prompt 2").orElseThrow().body());
+            assertEquals("one", replay.take("P1", "new prompt").orElseThrow().body());
+            assertTrue(replay.take("P1", "another prompt").isEmpty());
+            assertTrue(replay.getReplaySummary().contains("1 exact, 1 by player order, 1 missing"));
+        }
+    }
+}
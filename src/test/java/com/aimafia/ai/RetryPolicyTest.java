@@ -0,0 +1,62 @@
+package com.aimafia.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RetryPolicy.
+ */
+class RetryPolicyTest {
+
+    private final RetryPolicy policy = new RetryPolicy(3, 100, 2000, 10_000);
+
+    @Test
+    void statusClassification_retriesOnlyTransientErrors() {
+        assertTrue(policy.isRetryable(429));
+        assertTrue(policy.isRetryable(408));
+        assertTrue(policy.isRetryable(500));
+        assertTrue(policy.isRetryable(503));
+        assertFalse(policy.isRetryable(400));
+        assertFalse(policy.isRetryable(401));
+        assertFalse(policy.isRetryable(404));
+    }
+
+    @Test
+    void backoff_growsWithJitterAndStaysWithinBounds() {
+        assertEquals(100, policy.nextDelayMs(0, RetryPolicy.NO_RETRY_AFTER));
+
+        long delay = 100;
+        for (int i = 0; i < 50; i++) {
+            long next = policy.nextDelayMs(delay, RetryPolicy.NO_RETRY_AFTER);
+            assertTrue(next >= 100 && next <= Math.min(2000, delay * 3), "delay " + next);
+            delay = next;
+        }
+        assertTrue(policy.nextDelayMs(2000, RetryPolicy.NO_RETRY_AFTER) <= 2000);
+    }
+
+    @Test
+    void retryAfter_overridesComputedBackoff() {
+        assertEquals(5000, policy.nextDelayMs(100, 5000));
+    }
+
+    @Test
+    void retryAfter_parsesSecondsAndHttpDates() {
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        assertEquals(7000, RetryPolicy.parseRetryAfterMs("7", now));
+        assertEquals(3000, RetryPolicy.parseRetryAfterMs("Mon, 01 Jan 2024 00:00:03 GMT", now));
+        assertEquals(0, RetryPolicy.parseRetryAfterMs("Sun, 31 Dec 2023 23:59:00 GMT", now));
+        assertEquals(RetryPolicy.NO_RETRY_AFTER, RetryPolicy.parseRetryAfterMs(null, now));
+        assertEquals(RetryPolicy.NO_RETRY_AFTER, RetryPolicy.parseRetryAfterMs("soon", now));
+    }
+
+    @Test
+    void invalidSettings_areRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(-1, 100, 2000, 10_000));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(3, 500, 100, 10_000));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(3, 100, 2000, 0));
+    }
+}
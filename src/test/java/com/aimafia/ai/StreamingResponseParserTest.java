@@ -0,0 +1,77 @@
+package com.aimafia.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for StreamingResponseParser.
+ */
+class StreamingResponseParserTest {
+
+    private final StreamingResponseParser parser = new StreamingResponseParser(new JsonFactory());
+
+    private void feedInChunks(String text, int size) {
+        for (int i = 0; i < text.length(); i += size) {
+            parser.feed(text.substring(i, Math.min(text.length(), i + size)));
+        }
+    }
+
+    @Test
+    void fieldsSplitAcrossDeltas_areReassembled() {
+        feedInChunks("{\"thought\": \"P3 lied \\\"twice\\\"\", \"message\": \"Vote P3\", \"action\": \"VOTE: Player_3\"}", 3);
+
+        assertTrue(parser.isComplete(true));
+        assertNull(parser.getError());
+        LLMResponse response = parser.toResponse();
+        assertEquals("P3 lied \"twice\"", response.thought());
+        assertEquals("Vote P3", response.message());
+        assertEquals("VOTE: Player_3", response.action());
+    }
+
+    @Test
+    void actionComplete_beforeObjectCloses() {
+        parser.feed("{\"thought\": \"t\", \"action\": \"KILL: Player_2\"");
+        assertTrue(parser.isComplete(false));
+        assertFalse(parser.isComplete(true), "message has not arrived yet");
+
+        parser.feed(", \"message\": \"\"");
+        assertTrue(parser.isComplete(true));
+        assertNull(parser.getError());
+        assertEquals("KILL: Player_2", parser.toResponse().action());
+    }
+
+    @Test
+    void partialAction_isNotComplete() {
+        parser.feed("{\"thought\": \"t\", \"action\": \"VOTE: Pla");
+        assertFalse(parser.isComplete(false));
+    }
+
+    @Test
+    void textAroundObject_isIgnored() {
+        parser.feed("Here you go:\n```json\n");
+        parser.feed("{\"action\": \"NO_ACTION\", \"extra\": {\"a\": [1, 2]}}");
+        parser.feed("\n```");
+
+        assertTrue(parser.isComplete(true));
+        assertNull(parser.getError());
+        assertEquals("NO_ACTION", parser.toResponse().action());
+        assertEquals("", parser.toResponse().message());
+    }
+
+    @Test
+    void invalidOrMissingJson_reportsError() {
+        parser.feed("I refuse to answer.");
+        assertEquals("No JSON object in response", parser.getError());
+
+        StreamingResponseParser truncated = new StreamingResponseParser(new JsonFactory());
+        truncated.feed("{\"thought\": \"cut off");
+        assertNotNull(truncated.getError());
+
+        StreamingResponseParser broken = new StreamingResponseParser(new JsonFactory());
+        broken.feed("{\"action\" \"VOTE\"}");
+        assertTrue(broken.isComplete(false));
+        assertNotNull(broken.getError());
+    }
+}
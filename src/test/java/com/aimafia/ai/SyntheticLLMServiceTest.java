@@ -0,0 +1,78 @@
+package com.aimafia.ai;
+
+import com.aimafia.config.LatencyDistribution;
+import com.aimafia.engine.GameEngine;
+import com.aimafia.model.GameState;
+import com.aimafia.model.Phase;
+import com.aimafia.model.Player;
+import com.aimafia.model.Role;
+import com.aimafia.util.GameLogger;
+import com.aimafia.util.TokenTracker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SyntheticLLMService.
+ */
+class SyntheticLLMServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void nightActions_targetValidPlayers() {
+        GameState state = new GameState();
+        Player mafioso = new Player("Player_1", Role.MAFIA);
+        state.addPlayer(mafioso);
+        state.addPlayer(new Player("Player_2", Role.MAFIA));
+        state.addPlayer(new Player("Player_3", Role.VILLAGER));
+        state.setCurrentPhase(Phase.NIGHT);
+
+        SyntheticLLMService service = new SyntheticLLMService(
+                LatencyDistribution.NONE, 0, 0.0, 0, null, new TokenTracker(), 1L);
+
+        for (int i = 0; i < 20; i++) {
+            Prompt prompt = service.getPromptBuilder().buildNightActionPrompt(mafioso, state, null);
+            assertEquals("Player_3", service.query(mafioso, state, prompt).action());
+        }
+    }
+
+    @Test
+    void scriptedAnswers_overrideRandomActionsAndErrorsAreRetried() {
+        GameState state = new GameState();
+        Player voter = new Player("Player_1", Role.VILLAGER);
+        state.addPlayer(voter);
+        state.addPlayer(new Player("Player_2", Role.MAFIA));
+
+        SyntheticLLMService service = new SyntheticLLMService(
+                LatencyDistribution.NONE, 0, 1.0, 2,
+                (player, s, prompt) -> new LLMResponse("", "", "GUILTY"), new TokenTracker(), 1L);
+        LLMResponse failed = service.query(voter, state, Prompt.of(Prompt.Kind.JUDGMENT, "vote"));
+        assertTrue(failed.isSkip());
+        assertEquals(3, service.getAttempts());
+        assertEquals(3, service.getErrors());
+
+        SyntheticLLMService healthy = new SyntheticLLMService(
+                LatencyDistribution.NONE, 0, 0.0, 2,
+                (player, s, prompt) -> new LLMResponse("", "", "GUILTY"), new TokenTracker(), 1L);
+        assertTrue(healthy.query(voter, state, Prompt.of(Prompt.Kind.JUDGMENT, "vote")).isGuilty());
+    }
+
+    @Test
+    void fullGame_runsOfflineToCompletion() {
+        TokenTracker tokenTracker = new TokenTracker();
+        SyntheticLLMService service = new SyntheticLLMService(
+                LatencyDistribution.NONE, 0, 0.05, 3, null, tokenTracker, 7L);
+        GameEngine engine = new GameEngine(service, new GameLogger(tempDir, "synthetic"),
+                tokenTracker, 7L, false);
+
+        engine.run();
+
+        assertTrue(engine.getWinner().isPresent());
+        assertTrue(tokenTracker.getTotalTokens() > 0);
+    }
+}
@@ -0,0 +1,35 @@
+package com.aimafia.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TokenEstimator.
+ */
+class TokenEstimatorTest {
+
+    @Test
+    void count_splitsLikeTokenizer() {
+        assertEquals(0, TokenEstimator.count(null));
+        assertEquals(0, TokenEstimator.count(""));
+        assertEquals(10, TokenEstimator.count("The quick brown fox jumps over the lazy dog."));
+        assertEquals(3, TokenEstimator.count("Player_10"), "word, underscore, digits");
+        assertEquals(2, TokenEstimator.count("1234"), "digits go in threes");
+        assertEquals(3, TokenEstimator.count("investigation"), "long words take several tokens");
+        assertEquals(2, TokenEstimator.count("\n\n"));
+        assertEquals(2, TokenEstimator.count("é!"));
+    }
+
+    @Test
+    void count_ofTextIsSumOfItsLines() {
+        String text = "=== NIGHT 2 ===\nPlayer_3 was killed.\n    indented line\n";
+        int lines = 0;
+        for (int start = 0; start < text.length(); ) {
+            int next = text.indexOf('\n', start) + 1;
+            lines += TokenEstimator.count(text, start, next);
+            start = next;
+        }
+        assertEquals(TokenEstimator.count(text), lines);
+    }
+}
@@ -0,0 +1,76 @@
+package com.aimafia.engine;
+
+import com.aimafia.ai.LLMResponse;
+import com.aimafia.ai.SyntheticLLMService;
+import com.aimafia.config.LatencyDistribution;
+import com.aimafia.model.GameState;
+import com.aimafia.model.Player;
+import com.aimafia.model.Role;
+import com.aimafia.util.GameLogger;
+import com.aimafia.util.TokenTracker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for DayPhaseHandler discussion lookahead.
+ */
+class DayPhaseHandlerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void lookahead_missesAtMostNStatementsAndKeepsSpeakingOrder() {
+        GameState state = new GameState();
+        for (int i = 1; i <= 6; i++) {
+            state.addPlayer(new Player("Player_" + i, i <= 2 ? Role.MAFIA : Role.VILLAGER));
+        }
+
+        // Earlier statements each speaker saw, one entry per round
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        SyntheticLLMService service = new SyntheticLLMService(
+                LatencyDistribution.UNIFORM, 20, 0.0, 0,
+                (player, s, prompt) -> {
+                    int statements = (int) prompt.body().lines()
+                            .filter(l -> l.startsWith("Player_") && l.contains(": \"Hello from"))
+                            .count();
+                    seen.computeIfAbsent(player.getId(), id -> new ArrayList<>()).add(statements);
+                    return new LLMResponse("", "Hello from " + player.getId(), "SKIP");
+                }, new TokenTracker(), 1L);
+        GameLogger gameLogger = new GameLogger(tempDir);
+        DayPhaseHandler handler = new DayPhaseHandler(service, gameLogger, 2);
+
+        handler.execute(state);
+        gameLogger.close();
+
+        // Statements are committed in speaking order, so a speaker's position is its index in the round
+        int round = -1;
+        int position = 0;
+        for (String event : state.getPublicLog()) {
+            if (event.contains("Discussion Round")) {
+                round++;
+                position = 0;
+            } else if (event.startsWith("Player_") && event.contains(": \"Hello from")) {
+                String speaker = event.substring(0, event.indexOf(':'));
+                assertEquals("Hello from " + speaker, event.substring(event.indexOf('"') + 1, event.length() - 1));
+
+                int statements = seen.get(speaker).get(round);
+                assertTrue(statements <= position && statements >= position - 2,
+                        speaker + " at position " + position + " saw " + statements + " statements");
+                if (position == 1) {
+                    assertEquals(0, statements, "the second request is sent before the first answer");
+                }
+                position++;
+            }
+        }
+        assertEquals(6, position);
+    }
+}
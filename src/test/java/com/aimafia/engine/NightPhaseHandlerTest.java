@@ -0,0 +1,127 @@
+package com.aimafia.engine;
+
+import com.aimafia.ai.LLMResponse;
+import com.aimafia.ai.SyntheticLLMService;
+import com.aimafia.config.LatencyDistribution;
+import com.aimafia.config.MafiaConsensus;
+import com.aimafia.model.GameState;
+import com.aimafia.model.Player;
+import com.aimafia.model.Role;
+import com.aimafia.util.GameLogger;
+import com.aimafia.util.TokenTracker;
+import com.aimafia.validation.ActionValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for NightPhaseHandler's speculative night actions and Mafia consensus.
+ */
+class NightPhaseHandlerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<String, Integer> queries = new ConcurrentHashMap<>();
+    private GameState state;
+    private GameLogger gameLogger;
+    private NightPhaseHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        state = new GameState();
+        state.addPlayer(new Player("Player_1", Role.MAFIA));
+        state.addPlayer(new Player("Player_2", Role.SHERIFF));
+        state.addPlayer(new Player("Player_3", Role.DOCTOR));
+        state.addPlayer(new Player("Player_4", Role.VILLAGER));
+        state.addPlayer(new Player("Player_5", Role.VILLAGER));
+
+        SyntheticLLMService service = new SyntheticLLMService(
+                LatencyDistribution.NONE, 0, 0.0, 0,
+                (player, s, prompt) -> {
+                    queries.merge(player.getId(), 1, Integer::sum);
+                    return switch (player.getRole()) {
+                        case MAFIA -> new LLMResponse("", "", "Player_4");
+                        case SHERIFF -> new LLMResponse("", "", "Player_1");
+                        case DOCTOR -> new LLMResponse("", "", "Player_3");
+                        default -> new LLMResponse("", "", "SKIP");
+                    };
+                }, new TokenTracker(), 1L);
+        gameLogger = new GameLogger(tempDir);
+        handler = new NightPhaseHandler(service, new ActionValidator(), gameLogger);
+    }
+
+    @Test
+    void speculativeAnswers_areUsedWhenStateIsUnchanged() {
+        handler.speculate(state);
+        state.incrementDay();
+        NightResult result = handler.execute(state);
+        gameLogger.close();
+
+        assertEquals("Player_4", result.mafiaTarget());
+        assertEquals("MAFIA", result.sheriffResult());
+        assertEquals(Map.of("Player_1", 1, "Player_2", 1, "Player_3", 1), queries);
+    }
+
+    @Test
+    void speculativeAnswers_areDiscardedWhenStateChanges() {
+        handler.speculate(state);
+        state.incrementDay();
+        state.getPlayerById("Player_5").kill();
+        NightResult result = handler.execute(state);
+        gameLogger.close();
+
+        assertEquals("Player_4", result.mafiaTarget());
+        assertEquals(Map.of("Player_1", 2, "Player_2", 2, "Player_3", 2), queries);
+    }
+
+    @Test
+    void parallelConsensus_proposesTogetherThenRatifies() {
+        GameState mafiaState = new GameState();
+        for (int i = 1; i <= 3; i++) {
+            mafiaState.addPlayer(new Player("Player_" + i, Role.MAFIA));
+        }
+        mafiaState.addPlayer(new Player("Player_4", Role.VILLAGER));
+        mafiaState.addPlayer(new Player("Player_5", Role.VILLAGER));
+
+        CountDownLatch proposals = new CountDownLatch(3);
+        AtomicBoolean proposedTogether = new AtomicBoolean(true);
+        AtomicBoolean sawOtherProposals = new AtomicBoolean(false);
+        SyntheticLLMService service = new SyntheticLLMService(
+                LatencyDistribution.NONE, 0, 0.0, 0,
+                (player, s, prompt) -> {
+                    queries.merge(player.getId(), 1, Integer::sum);
+                    if (prompt.body().contains("TIE-BREAKER")) {
+                        return new LLMResponse("", "", "Player_5");
+                    }
+                    sawOtherProposals.compareAndSet(false, prompt.body().contains("votes for"));
+                    proposals.countDown();
+                    try {
+                        // Only completes if all members are asked at the same time
+                        proposedTogether.compareAndSet(true, proposals.await(5, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new LLMResponse("", "", player.getId().equals("Player_1") ? "Player_4" : "Player_5");
+                }, new TokenTracker(), 1L);
+        NightPhaseHandler parallel = new NightPhaseHandler(service, new ActionValidator(), gameLogger,
+                MafiaConsensus.PARALLEL);
+
+        NightResult result = parallel.execute(mafiaState);
+        gameLogger.close();
+
+        assertEquals("Player_5", result.mafiaTarget());
+        assertTrue(proposedTogether.get());
+        assertFalse(sawOtherProposals.get());
+        assertEquals(Map.of("Player_1", 2, "Player_2", 2, "Player_3", 2), queries);
+    }
+}
@@ -0,0 +1,86 @@
+package com.aimafia.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PhaseScope.
+ */
+class PhaseScopeTest {
+
+    @Test
+    void join_returnsResultsAndFallbackForFailures() {
+        try (PhaseScope scope = new PhaseScope("Test", Duration.ofSeconds(10))) {
+            Supplier<String> ok = scope.fork("ok", () -> "Player_1", "SKIP");
+            Supplier<String> failed = scope.fork("failed", () -> {
+                throw new IllegalStateException("boom");
+            }, "SKIP");
+            Supplier<String> nothing = scope.fork("nothing", () -> null, "SKIP");
+            scope.join();
+
+            assertEquals("Player_1", ok.get());
+            assertEquals("SKIP", failed.get());
+            assertNull(nothing.get(), "a null result is a result");
+        }
+    }
+
+    @Test
+    void deadline_cancelsStragglers() throws Exception {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch ended = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        try (PhaseScope scope = new PhaseScope("Test", Duration.ofMillis(200))) {
+            Supplier<String> fast = scope.fork("fast", () -> "GUILTY", "INNOCENT");
+            Supplier<String> slow = scope.fork("slow", () -> {
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                    return "GUILTY";
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                    // A late answer must not replace the default
+                    return "GUILTY";
+                } finally {
+                    ended.countDown();
+                }
+            }, "INNOCENT");
+            scope.join();
+
+            assertEquals("GUILTY", fast.get());
+            assertEquals("INNOCENT", slow.get());
+        }
+
+        assertTrue(ended.await(0, TimeUnit.SECONDS), "close waits for cancelled actions");
+        assertTrue(interrupted.get());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+    }
+
+    @Test
+    void noDeadline_waitsForAll() {
+        try (PhaseScope scope = new PhaseScope("Test", Duration.ZERO)) {
+            Supplier<Integer> slow = scope.fork("slow", () -> {
+                Thread.sleep(300);
+                return 42;
+            }, -1);
+            scope.join();
+
+            assertEquals(42, slow.get());
+        }
+    }
+
+    @Test
+    void get_beforeJoin_throws() {
+        try (PhaseScope scope = new PhaseScope("Test", Duration.ZERO)) {
+            Supplier<String> result = scope.fork("a", () -> "x", null);
+            assertThrows(IllegalStateException.class, result::get);
+            scope.join();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.aimafia.engine;
+
+import com.aimafia.model.Role;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TournamentResult aggregation.
+ */
+class TournamentResultTest {
+
+    @Test
+    void winRates_areAggregatedPerModel() {
+        // Game 0: Town wins, model-a played Town, model-b played Mafia
+        TournamentResult.GameOutcome townWin = new TournamentResult.GameOutcome(0, 1L,
+                Optional.of(WinConditionChecker.Team.TOWN),
+                List.of(new TournamentResult.Seat("Player_1", "model-a", Role.VILLAGER),
+                        new TournamentResult.Seat("Player_2", "model-b", Role.MAFIA)),
+                100, 0.01);
+        // Game 1: Mafia wins, model-a played Mafia, model-b played Town
+        TournamentResult.GameOutcome mafiaWin = new TournamentResult.GameOutcome(1, 2L,
+                Optional.of(WinConditionChecker.Team.MAFIA),
+                List.of(new TournamentResult.Seat("Player_1", "model-a", Role.MAFIA),
+                        new TournamentResult.Seat("Player_2", "model-b", Role.SHERIFF)),
+                100, 0.01);
+
+        TournamentResult result = TournamentResult.of(List.of(mafiaWin, townWin), Duration.ofSeconds(5));
+
+        TournamentResult.ModelStats a = result.modelStats().get("model-a");
+        assertEquals(2, a.seats());
+        assertEquals(2, a.wins());
+        assertEquals(1.0, a.mafiaWinRate());
+        assertEquals(1.0, a.townWinRate());
+
+        TournamentResult.ModelStats b = result.modelStats().get("model-b");
+        assertEquals(0, b.wins());
+        assertEquals(0.0, b.winRate());
+
+        assertEquals(0, result.games().get(0).gameIndex());
+    }
+
+    @Test
+    void crashedGames_doNotCountTowardsWinRates() {
+        TournamentResult.GameOutcome crashed = new TournamentResult.GameOutcome(0, 1L,
+                Optional.empty(),
+                List.of(new TournamentResult.Seat("Player_1", "model-a", Role.VILLAGER)),
+                0, 0.0);
+
+        TournamentResult result = TournamentResult.of(List.of(crashed), Duration.ZERO);
+
+        assertEquals(0, result.completedGames());
+        assertTrue(result.modelStats().isEmpty());
+        assertTrue(result.getSummary().contains("crashed 1"));
+    }
+}
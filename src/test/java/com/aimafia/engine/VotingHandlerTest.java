@@ -0,0 +1,115 @@
+package com.aimafia.engine;
+
+import com.aimafia.ai.LLMResponse;
+import com.aimafia.ai.SyntheticLLMService;
+import com.aimafia.config.LatencyDistribution;
+import com.aimafia.model.GameState;
+import com.aimafia.model.Player;
+import com.aimafia.model.Role;
+import com.aimafia.util.GameLogger;
+import com.aimafia.util.TokenTracker;
+import com.aimafia.validation.ActionValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for VotingHandler's verdict and the night speculation it starts.
+ */
+class VotingHandlerTest {
+    @TempDir
+    Path tempDir;
+
+    private final Map<String, Integer> nightQueries = new ConcurrentHashMap<>();
+    // Night answers wait for this, so the test controls when they arrive
+    private final CountDownLatch nightAnswers = new CountDownLatch(1);
+    // Counts the Sheriff, Doctor and lone Mafia queries as they start
+    private final CountDownLatch nightQueriesStarted = new CountDownLatch(3);
+    private GameState state;
+    private GameLogger gameLogger;
+    private NightPhaseHandler nightHandler;
+    private VotingHandler votingHandler;
+
+    @BeforeEach
+    void setUp() {
+        state = new GameState();
+        state.addPlayer(new Player("Player_1", Role.MAFIA));
+        state.addPlayer(new Player("Player_2", Role.SHERIFF));
+        state.addPlayer(new Player("Player_3", Role.DOCTOR));
+        for (int i = 4; i <= 6; i++) {
+            state.addPlayer(new Player("Player_" + i, Role.VILLAGER));
+        }
+
+        // Day answers are instant; night answers wait until the test releases them
+        SyntheticLLMService service = new SyntheticLLMService(
+                LatencyDistribution.NONE, 0, 0.0, 0,
+                (player, s, prompt) -> switch (prompt.kind()) {
+                    case NOMINATION -> new LLMResponse("", "", accused(player));
+                    case JUDGMENT -> new LLMResponse("", "", "GUILTY");
+                    case NIGHT_ACTION, MAFIA_VOTE -> nightAction(player);
+                    default -> new LLMResponse("", "I am innocent.", "");
+                }, new TokenTracker(), 1L);
+        gameLogger = new GameLogger(tempDir);
+        nightHandler = new NightPhaseHandler(service, new ActionValidator(), gameLogger);
+        votingHandler = new VotingHandler(service, new ActionValidator(), gameLogger, nightHandler);
+    }
+
+    private String accused(Player voter) {
+        String target = state.getPlayerById("Player_6").isAlive() ? "Player_6" : "Player_1";
+        return voter.getId().equals(target) ? "Player_4" : target;
+    }
+
+    private LLMResponse nightAction(Player player) {
+        nightQueries.merge(player.getId(), 1, Integer::sum);
+        nightQueriesStarted.countDown();
+        try {
+            nightAnswers.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new LLMResponse("", "", player.getRole() == Role.MAFIA ? "Player_4" : "Player_5");
+    }
+
+    @Test
+    void verdict_startsNextNightBeforeItBegins() throws Exception {
+        VotingHandler.VotingResult result = votingHandler.execute(state);
+        assertTrue(result.hasExecution());
+        assertEquals("Player_6", result.executed().getId());
+
+        // The night queries are asked while the game is still between the verdict and the night
+        assertTrue(nightQueriesStarted.await(5, TimeUnit.SECONDS), "night queries were not started");
+        assertEquals(3, nightHandler.pendingSpeculations());
+        assertEquals(Map.of("Player_1", 1, "Player_2", 1, "Player_3", 1), nightQueries);
+
+        nightAnswers.countDown();
+        state.incrementDay();
+        NightResult night = nightHandler.execute(state);
+        gameLogger.close();
+
+        // Answers asked for night 1 or a stale state would be discarded and asked again
+        assertEquals("Player_4", night.mafiaTarget());
+        assertEquals(Map.of("Player_1", 1, "Player_2", 1, "Player_3", 1), nightQueries);
+        assertEquals(0, nightHandler.pendingSpeculations());
+    }
+
+    @Test
+    void verdict_endingTheGame_startsNoNight() {
+        // The lone Mafia member is executed first, which ends the game
+        state.getPlayerById("Player_6").kill();
+
+        VotingHandler.VotingResult result = votingHandler.execute(state);
+        gameLogger.close();
+
+        assertEquals("Player_1", result.executed().getId());
+        assertEquals(0, nightHandler.pendingSpeculations());
+        assertTrue(nightQueries.isEmpty());
+    }
+}
@@ -2,6 +2,8 @@ package com.aimafia.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -126,6 +128,24 @@ class GameStateTest {
         assertTrue(state.getPublicLogAsString().contains("Raw event"));
     }
 
+    @Test
+    void gameState_renderedPublicLogIsCachedUntilAppend() {
+        GameState state = new GameState();
+        assertEquals("", state.getRenderedPublicLog());
+
+        state.addRawToPublicLog("First");
+        state.addRawToPublicLog("Second");
+        String rendered = state.getRenderedPublicLog();
+
+        assertEquals("First\nSecond\n", rendered);
+        assertSame(rendered, state.getRenderedPublicLog());
+        assertEquals(2, state.getPublicLogVersion());
+
+        state.addRawToPublicLog("Third");
+        assertEquals("First\nSecond\nThird\n", state.getRenderedPublicLog());
+        assertEquals(3, state.getPublicLogVersion());
+    }
+
     @Test
     void gameState_getAlivePlayersByRole() {
         GameState state = new GameState();
@@ -137,4 +157,41 @@ class GameStateTest {
         assertEquals(1, state.getAlivePlayersByRole(Role.SHERIFF).size());
         assertEquals(0, state.getAlivePlayersByRole(Role.DOCTOR).size());
     }
+
+    @Test
+    void gameState_aliveViewsFollowPlayerChanges() {
+        GameState state = new GameState();
+        Player mafioso = new Player("Player_1", Role.MAFIA);
+        Player doctor = new Player("Player_2", Role.DOCTOR);
+        state.addPlayer(mafioso);
+        state.addPlayer(doctor);
+        state.addPlayer(new Player("Player_3", Role.VILLAGER));
+
+        List<Player> alive = state.getAlivePlayers();
+        assertSame(alive, state.getAlivePlayers());
+        assertThrows(UnsupportedOperationException.class, () -> alive.remove(0));
+
+        mafioso.kill();
+        assertEquals(3, alive.size());
+        assertEquals(2, state.getAliveCount());
+        assertEquals(0, state.getAliveMafiaCount());
+        assertTrue(state.getAliveMafia().isEmpty());
+
+        doctor.setRole(Role.SHERIFF);
+        assertTrue(state.getAlivePlayersByRole(Role.DOCTOR).isEmpty());
+        assertEquals(List.of(doctor), state.getAlivePlayersByRole(Role.SHERIFF));
+
+        mafioso.setStatus(Status.ALIVE);
+        assertEquals(1, state.getAliveMafiaCount());
+    }
+
+    @Test
+    void gameState_playerLookupIsIndexed() {
+        Player first = new Player("Player_1", Role.MAFIA);
+        GameState state = new GameState(List.of(first, new Player("Player_2", Role.VILLAGER)));
+
+        assertSame(first, state.getPlayerById("Player_1"));
+        assertNull(state.getPlayerById(null));
+        assertEquals(2, state.getAliveCount());
+    }
 }
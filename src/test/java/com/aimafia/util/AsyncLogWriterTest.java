@@ -0,0 +1,58 @@
+package com.aimafia.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AsyncLogWriter.
+ */
+class AsyncLogWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void flushAndWait_makesLinesVisible() throws Exception {
+        Path file = tempDir.resolve("game.log");
+        try (AsyncLogWriter writer = new AsyncLogWriter(file)) {
+            writer.append("first\n");
+            writer.append("second\n");
+            writer.flushAndWait();
+
+            assertEquals(List.of("first", "second"), Files.readAllLines(file));
+        }
+    }
+
+    @Test
+    void concurrentWriters_neverInterleaveLines() throws Exception {
+        Path file = tempDir.resolve("concurrent.log");
+        String payload = "x".repeat(200);
+
+        try (AsyncLogWriter writer = new AsyncLogWriter(file)) {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int t = 0; t < 20; t++) {
+                    final int thread = t;
+                    executor.submit(() -> {
+                        for (int i = 0; i < 100; i++) {
+                            writer.append(thread + ":" + payload + "\n");
+                        }
+                    });
+                }
+            }
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2000, lines.size());
+        for (String line : lines) {
+            assertTrue(line.endsWith(":" + payload), "Corrupted line: " + line);
+        }
+    }
+}
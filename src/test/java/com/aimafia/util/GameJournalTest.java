@@ -0,0 +1,170 @@
+package com.aimafia.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for GameJournal.
+ */
+class GameJournalTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private static List<JsonNode> readEvents(Path file) throws Exception {
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            events.add(MAPPER.readTree(line));
+        }
+        return events;
+    }
+
+    @Test
+    void record_writesEveryEventTypeAsOneLine() throws Exception {
+        Path file = tempDir.resolve("game.jsonl");
+        try (GameJournal journal = GameJournal.open(file)) {
+            journal.record(new JournalEvent.GameStart(1, 42, List.of(
+                    new JournalEvent.Seat("Player_1", "MAFIA", "model-a"),
+                    new JournalEvent.Seat("Player_2", "DOCTOR", "model-b"))));
+            journal.record(new JournalEvent.PhaseChange(2, 1, "NIGHT"));
+            journal.record(new JournalEvent.PromptSent(3, "Player_1", "model-a", 120, "Choose a target"));
+            journal.record(new JournalEvent.ApiCall(4, "Player_1", "model-a", -1, 350, 2));
+            journal.record(new JournalEvent.TokenUsage(5, "Player_1", "model-a", 900, 800, 40));
+            journal.record(new JournalEvent.Response(6, "Player_1", "model-a", "quiet one", "", "Player_2"));
+            journal.record(new JournalEvent.Action(7, "Player_1", "MAFIA", "Player_2"));
+            journal.record(new JournalEvent.Vote(8, "Player_2", "trial", "GUILTY"));
+            journal.record(new JournalEvent.Death(9, "Player_2", "DOCTOR", "killed at night"));
+            journal.record(new JournalEvent.GameEnd(10, "MAFIA", 3));
+        }
+
+        List<JsonNode> events = readEvents(file);
+        assertEquals(10, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i + 1, events.get(i).get("ts").asLong());
+        }
+
+        JsonNode start = events.get(0);
+        assertEquals("game_start", start.get("type").asText());
+        assertEquals(42, start.get("seed").asLong());
+        assertEquals(2, start.get("players").size());
+        assertEquals("Player_2", start.get("players").get(1).get("player").asText());
+        assertEquals("DOCTOR", start.get("players").get(1).get("role").asText());
+        assertEquals("model-b", start.get("players").get(1).get("model").asText());
+
+        JsonNode phase = events.get(1);
+        assertEquals("phase", phase.get("type").asText());
+        assertEquals(1, phase.get("day").asInt());
+        assertEquals("NIGHT", phase.get("phase").asText());
+
+        JsonNode prompt = events.get(2);
+        assertEquals("prompt", prompt.get("type").asText());
+        assertEquals("Player_1", prompt.get("player").asText());
+        assertEquals("model-a", prompt.get("model").asText());
+        assertEquals(120, prompt.get("historyChars").asInt());
+        assertEquals("Choose a target", prompt.get("body").asText());
+
+        JsonNode call = events.get(3);
+        assertEquals("api_call", call.get("type").asText());
+        assertEquals(-1, call.get("status").asInt());
+        assertEquals(350, call.get("latencyMs").asLong());
+        assertEquals(2, call.get("retriesLeft").asInt());
+
+        JsonNode tokens = events.get(4);
+        assertEquals("tokens", tokens.get("type").asText());
+        assertEquals(900, tokens.get("input").asInt());
+        assertEquals(800, tokens.get("cached").asInt());
+        assertEquals(40, tokens.get("output").asInt());
+
+        JsonNode response = events.get(5);
+        assertEquals("response", response.get("type").asText());
+        assertEquals("quiet one", response.get("thought").asText());
+        assertEquals("", response.get("message").asText());
+        assertEquals("Player_2", response.get("action").asText());
+
+        JsonNode action = events.get(6);
+        assertEquals("action", action.get("type").asText());
+        assertEquals("MAFIA", action.get("role").asText());
+        assertEquals("Player_2", action.get("action").asText());
+
+        JsonNode vote = events.get(7);
+        assertEquals("vote", vote.get("type").asText());
+        assertEquals("trial", vote.get("stage").asText());
+        assertEquals("GUILTY", vote.get("choice").asText());
+
+        JsonNode death = events.get(8);
+        assertEquals("death", death.get("type").asText());
+        assertEquals("Player_2", death.get("player").asText());
+        assertEquals("killed at night", death.get("cause").asText());
+
+        JsonNode end = events.get(9);
+        assertEquals("game_end", end.get("type").asText());
+        assertEquals("MAFIA", end.get("winner").asText());
+        assertEquals(3, end.get("days").asInt());
+    }
+
+    @Test
+    void record_escapesTextFields() throws Exception {
+        Path file = tempDir.resolve("escaped.jsonl");
+        String body = "Line one\nsaid \"hi\"";
+        try (GameJournal journal = GameJournal.open(file)) {
+            journal.record(new JournalEvent.PromptSent(1, "Player_1", "model-a", 0, body));
+        }
+
+        List<JsonNode> events = readEvents(file);
+        assertEquals(1, events.size());
+        assertEquals(body, events.get(0).get("body").asText());
+    }
+
+    @Test
+    void flushAndWait_makesEventsVisibleBeforeClose() throws Exception {
+        Path file = tempDir.resolve("flush.jsonl");
+        try (GameJournal journal = GameJournal.open(file)) {
+            journal.record(new JournalEvent.PhaseChange(1, 1, "NIGHT"));
+            journal.flushAndWait();
+            assertEquals(1, readEvents(file).size());
+
+            journal.record(new JournalEvent.PhaseChange(2, 1, "DAY_DISCUSSION"));
+            journal.record(new JournalEvent.GameEnd(3, "TOWN", 1));
+        }
+
+        List<JsonNode> events = readEvents(file);
+        assertEquals(3, events.size());
+        assertEquals("DAY_DISCUSSION", events.get(1).get("phase").asText());
+        assertEquals("game_end", events.get(2).get("type").asText());
+    }
+
+    @Test
+    void close_ignoresLaterEvents() throws Exception {
+        Path file = tempDir.resolve("closed.jsonl");
+        GameJournal journal = GameJournal.open(file);
+        journal.record(new JournalEvent.GameEnd(1, "TOWN", 2));
+        journal.close();
+
+        journal.record(new JournalEvent.PhaseChange(2, 3, "NIGHT"));
+        journal.flushAndWait();
+        journal.close();
+
+        assertEquals(1, readEvents(file).size());
+    }
+
+    @Test
+    void disabled_writesNothing() {
+        GameJournal journal = GameJournal.disabled();
+        assertFalse(journal.isEnabled());
+        assertNull(journal.getFilePath());
+
+        journal.record(new JournalEvent.GameEnd(1, "TOWN", 2));
+        journal.flushAndWait();
+        journal.close();
+    }
+}
@@ -0,0 +1,44 @@
+package com.aimafia.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PriceTable.
+ */
+class PriceTableTest {
+
+    @Test
+    void parse_readsModelAndDefaultPrices() throws Exception {
+        PriceTable table = PriceTable.parse(new StringReader("""
+                # USD per 1M tokens
+                default=1.00,2.00
+                openai/gpt-4o-mini=0.15,0.60,0.075
+                vendor/model\\:free=0,0
+                """));
+
+        assertEquals(new PriceTable.Price(0.15, 0.60, 0.075), table.priceOf("openai/gpt-4o-mini"));
+        assertEquals(new PriceTable.Price(0, 0, 0), table.priceOf("vendor/model:free"));
+        assertEquals(new PriceTable.Price(1.00, 2.00, 1.00), table.priceOf("unknown/model"),
+                "cached input defaults to the input price");
+        assertEquals(new PriceTable.Price(1.00, 2.00, 1.00), table.priceOf(null));
+    }
+
+    @Test
+    void costUsd_chargesCachedInputSeparately() throws Exception {
+        PriceTable table = PriceTable.parse(new StringReader("m=2.00,10.00,0.50\n"));
+
+        // 600k uncached input, 400k cached input, 100k output
+        assertEquals(1.2 + 0.2 + 1.0, table.costUsd("m", 1_000_000, 400_000, 100_000), 1e-9);
+        assertEquals(PriceTable.FALLBACK_PRICE, table.priceOf("other"));
+    }
+
+    @Test
+    void parse_rejectsMalformedPrices() {
+        assertThrows(IllegalArgumentException.class, () -> PriceTable.parse(new StringReader("m=cheap\n")));
+        assertThrows(IllegalArgumentException.class, () -> PriceTable.parse(new StringReader("m=1,2,3,4\n")));
+    }
+}
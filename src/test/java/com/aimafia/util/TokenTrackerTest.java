@@ -0,0 +1,105 @@
+package com.aimafia.util;
+
+import com.aimafia.model.Phase;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TokenTracker.
+ */
+class TokenTrackerTest {
+
+    private static final PriceTable PRICES = new PriceTable(
+            Map.of("cheap", new PriceTable.Price(1.0, 1.0, 1.0)), new PriceTable.Price(10.0, 10.0, 10.0));
+
+    @Test
+    void addUsage_breaksDownByModelPlayerAndPhase() {
+        TokenTracker tracker = new TokenTracker(null, PRICES, 0);
+
+        tracker.addUsage("Player_1", "cheap", Phase.NIGHT, 1000, 0, 100, null);
+        tracker.addUsage("Player_2", "cheap", Phase.DAY_VOTING, 2000, 500, 200, null);
+        tracker.addUsage("Player_1", "other", Phase.DAY_VOTING, 1000, 0, 0, null);
+
+        assertEquals(3, tracker.getRequestCount());
+        assertEquals(4300, tracker.getTotalTokens());
+        assertEquals(500, tracker.getCachedInputTokens());
+        assertEquals(2, tracker.getUsageByModel().get("cheap").getRequests());
+        assertEquals(3300, tracker.getUsageByModel().get("cheap").getTotalTokens());
+        assertEquals(2100, tracker.getUsageByPlayer().get("Player_1").getTotalTokens());
+        assertEquals(2, tracker.getUsageByPhase().get(Phase.DAY_VOTING).getRequests());
+        assertEquals(0.0033 + 0.01, tracker.getEstimatedCostUSD(), 1e-9);
+        assertTrue(tracker.getSummary().contains("By phase:"));
+    }
+
+    @Test
+    void addUsage_prefersReportedCost() {
+        TokenTracker tracker = new TokenTracker(null, PRICES, 0);
+
+        tracker.addUsage("Player_1", "other", Phase.NIGHT, 1_000_000, 0, 0, 0.25);
+
+        assertEquals(0.25, tracker.getEstimatedCostUSD(), 1e-9);
+        assertEquals(25.0, tracker.getEstimatedCostCents(), 1e-9);
+    }
+
+    @Test
+    void addUsage_addsUpInParent() {
+        TokenTracker tournament = new TokenTracker(null, PRICES, 0);
+        TokenTracker game1 = new TokenTracker(tournament, PRICES, 0);
+        TokenTracker game2 = new TokenTracker(tournament, PRICES, 0);
+
+        game1.addUsage("Player_1", "cheap", Phase.NIGHT, 100, 0, 10, 0.5);
+        game2.addUsage("Player_1", "cheap", Phase.NIGHT, 200, 0, 20, 0.25);
+
+        assertEquals(110, game1.getTotalTokens());
+        assertEquals(330, tournament.getTotalTokens());
+        assertEquals(0.75, tournament.getEstimatedCostUSD(), 1e-9);
+        assertEquals(2, tournament.getUsageByPlayer().get("Player_1").getRequests());
+    }
+
+    @Test
+    void budget_isSpentByGameOrParent() {
+        TokenTracker tournament = new TokenTracker(null, PRICES, 1.0);
+        TokenTracker game1 = new TokenTracker(tournament, PRICES, 0.5);
+        TokenTracker game2 = new TokenTracker(tournament, PRICES, 0.5);
+
+        game1.addUsage("Player_1", "cheap", Phase.NIGHT, 0, 0, 0, 0.4);
+        assertFalse(game1.isOverBudget());
+
+        game1.addUsage("Player_1", "cheap", Phase.NIGHT, 0, 0, 0, 0.1);
+        assertTrue(game1.isOverBudget());
+        assertFalse(game2.isOverBudget());
+
+        game2.addUsage("Player_1", "cheap", Phase.NIGHT, 0, 0, 0, 0.5);
+        assertTrue(tournament.isOverBudget());
+        assertTrue(new TokenTracker(tournament, PRICES, 0).isOverBudget(), "a new game inherits the spent tournament budget");
+        assertFalse(new TokenTracker().isOverBudget());
+    }
+
+    @Test
+    void addUsage_chargesCachedInputAtCachedPrice() {
+        TokenTracker tracker = new TokenTracker();
+
+        // 1M input of which 800k cached, at $5 / $1.25 per 1M input and $15 per 1M output
+        tracker.addUsage(1_000_000, 800_000, 0);
+
+        assertEquals(800_000, tracker.getCachedInputTokens());
+        assertEquals(200_000, tracker.getUncachedInputTokens());
+        assertEquals(0.8, tracker.getCacheHitRatio(), 1e-9);
+        assertEquals(1.0 + 1.0, tracker.getEstimatedCostUSD(), 1e-9);
+        assertTrue(tracker.getSummary().contains("cached 800,000, 80.0%"));
+    }
+
+    @Test
+    void addUsage_withoutAttribution_countsTotalsOnly() {
+        TokenTracker tracker = new TokenTracker();
+
+        tracker.addUsage(1000, 0, 1000);
+
+        assertEquals(1, tracker.getRequestCount());
+        assertTrue(tracker.getUsageByModel().isEmpty());
+        assertEquals(0.02, tracker.getEstimatedCostUSD(), 1e-9);
+    }
+}